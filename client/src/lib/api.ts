@@ -14,6 +14,7 @@ if (typeof window !== 'undefined' && window.location.protocol === 'https:' && BA
 export const endpoints = {
   health: `${BASE}/actuator/health`,
   optimize: `${BASE}/api/optimize`,
+  optimizeStream: `${BASE}/api/optimize/stream`,
   layout: `${BASE}/api/layout`,
 } as const;
 
@@ -277,3 +278,46 @@ export async function optimizeRoute(request: OptimizeRequest): Promise<OptimizeR
     });
   }
 }
+
+// Streamed optimization: calls onRoute with the first route and each cheaper one as NDJSON
+// lines arrive and resolves with the final route. Aborting the signal cancels the search.
+export async function streamOptimizeRoute(
+  request: OptimizeRequest,
+  onRoute: (route: OptimizeResponse) => void,
+  signal?: AbortSignal
+): Promise<OptimizeResponse | undefined> {
+  const response = await fetch(endpoints.optimizeStream, {
+    method: 'POST',
+    headers: { 'Content-Type': 'application/json', 'Accept': 'application/x-ndjson' },
+    body: JSON.stringify(request),
+    signal
+  });
+  if (!response.ok || !response.body) {
+    throw new ApiError(`Route stream failed: HTTP ${response.status}`, {
+      status: response.status,
+      code: 'HTTP',
+      endpoint: endpoints.optimizeStream
+    });
+  }
+
+  const reader = response.body.getReader();
+  const decoder = new TextDecoder();
+  let buffered = '';
+  let last: OptimizeResponse | undefined;
+  for (;;) {
+    const { done, value } = await reader.read();
+    if (done) break;
+    buffered += decoder.decode(value, { stream: true });
+    let newline = buffered.indexOf('\n');
+    while (newline >= 0) {
+      const line = buffered.slice(0, newline).trim();
+      buffered = buffered.slice(newline + 1);
+      if (line) {
+        last = JSON.parse(line) as OptimizeResponse;
+        onRoute(last);
+      }
+      newline = buffered.indexOf('\n');
+    }
+  }
+  return last;
+}
@@ -0,0 +1,49 @@
+package com.nnaemekaonochie.pickpath.bench;
+
+import com.nnaemekaonochie.pickpath.domain.Location;
+import com.nnaemekaonochie.pickpath.route.algorithm.CostMatrix;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pairwise cost evaluation: one calculateCost call per leg of the nearest-neighbor route,
+ * against building the full matrix once
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CostBenchmark {
+
+    @Param({"10", "50", "200", "1000", "5000"})
+    int stops;
+
+    private Workload workload;
+    private List<Location> route;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workload = Workload.create(stops);
+        route = workload.matrix.toRoute(workload.seedTour);
+    }
+
+    @Benchmark
+    public double calculateCost() {
+        double total = 0.0;
+        for (int i = 0; i + 1 < route.size(); i++) {
+            total += workload.costCalculator.calculateCost(route.get(i), route.get(i + 1),
+                                                           workload.weights, workload.constraints);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public CostMatrix buildMatrix() {
+        return workload.costCalculator.buildMatrix(workload.start, workload.picks, workload.end,
+                                                   workload.weights, workload.constraints);
+    }
+}
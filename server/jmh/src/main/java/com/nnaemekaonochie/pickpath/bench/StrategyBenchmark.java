@@ -0,0 +1,73 @@
+package com.nnaemekaonochie.pickpath.bench;
+
+import com.nnaemekaonochie.pickpath.route.TwoOpt;
+import com.nnaemekaonochie.pickpath.route.algorithm.EnhancedTwoOptStrategy;
+import com.nnaemekaonochie.pickpath.route.algorithm.NearestNeighborStrategy;
+import com.nnaemekaonochie.pickpath.route.algorithm.OrOptStrategy;
+import com.nnaemekaonochie.pickpath.route.algorithm.SavingsStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tour construction and improvement over a prebuilt cost matrix. Improvement benchmarks
+ * start every invocation from the same nearest-neighbor tour.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StrategyBenchmark {
+
+    @Param({"10", "50", "200", "1000", "5000"})
+    int stops;
+
+    private Workload workload;
+    private NearestNeighborStrategy nearestNeighbor;
+    private EnhancedTwoOptStrategy enhancedTwoOpt;
+    private OrOptStrategy orOpt;
+    private SavingsStrategy savings;
+    private double[][] dist;
+    private List<Integer> seedOrder;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workload = Workload.create(stops);
+        nearestNeighbor = new NearestNeighborStrategy(workload.costCalculator);
+        enhancedTwoOpt = new EnhancedTwoOptStrategy(workload.costCalculator);
+        orOpt = new OrOptStrategy(workload.costCalculator);
+        savings = new SavingsStrategy();
+        dist = workload.distanceArray();
+        seedOrder = Arrays.stream(workload.seedTour).boxed().toList();
+    }
+
+    @Benchmark
+    public int[] nearestNeighbor() {
+        return nearestNeighbor.generateTour(workload.matrix, workload.constraints);
+    }
+
+    @Benchmark
+    public int[] savings() {
+        return savings.generateTour(workload.matrix);
+    }
+
+    @Benchmark
+    public int[] enhancedTwoOpt() {
+        return enhancedTwoOpt.improveTour(workload.matrix, workload.seedTour);
+    }
+
+    @Benchmark
+    public int[] orOpt() {
+        return orOpt.improveTour(workload.matrix, workload.seedTour);
+    }
+
+    @Benchmark
+    public List<Integer> legacyTwoOpt() {
+        List<Integer> order = new ArrayList<>(seedOrder);
+        TwoOpt.improve(order, dist);
+        return order;
+    }
+}
@@ -0,0 +1,48 @@
+package com.nnaemekaonochie.pickpath.bench;
+
+import com.nnaemekaonochie.pickpath.route.TwoOpt;
+import com.nnaemekaonochie.pickpath.route.algorithm.EnhancedTwoOptStrategy;
+import com.nnaemekaonochie.pickpath.route.algorithm.OrOptStrategy;
+import com.nnaemekaonochie.pickpath.route.algorithm.SavingsStrategy;
+
+import java.util.*;
+
+/**
+ * Tour cost each strategy reaches on the benchmark workloads, next to the nearest-neighbor
+ * seed it starts from. Run with
+ * {@code java -cp server/jmh/target/benchmarks.jar com.nnaemekaonochie.pickpath.bench.TourQuality [stops...]}
+ */
+public final class TourQuality {
+
+    private static final int[] DEFAULT_STOPS = { 10, 50, 200, 1000, 5000 };
+
+    private TourQuality() {
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0 ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray() : DEFAULT_STOPS;
+
+        System.out.printf("%8s %14s %14s %14s %14s %14s%n", "stops", "nearest", "enhanced2opt", "orOpt", "legacy2opt", "savings");
+        for (int stops : sizes) {
+            Workload workload = Workload.create(stops);
+            double nearest = workload.matrix.tourCost(workload.seedTour);
+            double twoOpt = workload.matrix.tourCost(
+                new EnhancedTwoOptStrategy(workload.costCalculator).improveTour(workload.matrix, workload.seedTour));
+            double orOpt = workload.matrix.tourCost(
+                new OrOptStrategy(workload.costCalculator).improveTour(workload.matrix, workload.seedTour));
+
+            List<Integer> order = new ArrayList<>(Arrays.stream(workload.seedTour).boxed().toList());
+            TwoOpt.improve(order, workload.distanceArray());
+            double legacy = workload.matrix.tourCost(order.stream().mapToInt(Integer::intValue).toArray());
+            double savings = workload.matrix.tourCost(new SavingsStrategy().generateTour(workload.matrix));
+
+            System.out.printf("%8d %14.1f %14s %14s %14s %14s%n", stops, nearest,
+                              relative(twoOpt, nearest), relative(orOpt, nearest), relative(legacy, nearest),
+                              relative(savings, nearest));
+        }
+    }
+
+    private static String relative(double cost, double baseline) {
+        return "%.1f (%+.1f%%)".formatted(cost, 100.0 * (cost - baseline) / baseline);
+    }
+}
@@ -0,0 +1,76 @@
+package com.nnaemekaonochie.pickpath.bench;
+
+import com.nnaemekaonochie.pickpath.config.EnhancedDataLoader;
+import com.nnaemekaonochie.pickpath.domain.Location;
+import com.nnaemekaonochie.pickpath.layout.LayoutSnapshot;
+import com.nnaemekaonochie.pickpath.layout.LayoutSnapshotService;
+import com.nnaemekaonochie.pickpath.route.algorithm.CostCalculator;
+import com.nnaemekaonochie.pickpath.route.algorithm.CostMatrix;
+import com.nnaemekaonochie.pickpath.route.algorithm.NearestNeighborStrategy;
+import com.nnaemekaonochie.pickpath.route.dto.CostWeights;
+import com.nnaemekaonochie.pickpath.route.dto.RouteConstraints;
+
+import java.util.*;
+
+/**
+ * A synthetic order on an {@link EnhancedDataLoader#gridLayout} warehouse: picks are a
+ * seeded sample of half the aisle locations, walked from the first receiving bay to the last.
+ * The snapshot has no walking graph, so distances are Manhattan.
+ */
+final class Workload {
+
+    static final int BAYS_PER_AISLE = 40;
+    static final long SEED = 42L;
+
+    final CostCalculator costCalculator;
+    final Location start;
+    final Location end;
+    final List<Location> picks;
+    final CostWeights weights = new CostWeights();
+    final RouteConstraints constraints = new RouteConstraints();
+    final CostMatrix matrix;
+    final int[] seedTour;
+
+    private Workload(CostCalculator costCalculator, Location start, Location end, List<Location> picks) {
+        this.costCalculator = costCalculator;
+        this.start = start;
+        this.end = end;
+        this.picks = picks;
+        this.matrix = costCalculator.buildMatrix(start, picks, end, weights, constraints);
+        this.seedTour = new NearestNeighborStrategy(costCalculator).generateTour(matrix, constraints);
+    }
+
+    static Workload create(int stops) {
+        int aisles = Math.max(6, (stops + BAYS_PER_AISLE - 1) / BAYS_PER_AISLE);
+        List<Location> layout = EnhancedDataLoader.gridLayout(aisles, BAYS_PER_AISLE);
+
+        List<Location> receiving = new ArrayList<>();
+        List<Location> aisleLocations = new ArrayList<>();
+        for (Location location : layout) {
+            ("RECEIVING".equals(location.getZone()) ? receiving : aisleLocations).add(location);
+        }
+        Collections.shuffle(aisleLocations, new Random(SEED));
+
+        LayoutSnapshot snapshot = LayoutSnapshot.of(1, layout, List.of(), List.of());
+        LayoutSnapshotService snapshots = new LayoutSnapshotService(null, null, null, null, null, null, null, null) {
+            @Override
+            public LayoutSnapshot current() { return snapshot; }
+        };
+        return new Workload(new CostCalculator(snapshots), receiving.get(0), receiving.get(receiving.size() - 1),
+                            List.copyOf(aisleLocations.subList(0, stops)));
+    }
+
+    /**
+     * Plain distance matrix over start, picks and end in node order, for the legacy list API
+     */
+    double[][] distanceArray() {
+        int n = matrix.size();
+        double[][] dist = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                dist[i][j] = matrix.cost(i, j);
+            }
+        }
+        return dist;
+    }
+}
@@ -2,10 +2,12 @@ package com.nnaemekaonochie.pickpath;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class PickPathApplication {
     public static void main(String[] args) {
         SpringApplication.run(PickPathApplication.class, args);
     }
-}
\ No newline at end of file
+}
@@ -61,8 +61,23 @@ public class EnhancedDataLoader {
         };
     }
     
-    private void createZoneLocations(List<Location> locations, String zoneName, String prefix, 
-                                   int xStart, int xEnd, int yStart, int yEnd, int spacing) {
+    /**
+     * Synthetic grid layout for benchmarks: the receiving zone followed by aisleCount
+     * double-sided aisles of baysPerAisle bays, spaced like the seeded layout
+     */
+    public static List<Location> gridLayout(int aisleCount, int baysPerAisle) {
+        List<Location> locations = new ArrayList<>();
+        createZoneLocations(locations, "RECEIVING", "R", 0, 20, 0, 30, 5);
+        for (int aisle = 0; aisle < aisleCount; aisle++) {
+            int y = 10 + 25 * aisle;
+            createAisleLocations(locations, "G%02d".formatted(aisle + 1), "GRID",
+                                 30, 30 + 5 * (baysPerAisle - 1), y, y + 10);
+        }
+        return locations;
+    }
+    
+    private static void createZoneLocations(List<Location> locations, String zoneName, String prefix, 
+                                          int xStart, int xEnd, int yStart, int yEnd, int spacing) {
         int locNum = 1;
         for (int x = xStart; x <= xEnd; x += spacing) {
             for (int y = yStart; y <= yEnd; y += spacing) {
@@ -73,8 +88,8 @@ public class EnhancedDataLoader {
         }
     }
     
-    private void createAisleLocations(List<Location> locations, String aisleLetter, String zone,
-                                    int xStart, int xEnd, int y1, int y2) {
+    private static void createAisleLocations(List<Location> locations, String aisleLetter, String zone,
+                                           int xStart, int xEnd, int y1, int y2) {
         int bay = 1;
         for (int x = xStart; x <= xEnd; x += 5) {
             // Left side of aisle
@@ -0,0 +1,136 @@
+package com.nnaemekaonochie.pickpath.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Tuning knobs for the route optimizer, bound from {@code app.optimizer.*}
+ */
+@ConfigurationProperties(prefix = "app.optimizer")
+public class OptimizerProperties {
+
+    // Wall-clock budget for the lk strategy's perturbation loop
+    private long lkTimeBudgetMs = 200;
+
+    // Wall-clock budget for a hybrid or grasp run; unfinished candidates are cancelled
+    private long hybridTimeBudgetMs = 1000;
+
+    // Randomized 2-opt restarts the hybrid strategy runs next to the fixed strategies
+    private int hybridRestarts = 8;
+
+    // Randomized construction and local search iterations of a grasp run
+    private int graspIterations = 32;
+
+    // Cheapest unvisited stops a grasp construction chooses among at each step
+    private int graspCandidateListSize = 3;
+
+    // Orders with at most this many stops are solved exactly by dynamic programming (at most 16); 0 disables
+    private int exactMaxStops = 12;
+
+    // Route SKUs stocked in several slots through whichever slot gives the shortest route, not the first
+    private boolean multiSlotEnabled = true;
+
+    // Threads in the solver pool; 0 means one per available core
+    private int solverParallelism = 0;
+
+    // Solves that may wait for a solver thread; further requests are rejected with 429
+    private int solverQueueCapacity = 64;
+
+    // Retry-After sent with a 429 when the solve queue is full
+    private long solverRetryAfterSeconds = 1;
+
+    // Seed for randomized strategies when the request does not supply one
+    private long defaultSeed = 42L;
+
+    // Resolve SKUs and locations from the in-memory layout snapshot instead of per-request queries
+    private boolean layoutCacheEnabled = true;
+
+    // Route on aisle-graph walking distances instead of straight Manhattan distance
+    private boolean walkingGraphEnabled = true;
+
+    // Largest layout whose all-pairs walking table is precomputed; bigger layouts compute rows per request
+    private int walkingTableMaxLocations = 5000;
+
+    // Directory for memory-mapped distance tables keyed by layout hash; empty keeps the table on the heap
+    private String distanceTableDir = "";
+
+    // Time budget for 2-opt, Or-opt and other local searches when the request sets none; 0 means unbounded
+    private long searchTimeBudgetMs = 1000;
+
+    // Search slice of a streamed optimization; a cheaper route is sent at most this often
+    private long streamIntervalMs = 100;
+
+    // Serve repeated orders from a bounded cache of optimized routes
+    private boolean routeCacheEnabled = true;
+
+    // Most routes kept in the cache before the least valuable are evicted
+    private long routeCacheMaxEntries = 10_000;
+
+    // Seconds a cached route is served after it was computed
+    private long routeCacheTtlSeconds = 600;
+
+    // Stop searching once a route is within this percentage of the lower bound; negative disables
+    private double boundGapPercent = 1.0;
+
+    public long getLkTimeBudgetMs() { return lkTimeBudgetMs; }
+    public void setLkTimeBudgetMs(long lkTimeBudgetMs) { this.lkTimeBudgetMs = lkTimeBudgetMs; }
+
+    public long getHybridTimeBudgetMs() { return hybridTimeBudgetMs; }
+    public void setHybridTimeBudgetMs(long hybridTimeBudgetMs) { this.hybridTimeBudgetMs = hybridTimeBudgetMs; }
+
+    public int getHybridRestarts() { return hybridRestarts; }
+    public void setHybridRestarts(int hybridRestarts) { this.hybridRestarts = hybridRestarts; }
+
+    public int getGraspIterations() { return graspIterations; }
+    public void setGraspIterations(int graspIterations) { this.graspIterations = graspIterations; }
+
+    public int getGraspCandidateListSize() { return graspCandidateListSize; }
+    public void setGraspCandidateListSize(int graspCandidateListSize) { this.graspCandidateListSize = graspCandidateListSize; }
+
+    public int getExactMaxStops() { return exactMaxStops; }
+    public void setExactMaxStops(int exactMaxStops) { this.exactMaxStops = exactMaxStops; }
+
+    public boolean isMultiSlotEnabled() { return multiSlotEnabled; }
+    public void setMultiSlotEnabled(boolean multiSlotEnabled) { this.multiSlotEnabled = multiSlotEnabled; }
+
+    public int getSolverParallelism() { return solverParallelism; }
+    public void setSolverParallelism(int solverParallelism) { this.solverParallelism = solverParallelism; }
+
+    public int getSolverQueueCapacity() { return solverQueueCapacity; }
+    public void setSolverQueueCapacity(int solverQueueCapacity) { this.solverQueueCapacity = solverQueueCapacity; }
+
+    public long getSolverRetryAfterSeconds() { return solverRetryAfterSeconds; }
+    public void setSolverRetryAfterSeconds(long solverRetryAfterSeconds) { this.solverRetryAfterSeconds = solverRetryAfterSeconds; }
+
+    public long getDefaultSeed() { return defaultSeed; }
+    public void setDefaultSeed(long defaultSeed) { this.defaultSeed = defaultSeed; }
+
+    public boolean isLayoutCacheEnabled() { return layoutCacheEnabled; }
+    public void setLayoutCacheEnabled(boolean layoutCacheEnabled) { this.layoutCacheEnabled = layoutCacheEnabled; }
+
+    public boolean isWalkingGraphEnabled() { return walkingGraphEnabled; }
+    public void setWalkingGraphEnabled(boolean walkingGraphEnabled) { this.walkingGraphEnabled = walkingGraphEnabled; }
+
+    public int getWalkingTableMaxLocations() { return walkingTableMaxLocations; }
+    public void setWalkingTableMaxLocations(int walkingTableMaxLocations) { this.walkingTableMaxLocations = walkingTableMaxLocations; }
+
+    public String getDistanceTableDir() { return distanceTableDir; }
+    public void setDistanceTableDir(String distanceTableDir) { this.distanceTableDir = distanceTableDir; }
+
+    public long getSearchTimeBudgetMs() { return searchTimeBudgetMs; }
+    public void setSearchTimeBudgetMs(long searchTimeBudgetMs) { this.searchTimeBudgetMs = searchTimeBudgetMs; }
+
+    public long getStreamIntervalMs() { return streamIntervalMs; }
+    public void setStreamIntervalMs(long streamIntervalMs) { this.streamIntervalMs = streamIntervalMs; }
+
+    public boolean isRouteCacheEnabled() { return routeCacheEnabled; }
+    public void setRouteCacheEnabled(boolean routeCacheEnabled) { this.routeCacheEnabled = routeCacheEnabled; }
+
+    public long getRouteCacheMaxEntries() { return routeCacheMaxEntries; }
+    public void setRouteCacheMaxEntries(long routeCacheMaxEntries) { this.routeCacheMaxEntries = routeCacheMaxEntries; }
+
+    public long getRouteCacheTtlSeconds() { return routeCacheTtlSeconds; }
+    public void setRouteCacheTtlSeconds(long routeCacheTtlSeconds) { this.routeCacheTtlSeconds = routeCacheTtlSeconds; }
+
+    public double getBoundGapPercent() { return boundGapPercent; }
+    public void setBoundGapPercent(double boundGapPercent) { this.boundGapPercent = boundGapPercent; }
+}
@@ -0,0 +1,47 @@
+package com.nnaemekaonochie.pickpath.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.*;
+
+@Configuration
+public class SolverExecutorConfig {
+
+    /**
+     * Bounded work-stealing pool for CPU-bound search tasks, one thread per core by default
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService solverExecutor(OptimizerProperties properties) {
+        return new ForkJoinPool(parallelism(properties));
+    }
+
+    /**
+     * Fixed pool that admits whole route solves, one thread per core by default, behind a
+     * bounded queue. Submissions beyond the queue are rejected so callers can shed load.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService admissionExecutor(OptimizerProperties properties, MeterRegistry registry) {
+        int threads = parallelism(properties);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getSolverQueueCapacity())),
+                Thread.ofPlatform().name("solver-admission-", 0).daemon(true).factory());
+        return ExecutorServiceMetrics.monitor(registry, executor, "solver.admission");
+    }
+
+    /**
+     * Single background thread that rebuilds the layout snapshot after writes
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService layoutRefreshExecutor() {
+        return Executors.newSingleThreadExecutor(Thread.ofPlatform().name("layout-refresh").daemon(true).factory());
+    }
+
+    private static int parallelism(OptimizerProperties properties) {
+        return properties.getSolverParallelism() > 0
+                ? properties.getSolverParallelism()
+                : Runtime.getRuntime().availableProcessors();
+    }
+}
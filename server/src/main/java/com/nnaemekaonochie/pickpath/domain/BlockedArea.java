@@ -1,9 +1,11 @@
 package com.nnaemekaonochie.pickpath.domain;
 
+import com.nnaemekaonochie.pickpath.layout.LayoutChangeListener;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(LayoutChangeListener.class)
 @Table(name = "blocked_areas")
 public class BlockedArea {
     
@@ -1,8 +1,10 @@
 package com.nnaemekaonochie.pickpath.domain;
 
+import com.nnaemekaonochie.pickpath.layout.LayoutChangeListener;
 import jakarta.persistence.*;
 
 @Entity
+@EntityListeners(LayoutChangeListener.class)
 @Table(name = "warehouse_zones")
 public class WarehouseZone {
     
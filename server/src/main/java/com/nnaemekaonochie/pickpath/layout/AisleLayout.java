@@ -0,0 +1,131 @@
+package com.nnaemekaonochie.pickpath.layout;
+
+import java.util.*;
+
+/**
+ * Parallel-aisle structure detected from location data. Locations that share an aisle code
+ * and line up along one axis (one or two rack faces) form a rack aisle whose corridor runs
+ * between the faces. All aisles of one orientation form a block served by a front and a back
+ * cross aisle {@link #CROSS_AISLE_OFFSET} beyond the outermost bays. Locations that do not
+ * line up (staging and dock grids) belong to no aisle.
+ */
+public final class AisleLayout {
+
+    /**
+     * Distance from the outermost bay to the cross aisle
+     */
+    public static final double CROSS_AISLE_OFFSET = 5.0;
+
+    public static final int NO_AISLE = -1;
+
+    private final Aisle[] aisles;
+    private final int[] aisleOf;
+    private final double[] positions;
+    private final double[] offsets;
+    // Front and back cross aisles, indexed 0 for horizontal aisles and 1 for vertical ones
+    private final double[] fronts = new double[2];
+    private final double[] backs = new double[2];
+
+    /**
+     * One rack aisle: its corridor center across the axis, the span of its bays along the axis,
+     * the rack face coordinates and the ids of its locations
+     */
+    public record Aisle(String code, boolean horizontal, double center, double start, double end,
+                        double[] faces, int[] locations) {}
+
+    private AisleLayout(Aisle[] aisles, int[] aisleOf, double[] positions, double[] offsets) {
+        this.aisles = aisles;
+        this.aisleOf = aisleOf;
+        this.positions = positions;
+        this.offsets = offsets;
+        for (int block = 0; block < 2; block++) {
+            fronts[block] = Double.POSITIVE_INFINITY;
+            backs[block] = Double.NEGATIVE_INFINITY;
+        }
+        for (Aisle aisle : aisles) {
+            int block = aisle.horizontal() ? 0 : 1;
+            fronts[block] = Math.min(fronts[block], aisle.start() - CROSS_AISLE_OFFSET);
+            backs[block] = Math.max(backs[block], aisle.end() + CROSS_AISLE_OFFSET);
+        }
+    }
+
+    /**
+     * Detect rack aisles; aisles are ordered horizontal first, then by corridor center
+     */
+    static AisleLayout detect(LayoutSnapshot snapshot) {
+        int n = snapshot.locationCount();
+        Map<String, List<Integer>> byCode = new LinkedHashMap<>();
+        for (int id = 0; id < n; id++) {
+            String code = snapshot.location(id).getAisle();
+            if (code != null) byCode.computeIfAbsent(code, k -> new ArrayList<>()).add(id);
+        }
+
+        List<Aisle> found = new ArrayList<>();
+        for (Map.Entry<String, List<Integer>> entry : byCode.entrySet()) {
+            Aisle aisle = detectAisle(snapshot, entry.getKey(), entry.getValue());
+            if (aisle != null) found.add(aisle);
+        }
+        found.sort(Comparator.comparing((Aisle aisle) -> !aisle.horizontal()).thenComparingDouble(Aisle::center));
+
+        int[] aisleOf = new int[n];
+        double[] positions = new double[n];
+        double[] offsets = new double[n];
+        Arrays.fill(aisleOf, NO_AISLE);
+        for (int index = 0; index < found.size(); index++) {
+            Aisle aisle = found.get(index);
+            for (int id : aisle.locations()) {
+                aisleOf[id] = index;
+                positions[id] = aisle.horizontal() ? snapshot.x(id) : snapshot.y(id);
+                offsets[id] = Math.abs((aisle.horizontal() ? snapshot.y(id) : snapshot.x(id)) - aisle.center());
+            }
+        }
+        return new AisleLayout(found.toArray(new Aisle[0]), aisleOf, positions, offsets);
+    }
+
+    private static Aisle detectAisle(LayoutSnapshot snapshot, String code, List<Integer> ids) {
+        TreeSet<Integer> xValues = new TreeSet<>();
+        TreeSet<Integer> yValues = new TreeSet<>();
+        for (int id : ids) {
+            xValues.add(snapshot.x(id));
+            yValues.add(snapshot.y(id));
+        }
+        boolean horizontal = xValues.last() - xValues.first() >= yValues.last() - yValues.first();
+        TreeSet<Integer> along = horizontal ? xValues : yValues;
+        TreeSet<Integer> across = horizontal ? yValues : xValues;
+        if (across.size() > 2) return null;
+
+        double[] faces = across.stream().mapToDouble(Integer::doubleValue).toArray();
+        double center = (across.first() + across.last()) / 2.0;
+        int[] locations = ids.stream().mapToInt(Integer::intValue).toArray();
+        return new Aisle(code, horizontal, center, along.first(), along.last(), faces, locations);
+    }
+
+    public int aisleCount() { return aisles.length; }
+
+    public Aisle aisle(int index) { return aisles[index]; }
+
+    /**
+     * Index of the aisle a location belongs to, or {@link #NO_AISLE}
+     */
+    public int aisleOf(int location) { return aisleOf[location]; }
+
+    /**
+     * Position of a location along its aisle's axis
+     */
+    public double position(int location) { return positions[location]; }
+
+    /**
+     * Distance from a location's rack face to its aisle's corridor center
+     */
+    public double offset(int location) { return offsets[location]; }
+
+    /**
+     * Axis coordinate of the front cross aisle of the block holding aisles of this orientation
+     */
+    public double front(boolean horizontal) { return fronts[horizontal ? 0 : 1]; }
+
+    /**
+     * Axis coordinate of the back cross aisle of the block holding aisles of this orientation
+     */
+    public double back(boolean horizontal) { return backs[horizontal ? 0 : 1]; }
+}
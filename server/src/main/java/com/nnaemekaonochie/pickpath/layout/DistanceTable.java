@@ -0,0 +1,11 @@
+package com.nnaemekaonochie.pickpath.layout;
+
+/**
+ * Square table of walking distances between location ids
+ */
+interface DistanceTable {
+
+    int size();
+
+    float get(int from, int to);
+}
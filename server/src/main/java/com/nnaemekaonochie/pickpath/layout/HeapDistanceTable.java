@@ -0,0 +1,41 @@
+package com.nnaemekaonochie.pickpath.layout;
+
+import java.util.stream.IntStream;
+
+/**
+ * Distance table held on the heap as one row-major {@code float[]}
+ */
+final class HeapDistanceTable implements DistanceTable {
+
+    private final int size;
+    private final float[] distances;
+
+    private HeapDistanceTable(int size, float[] distances) {
+        this.size = size;
+        this.distances = distances;
+    }
+
+    /**
+     * Run one shortest-path search per location, in parallel, and keep the rows
+     */
+    static HeapDistanceTable build(WalkingGraph graph) {
+        int n = graph.locationCount();
+        float[] distances = new float[n * n];
+        IntStream.range(0, n).parallel().forEach(source -> {
+            double[] dist = new double[graph.nodeCount()];
+            graph.shortestPaths(source, dist, new WalkingGraph.Heap());
+            for (int target = 0; target < n; target++) {
+                distances[source * n + target] = (float) dist[target];
+            }
+        });
+        return new HeapDistanceTable(n, distances);
+    }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public float get(int from, int to) {
+        return distances[from * size + to];
+    }
+}
@@ -0,0 +1,28 @@
+package com.nnaemekaonochie.pickpath.layout;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns layout and inventory writes into {@link LayoutChangedEvent}s.
+ * Hibernate obtains it from the Spring context, so it can take constructor injection.
+ */
+@Component
+public class LayoutChangeListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    public LayoutChangeListener(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        publisher.publishEvent(new LayoutChangedEvent(entity));
+    }
+}
@@ -0,0 +1,18 @@
+package com.nnaemekaonochie.pickpath.layout;
+
+import com.nnaemekaonochie.pickpath.domain.BlockedArea;
+import com.nnaemekaonochie.pickpath.domain.Location;
+import com.nnaemekaonochie.pickpath.domain.WarehouseZone;
+
+/**
+ * Published when a location, zone, blocked area, item or inventory row is written
+ */
+public record LayoutChangedEvent(Object entity) {
+
+    /**
+     * Whether the write can change walking distances; item and inventory writes only move stock
+     */
+    public boolean geometry() {
+        return entity instanceof Location || entity instanceof WarehouseZone || entity instanceof BlockedArea;
+    }
+}
@@ -0,0 +1,6 @@
+package com.nnaemekaonochie.pickpath.layout;
+
+/**
+ * Published when a rebuilt {@link LayoutSnapshot} replaces the previous one
+ */
+public record LayoutRefreshedEvent(long version) {}
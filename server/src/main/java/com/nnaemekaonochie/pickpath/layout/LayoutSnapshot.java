@@ -0,0 +1,200 @@
+package com.nnaemekaonochie.pickpath.layout;
+
+import com.nnaemekaonochie.pickpath.domain.Inventory;
+import com.nnaemekaonochie.pickpath.domain.Item;
+import com.nnaemekaonochie.pickpath.domain.Location;
+
+import java.util.*;
+
+/**
+ * Immutable in-memory view of locations, items and inventory slots.
+ * Locations get dense int ids (their index in {@link #locations}), coordinates are
+ * kept in parallel primitive arrays, and SKUs map to the ids of the slots that stock them.
+ */
+public final class LayoutSnapshot {
+
+    private static final int[] NO_SLOTS = new int[0];
+
+    private final long version;
+    private final Location[] locations;
+    private final int[] xs;
+    private final int[] ys;
+    private final Map<String, Integer> locationIds;
+    // First location id at each coordinate pair, keyed by pointKey
+    private final Map<Long, Integer> pointIds;
+    private final Map<String, int[]> skuSlots;
+    private final AisleLayout aisles;
+    private final WalkingDistances walkingDistances;
+
+    private LayoutSnapshot(long version, Location[] locations, Map<String, Integer> locationIds,
+                           Map<String, int[]> skuSlots) {
+        this.version = version;
+        this.locations = locations;
+        this.locationIds = locationIds;
+        this.skuSlots = skuSlots;
+        this.xs = new int[locations.length];
+        this.ys = new int[locations.length];
+        Map<Long, Integer> pointIds = new HashMap<>(locations.length * 2);
+        for (int i = 0; i < locations.length; i++) {
+            xs[i] = locations[i].getX();
+            ys[i] = locations[i].getY();
+            pointIds.putIfAbsent(pointKey(xs[i], ys[i]), i);
+        }
+        this.pointIds = Map.copyOf(pointIds);
+        this.aisles = null;
+        this.walkingDistances = null;
+    }
+
+    private LayoutSnapshot(LayoutSnapshot base, long version, Map<String, int[]> skuSlots) {
+        this.version = version;
+        this.locations = base.locations;
+        this.locationIds = base.locationIds;
+        this.pointIds = base.pointIds;
+        this.skuSlots = skuSlots;
+        this.xs = base.xs;
+        this.ys = base.ys;
+        this.aisles = base.aisles;
+        this.walkingDistances = base.walkingDistances;
+    }
+
+    private LayoutSnapshot(LayoutSnapshot base, AisleLayout aisles, WalkingDistances walkingDistances) {
+        this.version = base.version;
+        this.locations = base.locations;
+        this.locationIds = base.locationIds;
+        this.pointIds = base.pointIds;
+        this.skuSlots = base.skuSlots;
+        this.xs = base.xs;
+        this.ys = base.ys;
+        this.aisles = aisles;
+        this.walkingDistances = walkingDistances;
+    }
+
+    /**
+     * Build a snapshot; inventory rows keep their given order within each SKU
+     */
+    public static LayoutSnapshot of(long version, List<Location> locations, List<Item> items,
+                                    List<Inventory> inventory) {
+        Location[] byId = locations.toArray(new Location[0]);
+        Map<String, Integer> locationIds = new HashMap<>(byId.length * 2);
+        for (int i = 0; i < byId.length; i++) {
+            locationIds.put(byId[i].getLocationCode(), i);
+        }
+
+        LayoutSnapshot snapshot = new LayoutSnapshot(version, byId, Map.copyOf(locationIds),
+                                                     skuSlots(locationIds, items, inventory));
+        return new LayoutSnapshot(snapshot, AisleLayout.detect(snapshot), null);
+    }
+
+    /**
+     * Copy of this snapshot with new stock, sharing its locations, aisles and walking distances
+     */
+    LayoutSnapshot withStock(long version, List<Item> items, List<Inventory> inventory) {
+        return new LayoutSnapshot(this, version, skuSlots(locationIds, items, inventory));
+    }
+
+    private static Map<String, int[]> skuSlots(Map<String, Integer> locationIds, List<Item> items,
+                                               List<Inventory> inventory) {
+        Map<String, List<Integer>> slots = new HashMap<>(items.size() * 2);
+        for (Item item : items) {
+            slots.put(item.getSku(), new ArrayList<>(1));
+        }
+        for (Inventory row : inventory) {
+            Integer id = locationIds.get(row.getLocation().getLocationCode());
+            if (id == null) continue;
+            slots.computeIfAbsent(row.getItem().getSku(), sku -> new ArrayList<>(1)).add(id);
+        }
+
+        Map<String, int[]> skuSlots = new HashMap<>(slots.size() * 2);
+        slots.forEach((sku, ids) -> skuSlots.put(sku, ids.stream().mapToInt(Integer::intValue).toArray()));
+        return Map.copyOf(skuSlots);
+    }
+
+    /**
+     * Copy of this snapshot that answers distances from the given walking table
+     */
+    LayoutSnapshot withWalkingDistances(WalkingDistances walkingDistances) {
+        return new LayoutSnapshot(this, aisles, walkingDistances);
+    }
+
+    public long version() { return version; }
+
+    public int locationCount() { return locations.length; }
+
+    public Location location(int id) { return locations[id]; }
+
+    /**
+     * Location for a code, or null if unknown
+     */
+    public Location location(String code) {
+        int id = locationId(code);
+        return id >= 0 ? locations[id] : null;
+    }
+
+    /**
+     * Dense id for a location code, or -1 if unknown
+     */
+    public int locationId(String code) {
+        if (code == null) return -1;
+        Integer id = locationIds.get(code);
+        return id != null ? id : -1;
+    }
+
+    public int x(int id) { return xs[id]; }
+
+    public int y(int id) { return ys[id]; }
+
+    public boolean hasSku(String sku) {
+        return sku != null && skuSlots.containsKey(sku);
+    }
+
+    /**
+     * Ids of every location stocking the SKU, in inventory order; empty if none.
+     * The array is shared, callers must not modify it.
+     */
+    public int[] slotsFor(String sku) {
+        if (sku == null) return NO_SLOTS;
+        int[] slots = skuSlots.get(sku);
+        return slots != null ? slots : NO_SLOTS;
+    }
+
+    /**
+     * First stocked location for the SKU, or null if it has none
+     */
+    public Location primarySlot(String sku) {
+        int[] slots = slotsFor(sku);
+        return slots.length > 0 ? locations[slots[0]] : null;
+    }
+
+    /**
+     * Rack aisles detected from the location data
+     */
+    public AisleLayout aisles() { return aisles; }
+
+    /**
+     * Walking distances between locations, or null when the walking graph is disabled
+     */
+    public WalkingDistances walkingDistances() { return walkingDistances; }
+
+    /**
+     * Snapshot id of a stop: its own location if the code and coordinates match, else the
+     * first location at the stop's coordinates (such as a default end placed on the start),
+     * or -1 if no location stands there
+     */
+    public int idOf(Location stop) {
+        int id = locationId(stop.getLocationCode());
+        if (id >= 0 && xs[id] == stop.getX() && ys[id] == stop.getY()) return id;
+        Integer atPoint = pointIds.get(pointKey(stop.getX(), stop.getY()));
+        return atPoint != null ? atPoint : -1;
+    }
+
+    private static long pointKey(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+
+    /**
+     * Resolve the stops of one route against this snapshot for repeated distance lookups
+     */
+    public StopDistances stopDistances(Location[] stops) {
+        return new StopDistances(this, stops);
+    }
+}
@@ -0,0 +1,179 @@
+package com.nnaemekaonochie.pickpath.layout;
+
+import com.nnaemekaonochie.pickpath.config.OptimizerProperties;
+import com.nnaemekaonochie.pickpath.repo.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link LayoutSnapshot}. The first snapshot is built by whichever reader
+ * needs it first, while other readers wait. After that, writes mark the snapshot stale and
+ * one background thread rebuilds it and swaps it in atomically. Readers keep getting the
+ * previous snapshot in the meantime, so a request never waits on a rebuild and never sees a
+ * half-built snapshot. A burst of writes, such as a data load, costs one or two rebuilds.
+ * Walking distances depend only on locations, zones and blocked areas, so item and inventory
+ * writes only rebuild the SKU slots and keep the walking graph and distance table.
+ */
+@Service
+public class LayoutSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(LayoutSnapshotService.class);
+
+    private final LocationRepository locRepo;
+    private final ItemRepository itemRepo;
+    private final InventoryRepository invRepo;
+    private final WarehouseZoneRepository zoneRepo;
+    private final BlockedAreaRepository blockedAreaRepo;
+    private final OptimizerProperties properties;
+    private final ExecutorService refreshExecutor;
+    private final ApplicationEventPublisher publisher;
+
+    private final AtomicReference<LayoutSnapshot> current = new AtomicReference<>();
+    private final AtomicBoolean stale = new AtomicBoolean();
+    private final AtomicBoolean staleGeometry = new AtomicBoolean();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final AtomicLong versions = new AtomicLong();
+
+    public LayoutSnapshotService(LocationRepository locRepo, ItemRepository itemRepo,
+                                 InventoryRepository invRepo, WarehouseZoneRepository zoneRepo,
+                                 BlockedAreaRepository blockedAreaRepo, OptimizerProperties properties,
+                                 @Qualifier("layoutRefreshExecutor") ExecutorService refreshExecutor,
+                                 ApplicationEventPublisher publisher) {
+        this.locRepo = locRepo;
+        this.itemRepo = itemRepo;
+        this.invRepo = invRepo;
+        this.zoneRepo = zoneRepo;
+        this.blockedAreaRepo = blockedAreaRepo;
+        this.properties = properties;
+        this.refreshExecutor = refreshExecutor;
+        this.publisher = publisher;
+    }
+
+    /**
+     * The latest published snapshot, built first if there is none yet. A rebuild after a
+     * write may still be running.
+     */
+    public LayoutSnapshot current() {
+        LayoutSnapshot snapshot = current.get();
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = current.get();
+                if (snapshot == null) snapshot = refresh();
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Rebuild from the database, precompute walking distances and swap the new snapshot in.
+     * Rebuilds never overlap, so snapshots are published in version order.
+     */
+    public synchronized LayoutSnapshot refresh() {
+        LayoutSnapshot snapshot = LayoutSnapshot.of(
+            versions.incrementAndGet(),
+            locRepo.findAll(Sort.by("id")),
+            itemRepo.findAll(),
+            invRepo.findAllWithItemAndLocation());
+        if (properties.isWalkingGraphEnabled()) {
+            WalkingGraph graph = WalkingGraph.build(snapshot, zoneRepo.findAll(), blockedAreaRepo.findAll());
+            snapshot = snapshot.withWalkingDistances(walkingDistances(graph));
+        }
+        publish(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Reload items and inventory into a copy of the current snapshot that keeps its walking
+     * distances, or rebuild everything when there is no snapshot yet
+     */
+    public synchronized LayoutSnapshot refreshStock() {
+        LayoutSnapshot base = current.get();
+        if (base == null) return refresh();
+        LayoutSnapshot snapshot = base.withStock(
+            versions.incrementAndGet(),
+            itemRepo.findAll(),
+            invRepo.findAllWithItemAndLocation());
+        publish(snapshot);
+        return snapshot;
+    }
+
+    private void publish(LayoutSnapshot snapshot) {
+        current.set(snapshot);
+        publisher.publishEvent(new LayoutRefreshedEvent(snapshot.version()));
+    }
+
+    /**
+     * Map the persisted table when a table directory is configured, otherwise build it on the heap
+     */
+    private WalkingDistances walkingDistances(WalkingGraph graph) {
+        String directory = properties.getDistanceTableDir();
+        if (directory != null && !directory.isBlank()) {
+            try {
+                return WalkingDistances.mapped(graph, Path.of(directory));
+            } catch (IOException e) {
+                log.warn("Could not use distance table in {}, building it on the heap instead", directory, e);
+            }
+        }
+        return WalkingDistances.build(graph, properties.getWalkingTableMaxLocations());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        current();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLayoutChanged(LayoutChangedEvent event) {
+        // Geometry first, so the rebuild that clears stale sees it
+        if (event.geometry()) staleGeometry.set(true);
+        stale.set(true);
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            refreshExecutor.execute(this::rebuild);
+        }
+    }
+
+    /**
+     * Rebuild until no write arrived during the last rebuild, in full only after a geometry
+     * write. The flags are cleared before reading the database, so a write that lands
+     * mid-rebuild triggers another one. A failed rebuild keeps the previous snapshot until
+     * the next write, and a failed full rebuild is retried in full then.
+     */
+    private void rebuild() {
+        try {
+            while (stale.getAndSet(false)) {
+                boolean geometry = staleGeometry.getAndSet(false);
+                try {
+                    if (geometry) {
+                        refresh();
+                    } else {
+                        refreshStock();
+                    }
+                } catch (RuntimeException e) {
+                    if (geometry) staleGeometry.set(true);
+                    log.error("Layout snapshot rebuild failed, serving the previous snapshot", e);
+                    return;
+                }
+            }
+        } finally {
+            rebuildScheduled.set(false);
+        }
+        // A write may have marked the snapshot stale after the loop but before the flag cleared
+        if (stale.get() && rebuildScheduled.compareAndSet(false, true)) {
+            refreshExecutor.execute(this::rebuild);
+        }
+    }
+}
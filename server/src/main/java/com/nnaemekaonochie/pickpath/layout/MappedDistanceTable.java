@@ -0,0 +1,127 @@
+package com.nnaemekaonochie.pickpath.layout;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.stream.IntStream;
+
+/**
+ * Distance table read zero-copy from a memory-mapped file, so it lives in the page cache
+ * rather than on the heap and is shared by every optimizer thread.
+ * <p>
+ * File layout (little-endian): a {@value #HEADER_BYTES}-byte header holding the magic
+ * {@code PPDT}, the format version, the layout hash and the table size n, followed by
+ * n * n row-major {@code float} distances. Files above 1 GiB are mapped in 1 GiB chunks.
+ */
+final class MappedDistanceTable implements DistanceTable {
+
+    static final int MAGIC = 0x50504454;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 32;
+
+    // 2^28 floats = 1 GiB per mapping, below the 2 GiB limit of a single MappedByteBuffer
+    private static final int CHUNK_SHIFT = 28;
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+    private final int size;
+    private final MappedByteBuffer[] chunks;
+
+    private MappedDistanceTable(int size, MappedByteBuffer[] chunks) {
+        this.size = size;
+        this.chunks = chunks;
+    }
+
+    /**
+     * Map an existing table file, or return null if it is missing or was built for a
+     * different layout or format
+     */
+    static MappedDistanceTable open(Path file, long layoutHash, int size) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) != fileBytes(size)) return null;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) return null;
+            }
+            header.flip();
+            if (header.getInt() != MAGIC
+                    || header.getInt() != FORMAT_VERSION
+                    || header.getLong() != layoutHash
+                    || header.getInt() != size) {
+                return null;
+            }
+            return new MappedDistanceTable(size, map(channel, FileChannel.MapMode.READ_ONLY, size));
+        }
+    }
+
+    /**
+     * Compute every row straight into a new mapped file, then move it into place atomically
+     * so concurrent readers only ever see complete files
+     */
+    static MappedDistanceTable create(Path file, long layoutHash, WalkingGraph graph) throws IOException {
+        int n = graph.locationCount();
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer[] chunks = map(channel, FileChannel.MapMode.READ_WRITE, n);
+                IntStream.range(0, n).parallel().forEach(source -> {
+                    double[] dist = new double[graph.nodeCount()];
+                    graph.shortestPaths(source, dist, new WalkingGraph.Heap());
+                    long base = (long) source * n;
+                    for (int target = 0; target < n; target++) {
+                        long index = base + target;
+                        chunks[(int) (index >>> CHUNK_SHIFT)].putFloat((int) (index & CHUNK_MASK) << 2, (float) dist[target]);
+                    }
+                });
+                for (MappedByteBuffer chunk : chunks) {
+                    chunk.force();
+                }
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(layoutHash).putInt(n);
+                header.position(0).limit(HEADER_BYTES);
+                channel.write(header, 0);
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        MappedDistanceTable table = open(file, layoutHash, n);
+        if (table == null) throw new IOException("Distance table " + file + " failed verification");
+        return table;
+    }
+
+    private static MappedByteBuffer[] map(FileChannel channel, FileChannel.MapMode mode, int size) throws IOException {
+        long floats = (long) size * size;
+        int count = (int) ((floats + CHUNK_MASK) >>> CHUNK_SHIFT);
+        MappedByteBuffer[] chunks = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long first = (long) i << CHUNK_SHIFT;
+            long length = Math.min(1L << CHUNK_SHIFT, floats - first) * Float.BYTES;
+            chunks[i] = channel.map(mode, HEADER_BYTES + first * Float.BYTES, length);
+            chunks[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return chunks;
+    }
+
+    private static long fileBytes(int size) {
+        return HEADER_BYTES + (long) size * size * Float.BYTES;
+    }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public float get(int from, int to) {
+        long index = (long) from * size + to;
+        return chunks[(int) (index >>> CHUNK_SHIFT)].getFloat((int) (index & CHUNK_MASK) << 2);
+    }
+}
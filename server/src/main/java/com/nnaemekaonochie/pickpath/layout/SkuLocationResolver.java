@@ -0,0 +1,112 @@
+package com.nnaemekaonochie.pickpath.layout;
+
+import com.nnaemekaonochie.pickpath.config.OptimizerProperties;
+import com.nnaemekaonochie.pickpath.domain.Inventory;
+import com.nnaemekaonochie.pickpath.domain.Location;
+import com.nnaemekaonochie.pickpath.repo.*;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Resolves location codes and SKUs for the optimizers. Reads the layout snapshot when the
+ * layout cache is enabled and falls back to repository queries otherwise.
+ */
+@Component
+public class SkuLocationResolver {
+
+    private final LayoutSnapshotService snapshots;
+    private final LocationRepository locRepo;
+    private final ItemRepository itemRepo;
+    private final InventoryRepository invRepo;
+    private final OptimizerProperties properties;
+
+    public SkuLocationResolver(LayoutSnapshotService snapshots, LocationRepository locRepo,
+                               ItemRepository itemRepo, InventoryRepository invRepo,
+                               OptimizerProperties properties) {
+        this.snapshots = snapshots;
+        this.locRepo = locRepo;
+        this.itemRepo = itemRepo;
+        this.invRepo = invRepo;
+        this.properties = properties;
+    }
+
+    public Optional<Location> findLocation(String locationCode) {
+        if (locationCode == null) return Optional.empty();
+        if (properties.isLayoutCacheEnabled()) {
+            return Optional.ofNullable(snapshots.current().location(locationCode));
+        }
+        return locRepo.findByLocationCode(locationCode);
+    }
+
+    public boolean isKnownSku(String sku) {
+        if (properties.isLayoutCacheEnabled()) {
+            return snapshots.current().hasSku(sku);
+        }
+        return sku != null && itemRepo.findBySku(sku).isPresent();
+    }
+
+    /**
+     * First stocked location for each SKU, keyed in the order given; unknown and
+     * unstocked SKUs are left out
+     */
+    public Map<String, Location> resolve(Collection<String> skus) {
+        if (skus == null || skus.isEmpty()) return Map.of();
+
+        Map<String, Location> resolved = new LinkedHashMap<>();
+        if (properties.isLayoutCacheEnabled()) {
+            LayoutSnapshot layout = snapshots.current();
+            for (String sku : skus) {
+                Location location = layout.primarySlot(sku);
+                if (location != null) resolved.putIfAbsent(sku, location);
+            }
+            return resolved;
+        }
+
+        Set<String> distinct = new LinkedHashSet<>(skus);
+        Map<String, Location> found = new HashMap<>();
+        // One fetch-join round trip for the whole order
+        for (Inventory inventory : invRepo.findBySkuInWithItemAndLocation(distinct)) {
+            found.putIfAbsent(inventory.getItem().getSku(), inventory.getLocation());
+        }
+        for (String sku : distinct) {
+            Location location = found.get(sku);
+            if (location != null) resolved.put(sku, location);
+        }
+        return resolved;
+    }
+
+    /**
+     * Every stocked location for each SKU in inventory order, keyed in the order given;
+     * unknown and unstocked SKUs are left out
+     */
+    public Map<String, List<Location>> resolveSlots(Collection<String> skus) {
+        if (skus == null || skus.isEmpty()) return Map.of();
+
+        Map<String, List<Location>> resolved = new LinkedHashMap<>();
+        if (properties.isLayoutCacheEnabled()) {
+            LayoutSnapshot layout = snapshots.current();
+            for (String sku : skus) {
+                int[] slots = layout.slotsFor(sku);
+                if (slots.length == 0 || resolved.containsKey(sku)) continue;
+                List<Location> locations = new ArrayList<>(slots.length);
+                for (int id : slots) {
+                    locations.add(layout.location(id));
+                }
+                resolved.put(sku, locations);
+            }
+            return resolved;
+        }
+
+        Set<String> distinct = new LinkedHashSet<>(skus);
+        Map<String, List<Location>> found = new HashMap<>();
+        for (Inventory inventory : invRepo.findBySkuInWithItemAndLocation(distinct)) {
+            found.computeIfAbsent(inventory.getItem().getSku(), sku -> new ArrayList<>()).add(inventory.getLocation());
+        }
+        for (String sku : distinct) {
+            List<Location> locations = found.get(sku);
+            if (locations != null) resolved.put(sku, locations);
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,49 @@
+package com.nnaemekaonochie.pickpath.layout;
+
+import com.nnaemekaonochie.pickpath.domain.Location;
+
+/**
+ * Walking distances between the stops of one route. Stops are resolved to snapshot ids once,
+ * by code or else by coordinates, so a point standing on a rack face walks like the location
+ * there; other stops use a per-point distance row. Pairs the walking graph
+ * cannot answer (two ad-hoc points, unreachable stops, graph disabled) fall back to Manhattan.
+ */
+public final class StopDistances {
+
+    private final Location[] stops;
+    private final WalkingDistances walking;
+    private final int[] ids;
+    private final float[][] rows;
+
+    StopDistances(LayoutSnapshot snapshot, Location[] stops) {
+        this.stops = stops;
+        this.walking = snapshot.walkingDistances();
+        this.ids = new int[stops.length];
+        this.rows = new float[stops.length][];
+
+        for (int i = 0; i < stops.length; i++) {
+            ids[i] = walking != null ? snapshot.idOf(stops[i]) : -1;
+            if (walking == null) continue;
+            if (ids[i] < 0) {
+                rows[i] = walking.distancesFrom(stops[i].getX(), stops[i].getY());
+            } else if (!walking.hasTable()) {
+                rows[i] = walking.distancesFrom(ids[i]);
+            }
+        }
+    }
+
+    public double distance(int from, int to) {
+        if (from == to) return 0.0;
+
+        double d = Double.POSITIVE_INFINITY;
+        if (walking != null) {
+            if (rows[from] != null && ids[to] >= 0) d = rows[from][ids[to]];
+            else if (rows[to] != null && ids[from] >= 0) d = rows[to][ids[from]];
+            else if (ids[from] >= 0 && ids[to] >= 0) d = walking.distance(ids[from], ids[to]);
+        }
+        if (Double.isInfinite(d)) {
+            return Math.abs(stops[from].getX() - stops[to].getX()) + Math.abs(stops[from].getY() - stops[to].getY());
+        }
+        return d;
+    }
+}
@@ -0,0 +1,112 @@
+package com.nnaemekaonochie.pickpath.layout;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shortest walking distances between snapshot locations. The all-pairs table is either
+ * precomputed on the heap (up to the configured size), memory-mapped from a distance-table
+ * file keyed by the layout hash, or absent, in which case rows are computed on demand.
+ * Distances from points that are not locations (such as a default start) are computed once
+ * per point and cached. Unreachable pairs are infinite.
+ */
+public final class WalkingDistances {
+
+    private static final int MAX_CACHED_POINTS = 256;
+
+    private final WalkingGraph graph;
+    private final int size;
+    private final DistanceTable table;
+    private final Map<Long, float[]> pointRows = new ConcurrentHashMap<>();
+
+    private WalkingDistances(WalkingGraph graph, DistanceTable table) {
+        this.graph = graph;
+        this.size = graph.locationCount();
+        this.table = table;
+    }
+
+    /**
+     * Precompute the all-pairs table on the heap when the layout has at most maxTableLocations locations
+     */
+    static WalkingDistances build(WalkingGraph graph, int maxTableLocations) {
+        int n = graph.locationCount();
+        if (n > maxTableLocations || (long) n * n > Integer.MAX_VALUE - 8) return new WalkingDistances(graph, null);
+        return new WalkingDistances(graph, HeapDistanceTable.build(graph));
+    }
+
+    /**
+     * Map the table file for this layout from the directory, building and persisting it first
+     * if no file matches the layout hash
+     */
+    static WalkingDistances mapped(WalkingGraph graph, Path directory) throws IOException {
+        Path file = directory.resolve(tableFileName(graph.layoutHash()));
+        MappedDistanceTable table = MappedDistanceTable.open(file, graph.layoutHash(), graph.locationCount());
+        if (table == null) {
+            table = MappedDistanceTable.create(file, graph.layoutHash(), graph);
+        }
+        return new WalkingDistances(graph, table);
+    }
+
+    static String tableFileName(long layoutHash) {
+        return "walking-%016x.dist".formatted(layoutHash);
+    }
+
+    public int size() { return size; }
+
+    public boolean hasTable() { return table != null; }
+
+    /**
+     * Hash of the layout the distances were computed for
+     */
+    public long layoutHash() { return graph.layoutHash(); }
+
+    /**
+     * Walking distance between two location ids
+     */
+    public double distance(int from, int to) {
+        if (table != null) return table.get(from, to);
+        return distancesFrom(from)[to];
+    }
+
+    /**
+     * Walking distances from a location to every location, indexed by location id
+     */
+    public float[] distancesFrom(int location) {
+        float[] row = new float[size];
+        if (table != null) {
+            for (int i = 0; i < size; i++) {
+                row[i] = table.get(location, i);
+            }
+            return row;
+        }
+
+        double[] dist = new double[graph.nodeCount()];
+        graph.shortestPaths(location, dist, new WalkingGraph.Heap());
+        for (int i = 0; i < size; i++) {
+            row[i] = (float) dist[i];
+        }
+        return row;
+    }
+
+    /**
+     * Walking distances from an arbitrary point to every location, indexed by location id.
+     * The returned row is shared, callers must not modify it.
+     */
+    public float[] distancesFrom(int x, int y) {
+        long key = ((long) x << 32) | (y & 0xffffffffL);
+        float[] row = pointRows.get(key);
+        if (row != null) return row;
+
+        double[] dist = new double[graph.nodeCount()];
+        graph.shortestPathsFrom(x, y, dist, new WalkingGraph.Heap());
+        row = new float[size];
+        for (int i = 0; i < size; i++) {
+            row[i] = (float) dist[i];
+        }
+        if (pointRows.size() >= MAX_CACHED_POINTS) pointRows.clear();
+        pointRows.put(key, row);
+        return row;
+    }
+}
@@ -0,0 +1,538 @@
+package com.nnaemekaonochie.pickpath.layout;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnaemekaonochie.pickpath.domain.BlockedArea;
+import com.nnaemekaonochie.pickpath.domain.Location;
+import com.nnaemekaonochie.pickpath.domain.WarehouseZone;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Undirected walking graph of the warehouse floor in compressed adjacency form.
+ * <p>
+ * Locations that share an aisle code and line up along one axis (one or two rack faces)
+ * form a rack aisle: a corridor runs between the faces and can only be entered at its ends,
+ * where it meets a front and a back cross aisle shared by every aisle of that orientation.
+ * Other locations (staging and dock grids) are open floor. Cross-aisle points, open locations
+ * and zone access points are joined to their nearest floor neighbors by Manhattan edges that
+ * may not cross a rack face or a blocked area. Zones with access points can only be entered
+ * through them. Node ids {@code 0..locationCount-1} are the snapshot location ids.
+ */
+final class WalkingGraph {
+
+    /**
+     * Floor edges kept per floor node
+     */
+    static final int FLOOR_NEIGHBORS = 8;
+
+    /**
+     * Bumped whenever graph construction changes, so persisted distance tables are rebuilt
+     */
+    static final int GRAPH_VERSION = 1;
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final int locationCount;
+    private final long layoutHash;
+    private final double[] xs;
+    private final double[] ys;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    // Nodes an arbitrary point may attach to: floor and corridor nodes
+    private final int[] attachable;
+    private final List<Obstacle> obstacles;
+
+    private WalkingGraph(Builder builder, long layoutHash) {
+        this.locationCount = builder.locationCount;
+        this.layoutHash = layoutHash;
+        this.xs = Arrays.copyOf(builder.xs, builder.nodes);
+        this.ys = Arrays.copyOf(builder.ys, builder.nodes);
+        this.attachable = builder.attachable.stream().mapToInt(Integer::intValue).toArray();
+        this.obstacles = List.copyOf(builder.obstacles);
+
+        int n = builder.nodes;
+        int m = builder.edges;
+        offsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            offsets[builder.edgeFrom[e] + 1]++;
+            offsets[builder.edgeTo[e] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        targets = new int[2 * m];
+        weights = new double[2 * m];
+        int[] fill = Arrays.copyOf(offsets, n);
+        for (int e = 0; e < m; e++) {
+            int a = builder.edgeFrom[e];
+            int b = builder.edgeTo[e];
+            targets[fill[a]] = b;
+            weights[fill[a]++] = builder.edgeWeight[e];
+            targets[fill[b]] = a;
+            weights[fill[b]++] = builder.edgeWeight[e];
+        }
+    }
+
+    /**
+     * Build the graph for the snapshot's locations, honoring zone access points and the
+     * blocked areas that are active now
+     */
+    static WalkingGraph build(LayoutSnapshot snapshot, List<WarehouseZone> zones, List<BlockedArea> blockedAreas) {
+        Builder builder = new Builder(snapshot.locationCount());
+        for (int id = 0; id < snapshot.locationCount(); id++) {
+            builder.addNode(snapshot.x(id), snapshot.y(id));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<BlockedArea> activeAreas = blockedAreas.stream()
+            .filter(area -> Boolean.TRUE.equals(area.getIsPermanent())
+                || area.getTemporaryUntil() == null
+                || area.getTemporaryUntil().isAfter(now))
+            .toList();
+        for (BlockedArea area : activeAreas) {
+            builder.addPolygon(parsePoints(area.getBoundaries()));
+        }
+        for (WarehouseZone zone : zones) {
+            if (zone.getType() == WarehouseZone.ZoneType.BLOCKED) builder.addPolygon(parsePoints(zone.getBoundaries()));
+        }
+
+        builder.addAisles(snapshot);
+        builder.addZoneAccess(snapshot, zones);
+        builder.connectFloor();
+        return new WalkingGraph(builder, layoutHash(snapshot, zones, activeAreas));
+    }
+
+    /**
+     * Hash of everything the graph is built from: location ids, codes, coordinates, aisles
+     * and zones, zone geometry, active blocked areas and the construction constants
+     */
+    static long layoutHash(LayoutSnapshot snapshot, List<WarehouseZone> zones, List<BlockedArea> activeAreas) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        StringBuilder text = new StringBuilder();
+        text.append(GRAPH_VERSION).append('|').append(AisleLayout.CROSS_AISLE_OFFSET).append('|').append(FLOOR_NEIGHBORS).append('\n');
+        for (int id = 0; id < snapshot.locationCount(); id++) {
+            Location location = snapshot.location(id);
+            text.append(location.getLocationCode()).append('|').append(location.getX()).append('|')
+                .append(location.getY()).append('|').append(location.getAisle()).append('|')
+                .append(location.getZone()).append('\n');
+        }
+        zones.stream()
+            .sorted(Comparator.comparing(WarehouseZone::getZoneId, Comparator.nullsFirst(Comparator.naturalOrder())))
+            .forEach(zone -> text.append("zone|").append(zone.getZoneId()).append('|').append(zone.getName())
+                .append('|').append(zone.getType()).append('|').append(zone.getBoundaries())
+                .append('|').append(zone.getAccessPoints()).append('\n'));
+        activeAreas.stream()
+            .map(BlockedArea::getBoundaries)
+            .map(String::valueOf)
+            .sorted()
+            .forEach(boundaries -> text.append("blocked|").append(boundaries).append('\n'));
+
+        byte[] hash = digest.digest(text.toString().getBytes(StandardCharsets.UTF_8));
+        return ByteBuffer.wrap(hash).getLong();
+    }
+
+    int nodeCount() { return xs.length; }
+
+    long layoutHash() { return layoutHash; }
+
+    int locationCount() { return locationCount; }
+
+    /**
+     * Single-source shortest walking distances from a location; unreachable nodes stay infinite
+     */
+    void shortestPaths(int source, double[] dist, Heap heap) {
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dist[source] = 0.0;
+        heap.clear();
+        heap.push(source, 0.0);
+        run(dist, heap);
+    }
+
+    /**
+     * Shortest walking distances from an arbitrary floor point, attached to its nearest
+     * reachable floor or corridor nodes
+     */
+    void shortestPathsFrom(double x, double y, double[] dist, Heap heap) {
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        heap.clear();
+        for (int node : nearestClear(x, y, attachable)) {
+            double d = Math.abs(x - xs[node]) + Math.abs(y - ys[node]);
+            if (d < dist[node]) {
+                dist[node] = d;
+                heap.push(node, d);
+            }
+        }
+        run(dist, heap);
+    }
+
+    private void run(double[] dist, Heap heap) {
+        while (!heap.isEmpty()) {
+            double d = heap.topKey();
+            int node = heap.pop();
+            if (d > dist[node]) continue;
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                double next = d + weights[e];
+                int target = targets[e];
+                if (next < dist[target]) {
+                    dist[target] = next;
+                    heap.push(target, next);
+                }
+            }
+        }
+    }
+
+    /**
+     * Up to {@link #FLOOR_NEIGHBORS} candidates closest to (x, y) by Manhattan distance whose
+     * walking path does not cross an obstacle
+     */
+    private int[] nearestClear(double x, double y, int[] candidates) {
+        Integer[] order = new Integer[candidates.length];
+        for (int i = 0; i < candidates.length; i++) order[i] = candidates[i];
+        Arrays.sort(order, Comparator.comparingDouble(c -> Math.abs(x - xs[c]) + Math.abs(y - ys[c])));
+
+        int[] chosen = new int[FLOOR_NEIGHBORS];
+        int count = 0;
+        for (int c : order) {
+            if (clearPath(obstacles, x, y, xs[c], ys[c])) {
+                chosen[count++] = c;
+                if (count == FLOOR_NEIGHBORS) break;
+            }
+        }
+        return Arrays.copyOf(chosen, count);
+    }
+
+    /**
+     * True if either L-shaped Manhattan path between the points avoids every obstacle
+     */
+    private static boolean clearPath(List<Obstacle> obstacles, double ax, double ay, double bx, double by) {
+        return clearSegments(obstacles, ax, ay, bx, ay, bx, by) || clearSegments(obstacles, ax, ay, ax, by, bx, by);
+    }
+
+    private static boolean clearSegments(List<Obstacle> obstacles, double ax, double ay,
+                                         double cx, double cy, double bx, double by) {
+        for (Obstacle obstacle : obstacles) {
+            if (obstacle.blocks(ax, ay, cx, cy) || obstacle.blocks(cx, cy, bx, by)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Parse a JSON point list, either {@code [[x, y], ...]} or {@code [{"x": .., "y": ..}, ...]};
+     * anything else yields no points
+     */
+    static List<double[]> parsePoints(String json) {
+        if (json == null || json.isBlank()) return List.of();
+        try {
+            JsonNode root = JSON.readTree(json);
+            if (root.has("points")) root = root.get("points");
+            if (!root.isArray()) return List.of();
+
+            List<double[]> points = new ArrayList<>();
+            for (JsonNode point : root) {
+                if (point.isArray() && point.size() >= 2) {
+                    points.add(new double[] { point.get(0).asDouble(), point.get(1).asDouble() });
+                } else if (point.has("x") && point.has("y")) {
+                    points.add(new double[] { point.get("x").asDouble(), point.get("y").asDouble() });
+                }
+            }
+            return points;
+        } catch (Exception e) {
+            return List.of();
+        }
+    }
+
+    /**
+     * Rack face (open polyline) or blocked area (closed polygon)
+     */
+    private record Obstacle(double[] xs, double[] ys, boolean closed) {
+
+        boolean blocks(double ax, double ay, double bx, double by) {
+            if (ax == bx && ay == by) return closed && contains(ax, ay);
+            int n = xs.length;
+            int edges = closed ? n : n - 1;
+            for (int i = 0; i < edges; i++) {
+                int j = i + 1 == n ? 0 : i + 1;
+                if (segmentsIntersect(ax, ay, bx, by, xs[i], ys[i], xs[j], ys[j])) return true;
+            }
+            return closed && (contains(ax, ay) || contains(bx, by));
+        }
+
+        private boolean contains(double x, double y) {
+            boolean inside = false;
+            for (int i = 0, j = xs.length - 1; i < xs.length; j = i++) {
+                if ((ys[i] > y) != (ys[j] > y)
+                        && x < (xs[j] - xs[i]) * (y - ys[i]) / (ys[j] - ys[i]) + xs[i]) {
+                    inside = !inside;
+                }
+            }
+            return inside;
+        }
+
+        private static boolean segmentsIntersect(double ax, double ay, double bx, double by,
+                                                 double cx, double cy, double dx, double dy) {
+            double d1 = cross(cx, cy, dx, dy, ax, ay);
+            double d2 = cross(cx, cy, dx, dy, bx, by);
+            double d3 = cross(ax, ay, bx, by, cx, cy);
+            double d4 = cross(ax, ay, bx, by, dx, dy);
+            if (((d1 > 0 && d2 < 0) || (d1 < 0 && d2 > 0)) && ((d3 > 0 && d4 < 0) || (d3 < 0 && d4 > 0))) {
+                return true;
+            }
+            return (d1 == 0 && onSegment(cx, cy, dx, dy, ax, ay))
+                || (d2 == 0 && onSegment(cx, cy, dx, dy, bx, by))
+                || (d3 == 0 && onSegment(ax, ay, bx, by, cx, cy))
+                || (d4 == 0 && onSegment(ax, ay, bx, by, dx, dy));
+        }
+
+        private static double cross(double ax, double ay, double bx, double by, double px, double py) {
+            return (bx - ax) * (py - ay) - (by - ay) * (px - ax);
+        }
+
+        private static boolean onSegment(double ax, double ay, double bx, double by, double px, double py) {
+            return Math.min(ax, bx) <= px && px <= Math.max(ax, bx)
+                && Math.min(ay, by) <= py && py <= Math.max(ay, by);
+        }
+    }
+
+    /**
+     * Lazy-deletion binary min-heap of (node, distance) pairs, reused across searches
+     */
+    static final class Heap {
+        private int[] nodes = new int[64];
+        private double[] keys = new double[64];
+        private int size;
+
+        void clear() { size = 0; }
+
+        boolean isEmpty() { return size == 0; }
+
+        double topKey() { return keys[0]; }
+
+        void push(int node, double key) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (keys[parent] <= key) break;
+                nodes[i] = nodes[parent];
+                keys[i] = keys[parent];
+                i = parent;
+            }
+            nodes[i] = node;
+            keys[i] = key;
+        }
+
+        int pop() {
+            int top = nodes[0];
+            int lastNode = nodes[--size];
+            double lastKey = keys[size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) break;
+                if (child + 1 < size && keys[child + 1] < keys[child]) child++;
+                if (keys[child] >= lastKey) break;
+                nodes[i] = nodes[child];
+                keys[i] = keys[child];
+                i = child;
+            }
+            nodes[i] = lastNode;
+            keys[i] = lastKey;
+            return top;
+        }
+    }
+
+    private static final class Builder {
+        private final int locationCount;
+        private double[] xs = new double[256];
+        private double[] ys = new double[256];
+        private int nodes;
+        private int[] edgeFrom = new int[1024];
+        private int[] edgeTo = new int[1024];
+        private double[] edgeWeight = new double[1024];
+        private int edges;
+
+        private final List<Obstacle> obstacles = new ArrayList<>();
+        private final List<Obstacle> blocked = new ArrayList<>();
+        private final List<Integer> attachable = new ArrayList<>();
+        // Floor nodes with the zone they belong to (0 = general floor) and the zone they give access to
+        private final List<Integer> floor = new ArrayList<>();
+        private final Map<Integer, Integer> floorZone = new HashMap<>();
+        private final Map<Integer, Integer> accessZone = new HashMap<>();
+        private final boolean[] onRackAisle;
+
+        Builder(int locationCount) {
+            this.locationCount = locationCount;
+            this.onRackAisle = new boolean[locationCount];
+        }
+
+        int addNode(double x, double y) {
+            if (nodes == xs.length) {
+                xs = Arrays.copyOf(xs, nodes * 2);
+                ys = Arrays.copyOf(ys, nodes * 2);
+            }
+            xs[nodes] = x;
+            ys[nodes] = y;
+            return nodes++;
+        }
+
+        /**
+         * Add an edge unless it runs through a blocked area
+         */
+        void addEdge(int a, int b, double weight) {
+            if (a == b) return;
+            for (Obstacle area : blocked) {
+                if (area.blocks(xs[a], ys[a], xs[b], ys[b])) return;
+            }
+            if (edges == edgeFrom.length) {
+                edgeFrom = Arrays.copyOf(edgeFrom, edges * 2);
+                edgeTo = Arrays.copyOf(edgeTo, edges * 2);
+                edgeWeight = Arrays.copyOf(edgeWeight, edges * 2);
+            }
+            edgeFrom[edges] = a;
+            edgeTo[edges] = b;
+            edgeWeight[edges] = weight;
+            edges++;
+        }
+
+        void addPolygon(List<double[]> points) {
+            if (points.size() < 3) return;
+            double[] px = new double[points.size()];
+            double[] py = new double[points.size()];
+            for (int i = 0; i < points.size(); i++) {
+                px[i] = points.get(i)[0];
+                py[i] = points.get(i)[1];
+            }
+            Obstacle area = new Obstacle(px, py, true);
+            obstacles.add(area);
+            blocked.add(area);
+        }
+
+        /**
+         * Lay the corridors of the detected rack aisles and connect them to the cross aisles
+         */
+        void addAisles(LayoutSnapshot snapshot) {
+            AisleLayout layout = snapshot.aisles();
+            for (int index = 0; index < layout.aisleCount(); index++) {
+                AisleLayout.Aisle aisle = layout.aisle(index);
+                for (double face : aisle.faces()) {
+                    obstacles.add(aisle.horizontal()
+                        ? new Obstacle(new double[] { aisle.start(), aisle.end() }, new double[] { face, face }, false)
+                        : new Obstacle(new double[] { face, face }, new double[] { aisle.start(), aisle.end() }, false));
+                }
+            }
+
+            for (int index = 0; index < layout.aisleCount(); index++) {
+                AisleLayout.Aisle aisle = layout.aisle(index);
+                double front = layout.front(aisle.horizontal());
+                double back = layout.back(aisle.horizontal());
+
+                // Corridor: front cross aisle, one node per bay position, back cross aisle
+                TreeMap<Double, Integer> corridor = new TreeMap<>();
+                for (int id : aisle.locations()) {
+                    onRackAisle[id] = true;
+                    int node = corridor.computeIfAbsent(layout.position(id), a -> addCorridorNode(aisle, a));
+                    addEdge(id, node, layout.offset(id));
+                }
+                int frontNode = addCorridorNode(aisle, front);
+                int backNode = addCorridorNode(aisle, back);
+                floor.add(frontNode);
+                floor.add(backNode);
+
+                int previous = frontNode;
+                double previousAxis = front;
+                for (Map.Entry<Double, Integer> bay : corridor.entrySet()) {
+                    addEdge(previous, bay.getValue(), bay.getKey() - previousAxis);
+                    previous = bay.getValue();
+                    previousAxis = bay.getKey();
+                }
+                addEdge(previous, backNode, back - previousAxis);
+            }
+        }
+
+        private int addCorridorNode(AisleLayout.Aisle aisle, double axis) {
+            int node = aisle.horizontal() ? addNode(axis, aisle.center()) : addNode(aisle.center(), axis);
+            attachable.add(node);
+            return node;
+        }
+
+        /**
+         * Put open-floor locations and zone access points on the floor; locations in a zone
+         * that declares access points are only reachable through them
+         */
+        void addZoneAccess(LayoutSnapshot snapshot, List<WarehouseZone> zones) {
+            Map<String, Integer> zoneIndex = new HashMap<>();
+            for (WarehouseZone zone : zones) {
+                List<double[]> points = parsePoints(zone.getAccessPoints());
+                if (points.isEmpty() || zone.getType() == WarehouseZone.ZoneType.BLOCKED) continue;
+
+                int index = zoneIndex.size() + 1;
+                zoneIndex.put(zone.getZoneId(), index);
+                if (zone.getName() != null) zoneIndex.putIfAbsent(zone.getName(), index);
+                for (double[] point : points) {
+                    int node = addNode(point[0], point[1]);
+                    floor.add(node);
+                    attachable.add(node);
+                    accessZone.put(node, index);
+                }
+            }
+
+            for (int id = 0; id < locationCount; id++) {
+                if (onRackAisle[id]) continue;
+                floor.add(id);
+                attachable.add(id);
+                Integer zone = zoneIndex.get(snapshot.location(id).getZone());
+                if (zone != null) floorZone.put(id, zone);
+            }
+        }
+
+        /**
+         * Join every floor node to its nearest clear floor neighbors
+         */
+        void connectFloor() {
+            double[] fx = Arrays.copyOf(xs, nodes);
+            double[] fy = Arrays.copyOf(ys, nodes);
+            int[] candidates = floor.stream().mapToInt(Integer::intValue).toArray();
+            Set<Long> seen = new HashSet<>();
+
+            for (int a : candidates) {
+                Integer[] order = new Integer[candidates.length];
+                for (int i = 0; i < candidates.length; i++) order[i] = candidates[i];
+                Arrays.sort(order, Comparator.comparingDouble(c -> Math.abs(fx[a] - fx[c]) + Math.abs(fy[a] - fy[c])));
+
+                int linked = 0;
+                for (int b : order) {
+                    if (linked == FLOOR_NEIGHBORS) break;
+                    if (b == a || !sameRegion(a, b)) continue;
+                    if (!clearPath(obstacles, fx[a], fy[a], fx[b], fy[b])) continue;
+                    linked++;
+                    long key = a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+                    if (seen.add(key)) addEdge(a, b, Math.abs(fx[a] - fx[b]) + Math.abs(fy[a] - fy[b]));
+                }
+            }
+        }
+
+        private boolean sameRegion(int a, int b) {
+            int zoneA = floorZone.getOrDefault(a, 0);
+            int zoneB = floorZone.getOrDefault(b, 0);
+            return zoneA == zoneB
+                || accessZone.getOrDefault(a, -1) == zoneB
+                || accessZone.getOrDefault(b, -1) == zoneA;
+        }
+    }
+}
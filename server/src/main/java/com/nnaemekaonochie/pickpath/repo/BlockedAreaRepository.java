@@ -0,0 +1,7 @@
+package com.nnaemekaonochie.pickpath.repo;
+
+import com.nnaemekaonochie.pickpath.domain.BlockedArea;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BlockedAreaRepository extends JpaRepository<BlockedArea, Long> {
+}
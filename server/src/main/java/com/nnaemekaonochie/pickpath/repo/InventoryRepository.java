@@ -4,12 +4,19 @@ import com.nnaemekaonochie.pickpath.domain.Inventory;
 import com.nnaemekaonochie.pickpath.domain.Item;
 import com.nnaemekaonochie.pickpath.domain.Location;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 
 public interface InventoryRepository extends JpaRepository<Inventory, Long> {
-    List<Inventory> findByItemIn(List<Item> items);
-
     List<Inventory> findByLocation(Location location);
 
     List<Inventory> findByItem(Item item);
+
+    @Query("select i from Inventory i join fetch i.item join fetch i.location order by i.id")
+    List<Inventory> findAllWithItemAndLocation();
+
+    @Query("select i from Inventory i join fetch i.item it join fetch i.location where it.sku in :skus order by i.id")
+    List<Inventory> findBySkuInWithItemAndLocation(@Param("skus") Collection<String> skus);
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.nnaemekaonochie.pickpath.repo;
+
+import com.nnaemekaonochie.pickpath.domain.WarehouseZone;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface WarehouseZoneRepository extends JpaRepository<WarehouseZone, Long> {
+}
@@ -0,0 +1,330 @@
+package com.nnaemekaonochie.pickpath.route;
+
+import com.nnaemekaonochie.pickpath.config.OptimizerProperties;
+import com.nnaemekaonochie.pickpath.domain.*;
+import com.nnaemekaonochie.pickpath.layout.SkuLocationResolver;
+import com.nnaemekaonochie.pickpath.route.algorithm.*;
+import com.nnaemekaonochie.pickpath.route.dto.*;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+@Service
+public class BatchOptimizerService {
+
+    private final SkuLocationResolver locationResolver;
+    private final CostCalculator costCalculator;
+    private final EnhancedRouteOptimizerService routeOptimizer;
+    private final SolverAdmission solverAdmission;
+    private final ExecutorService solverExecutor;
+    private final OptimizerMetrics metrics;
+    private final OptimizerProperties properties;
+
+    public BatchOptimizerService(SkuLocationResolver locationResolver,
+                                 CostCalculator costCalculator,
+                                 EnhancedRouteOptimizerService routeOptimizer,
+                                 SolverAdmission solverAdmission,
+                                 @Qualifier("solverExecutor") ExecutorService solverExecutor,
+                                 OptimizerMetrics metrics,
+                                 OptimizerProperties properties) {
+        this.locationResolver = locationResolver;
+        this.costCalculator = costCalculator;
+        this.routeOptimizer = routeOptimizer;
+        this.solverAdmission = solverAdmission;
+        this.solverExecutor = solverExecutor;
+        this.metrics = metrics;
+        this.properties = properties;
+    }
+
+    /**
+     * Batch a wave of orders into picker trips and route every trip in parallel. The wave is
+     * admitted to the solver pool as one solve.
+     *
+     * @throws IllegalArgumentException when an order has more items than any picker can carry
+     * @throws SolverSaturatedException when the solve queue is full
+     */
+    public BatchOptimizeResponse optimize(BatchOptimizeRequest req) {
+        if (req.orders == null || req.orders.isEmpty()) {
+            throw new IllegalArgumentException("orders are required");
+        }
+        if (req.routeStrategy == null) req.routeStrategy = "enhanced_two_opt";
+        if (req.weights == null) req.weights = new CostWeights();
+
+        List<BatchOptimizeRequest.Picker> pickers = req.pickers == null || req.pickers.isEmpty()
+            ? List.of(new BatchOptimizeRequest.Picker())
+            : req.pickers;
+
+        // Resolve every SKU in the wave up front instead of per order
+        Map<String, Location> skuLocations = resolveSkuLocations(req.orders);
+
+        List<PendingOrder> pending = new ArrayList<>();
+        List<String> unroutedOrders = new ArrayList<>();
+        for (int i = 0; i < req.orders.size(); i++) {
+            BatchOptimizeRequest.Order order = req.orders.get(i);
+            PendingOrder resolved = resolveOrder(order, i, skuLocations);
+            if (resolved == null) {
+                unroutedOrders.add(order.orderId);
+            } else {
+                pending.add(resolved);
+            }
+        }
+
+        int largestCapacity = pickers.stream()
+            .mapToInt(picker -> capacityFor(picker, req.globalConstraints))
+            .max()
+            .orElse(Integer.MAX_VALUE);
+        for (PendingOrder order : pending) {
+            if (order.itemCount() > largestCapacity) {
+                throw new IllegalArgumentException("Order " + order.orderId() + " has " + order.itemCount()
+                    + " items, more than any picker can carry (" + largestCapacity + ")");
+            }
+        }
+
+        // Picker start/end locations are looked up once, not per batch
+        Location[] starts = new Location[pickers.size()];
+        Location[] ends = new Location[pickers.size()];
+        for (int i = 0; i < pickers.size(); i++) {
+            starts[i] = routeOptimizer.getLocationOrDefault(pickers.get(i).startLocation, 0, 0);
+            ends[i] = routeOptimizer.getLocationOrDefault(pickers.get(i).endLocation, starts[i].getX(), starts[i].getY());
+        }
+
+        return solverAdmission.call(() -> routeWave(req, pickers, pending, unroutedOrders, starts, ends));
+    }
+
+    private BatchOptimizeResponse routeWave(BatchOptimizeRequest req, List<BatchOptimizeRequest.Picker> pickers,
+                                            List<PendingOrder> pending, List<String> unroutedOrders,
+                                            Location[] starts, Location[] ends) {
+        List<Batch> batches = buildBatches(pending, pickers, req.globalConstraints);
+
+        SplittableRandom seeds = new SplittableRandom(req.seed != null ? req.seed : properties.getDefaultSeed());
+        List<Callable<BatchOptimizeResponse.PickerAssignment>> tasks = new ArrayList<>();
+        for (Batch batch : batches) {
+            long batchSeed = seeds.nextLong();
+            tasks.add(() -> routeBatch(batch, starts[batch.pickerIndex], ends[batch.pickerIndex], req, batchSeed));
+        }
+
+        List<BatchOptimizeResponse.PickerAssignment> assignments = new ArrayList<>();
+        try {
+            for (Future<BatchOptimizeResponse.PickerAssignment> future : solverExecutor.invokeAll(tasks)) {
+                assignments.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch optimization interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch routing failed", e.getCause());
+        }
+
+        return createBatchResponse(assignments, batches, unroutedOrders);
+    }
+
+    private Map<String, Location> resolveSkuLocations(List<BatchOptimizeRequest.Order> orders) {
+        Set<String> skus = orders.stream()
+            .filter(order -> order.skus != null)
+            .flatMap(order -> order.skus.stream())
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        return locationResolver.resolve(skus);
+    }
+
+    private PendingOrder resolveOrder(BatchOptimizeRequest.Order order, int index, Map<String, Location> skuLocations) {
+        if (order.skus == null) return null;
+
+        List<String> skus = new ArrayList<>();
+        List<Location> locations = new ArrayList<>();
+        for (String sku : order.skus) {
+            Location location = skuLocations.get(sku);
+            if (location != null) {
+                skus.add(sku);
+                locations.add(location);
+            }
+        }
+        if (locations.isEmpty()) return null;
+
+        int priority = order.priority != null ? order.priority : 3;
+        return new PendingOrder(order.orderId, priority, index, skus, locations);
+    }
+
+    /**
+     * Seed-and-grow batching: open a batch with the most urgent unassigned order, then keep
+     * adding the unassigned order whose pick centroid is closest to the batch centroid while
+     * it still fits the picker's capacity. Batches are dealt to pickers in turn, skipping
+     * pickers too small for the seed order; every order fits at least one picker.
+     */
+    private List<Batch> buildBatches(List<PendingOrder> pending, List<BatchOptimizeRequest.Picker> pickers,
+                                     RouteConstraints globalConstraints) {
+        List<PendingOrder> orders = new ArrayList<>(pending);
+        orders.sort(Comparator.comparingInt(PendingOrder::priority)
+            .thenComparing(Comparator.comparingInt(PendingOrder::itemCount).reversed())
+            .thenComparingInt(PendingOrder::index));
+
+        boolean[] assigned = new boolean[orders.size()];
+        int remaining = orders.size();
+        int nextSeed = 0;
+        List<Batch> batches = new ArrayList<>();
+
+        while (remaining > 0) {
+            while (assigned[nextSeed]) nextSeed++;
+
+            int pickerIndex = batches.size() % pickers.size();
+            while (capacityFor(pickers.get(pickerIndex), globalConstraints) < orders.get(nextSeed).itemCount()) {
+                pickerIndex = (pickerIndex + 1) % pickers.size();
+            }
+            Batch batch = new Batch(pickerIndex, capacityFor(pickers.get(pickerIndex), globalConstraints));
+            batch.add(orders.get(nextSeed));
+            assigned[nextSeed] = true;
+            remaining--;
+
+            while (remaining > 0) {
+                int nearest = -1;
+                double nearestDistance = Double.MAX_VALUE;
+                for (int i = nextSeed + 1; i < orders.size(); i++) {
+                    if (assigned[i] || !batch.fits(orders.get(i))) continue;
+                    double distance = batch.distanceTo(orders.get(i));
+                    if (distance < nearestDistance) {
+                        nearestDistance = distance;
+                        nearest = i;
+                    }
+                }
+                if (nearest < 0) break;
+
+                batch.add(orders.get(nearest));
+                assigned[nearest] = true;
+                remaining--;
+            }
+
+            batches.add(batch);
+        }
+
+        return batches;
+    }
+
+    private int capacityFor(BatchOptimizeRequest.Picker picker, RouteConstraints globalConstraints) {
+        if (picker.capacity != null) return picker.capacity;
+        if (globalConstraints != null && globalConstraints.getMaxCapacity() != null) {
+            return globalConstraints.getMaxCapacity();
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private BatchOptimizeResponse.PickerAssignment routeBatch(Batch batch, Location start, Location end,
+                                                              BatchOptimizeRequest req, long seed) {
+        // Orders in a batch may share slots; visit each location once and label it with every SKU picked there
+        Map<String, Location> picks = new LinkedHashMap<>();
+        Map<String, Set<String>> locationSkus = new HashMap<>();
+        for (PendingOrder order : batch.orders) {
+            for (int i = 0; i < order.locations().size(); i++) {
+                Location location = order.locations().get(i);
+                picks.putIfAbsent(location.getLocationCode(), location);
+                locationSkus.computeIfAbsent(location.getLocationCode(), code -> new LinkedHashSet<>())
+                    .add(order.skus().get(i));
+            }
+        }
+        Map<String, String> locationToSku = new HashMap<>();
+        locationSkus.forEach((code, skus) -> locationToSku.put(code, String.join(",", skus)));
+
+        OptimizationTrace trace = new OptimizationTrace();
+        CostMatrix matrix = costCalculator.buildMatrix(
+            start, new ArrayList<>(picks.values()), end, req.weights, req.globalConstraints);
+        trace.lap(OptimizationTrace.MATRIX);
+        int[] tour = routeOptimizer.generateOptimizedRoute(
+            matrix, req.routeStrategy, req.globalConstraints, seed, req.timeBudgetMs, trace);
+        EnhancedRouteOptimizerService.DescribedRoute described =
+            routeOptimizer.describeRoute(matrix, tour, locationToSku, req.weights, false);
+
+        BatchOptimizeResponse.PickerAssignment assignment = new BatchOptimizeResponse.PickerAssignment();
+        BatchOptimizeRequest.Picker picker = req.pickers == null || req.pickers.isEmpty()
+            ? null
+            : req.pickers.get(batch.pickerIndex);
+        assignment.pickerId = picker != null ? picker.pickerId : null;
+        assignment.orders = batch.orders.stream().map(PendingOrder::orderId).collect(Collectors.toList());
+        assignment.route = described.orderedStops();
+        assignment.metrics = described.metrics();
+        trace.lap(OptimizationTrace.RESPONSE);
+        assignment.converged = trace.search().converged();
+        assignment.telemetry = trace.toTelemetry();
+        metrics.record(trace);
+        return assignment;
+    }
+
+    private BatchOptimizeResponse createBatchResponse(List<BatchOptimizeResponse.PickerAssignment> assignments,
+                                                      List<Batch> batches, List<String> unroutedOrders) {
+        BatchOptimizeResponse response = new BatchOptimizeResponse();
+        response.assignments = assignments;
+        response.unroutedOrders = unroutedOrders;
+
+        for (BatchOptimizeResponse.PickerAssignment assignment : assignments) {
+            response.totalDistance += assignment.metrics.getTotalDistance();
+            response.totalTime += assignment.metrics.getTotalTime();
+        }
+
+        BatchOptimizeResponse.UtilizationMetrics utilization = new BatchOptimizeResponse.UtilizationMetrics();
+        utilization.batchCount = batches.size();
+        double utilizationSum = 0.0;
+        int boundedBatches = 0;
+        for (Batch batch : batches) {
+            utilization.orderCount += batch.orders.size();
+            utilization.itemCount += batch.items;
+            if (batch.capacity != Integer.MAX_VALUE && batch.capacity > 0) {
+                utilizationSum += (double) batch.items / batch.capacity;
+                boundedBatches++;
+            }
+        }
+        utilization.averageItemsPerBatch = batches.isEmpty() ? 0.0 : (double) utilization.itemCount / batches.size();
+        utilization.averageCapacityUtilization = boundedBatches > 0 ? utilizationSum / boundedBatches : null;
+        response.utilizationMetrics = utilization;
+
+        return response;
+    }
+
+    /**
+     * An order whose SKUs resolved to pick locations
+     */
+    private record PendingOrder(String orderId, int priority, int index, List<String> skus, List<Location> locations) {
+        int itemCount() { return locations.size(); }
+    }
+
+    /**
+     * Orders grouped for one picker trip, with a running pick centroid
+     */
+    private static final class Batch {
+        final int pickerIndex;
+        final int capacity;
+        final List<PendingOrder> orders = new ArrayList<>();
+        int items;
+        long sumX;
+        long sumY;
+
+        Batch(int pickerIndex, int capacity) {
+            this.pickerIndex = pickerIndex;
+            this.capacity = capacity;
+        }
+
+        boolean fits(PendingOrder order) {
+            return (long) items + order.itemCount() <= capacity;
+        }
+
+        void add(PendingOrder order) {
+            orders.add(order);
+            items += order.itemCount();
+            for (Location location : order.locations()) {
+                sumX += location.getX();
+                sumY += location.getY();
+            }
+        }
+
+        double distanceTo(PendingOrder order) {
+            double orderX = 0.0;
+            double orderY = 0.0;
+            for (Location location : order.locations()) {
+                orderX += location.getX();
+                orderY += location.getY();
+            }
+            orderX /= order.itemCount();
+            orderY /= order.itemCount();
+            return Math.abs(orderX - (double) sumX / items) + Math.abs(orderY - (double) sumY / items);
+        }
+    }
+}
@@ -1,39 +1,71 @@
 package com.nnaemekaonochie.pickpath.route;
 
+import com.nnaemekaonochie.pickpath.config.OptimizerProperties;
 import com.nnaemekaonochie.pickpath.domain.*;
-import com.nnaemekaonochie.pickpath.repo.*;
+import com.nnaemekaonochie.pickpath.layout.SkuLocationResolver;
 import com.nnaemekaonochie.pickpath.route.algorithm.*;
 import com.nnaemekaonochie.pickpath.route.dto.*;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.stream.Collectors;
 
 @Service
 public class EnhancedRouteOptimizerService {
 
-    private final ItemRepository itemRepo;
-    private final InventoryRepository invRepo;
-    private final LocationRepository locRepo;
+    // Shared by every detailed stop; never modified
+    private static final List<String> PICK_ACTIONS = List.of("pick", "scan");
+    private static final List<String> TRAVERSE_ACTIONS = List.of("traverse");
+
+    private final SkuLocationResolver locationResolver;
     private final CostCalculator costCalculator;
     private final NearestNeighborStrategy nearestNeighborStrategy;
     private final EnhancedTwoOptStrategy enhancedTwoOptStrategy;
     private final OrOptStrategy orOptStrategy;
+    private final LinKernighanStrategy linKernighanStrategy;
+    private final HybridStrategy hybridStrategy;
+    private final AisleRoutingStrategy aisleRoutingStrategy;
+    private final SavingsStrategy savingsStrategy;
+    private final GraspStrategy graspStrategy;
+    private final OptimizerMetrics metrics;
+    private final RouteCache routeCache;
+    private final SolverAdmission solverAdmission;
+    private final ExecutorService solverExecutor;
+    private final OptimizerProperties properties;
 
-    public EnhancedRouteOptimizerService(ItemRepository itemRepo, 
-                                       InventoryRepository invRepo, 
-                                       LocationRepository locRepo,
+    public EnhancedRouteOptimizerService(SkuLocationResolver locationResolver,
                                        CostCalculator costCalculator,
                                        NearestNeighborStrategy nearestNeighborStrategy,
                                        EnhancedTwoOptStrategy enhancedTwoOptStrategy,
-                                       OrOptStrategy orOptStrategy) {
-        this.itemRepo = itemRepo;
-        this.invRepo = invRepo;
-        this.locRepo = locRepo;
+                                       OrOptStrategy orOptStrategy,
+                                       LinKernighanStrategy linKernighanStrategy,
+                                       HybridStrategy hybridStrategy,
+                                       AisleRoutingStrategy aisleRoutingStrategy,
+                                       SavingsStrategy savingsStrategy,
+                                       GraspStrategy graspStrategy,
+                                       OptimizerMetrics metrics,
+                                       RouteCache routeCache,
+                                       SolverAdmission solverAdmission,
+                                       @Qualifier("solverExecutor") ExecutorService solverExecutor,
+                                       OptimizerProperties properties) {
+        this.locationResolver = locationResolver;
         this.costCalculator = costCalculator;
         this.nearestNeighborStrategy = nearestNeighborStrategy;
         this.enhancedTwoOptStrategy = enhancedTwoOptStrategy;
         this.orOptStrategy = orOptStrategy;
+        this.linKernighanStrategy = linKernighanStrategy;
+        this.hybridStrategy = hybridStrategy;
+        this.aisleRoutingStrategy = aisleRoutingStrategy;
+        this.savingsStrategy = savingsStrategy;
+        this.graspStrategy = graspStrategy;
+        this.metrics = metrics;
+        this.routeCache = routeCache;
+        this.solverAdmission = solverAdmission;
+        this.solverExecutor = solverExecutor;
+        this.properties = properties;
     }
 
     /**
@@ -43,107 +75,501 @@ public class EnhancedRouteOptimizerService {
         // Set defaults
         if (req.strategy == null) req.strategy = "enhanced_two_opt";
         if (req.weights == null) req.weights = new CostWeights();
+        RouteDetail detail = RouteDetail.of(req.detail);
+        OptimizationTrace trace = new OptimizationTrace();
+
+        // Repeated orders are served from the cache without resolving or solving
+        RouteCache.Key cacheKey = routeCache.key(req);
+        OptimizeResponse cached = routeCache.get(cacheKey);
+        if (cached != null) {
+            trace.lap(OptimizationTrace.CACHE);
+            // Cached responses carry the normalized name of the strategy that ran
+            trace.setStrategy(cached.strategy);
+            cached.telemetry = trace.toTelemetry();
+            metrics.record(trace);
+            return cached;
+        }
         
         // Get start and end locations
         Location start = getLocationOrDefault(req.startLocationCode, 0, 0);
         Location end = getLocationOrDefault(req.endLocationCode, start.getX(), start.getY());
 
-        // Get items and their locations
-        List<Item> items = getItemsFromSkus(req.skus);
-        List<Location> pickLocations = getPickLocationsFromItems(items);
+        // Resolve each SKU to its candidate slots; this is the only blocking work of a request
+        Map<String, List<Location>> slots = resolveSlots(req);
+        trace.lap(OptimizationTrace.RESOLVE);
         
-        if (pickLocations.isEmpty()) {
-            return createEmptyResponse(req.strategy);
+        if (slots.isEmpty()) {
+            return createEmptyResponse(req.strategy, detail);
+        }
+
+        // The CPU-bound solve waits its turn on the solver pool
+        OptimizeResponse response = solverAdmission.call(() -> {
+            trace.lap(OptimizationTrace.QUEUE);
+            return solve(req, start, end, slots, detail, trace);
+        });
+        trace.lap(OptimizationTrace.RESPONSE);
+        routeCache.put(cacheKey, response);
+        response.telemetry = trace.toTelemetry();
+        metrics.record(trace);
+        return response;
+    }
+
+    /**
+     * Stream improving routes for one order. The nearest neighbor route is sent first, then
+     * 2-opt and Or-opt run in slices of the stream interval and every slice that ends on a
+     * strictly cheaper route sends it. The stream completes when a slice finds nothing and
+     * both searches converged, or at the time budget; cancelling stops the search within a
+     * poll. SKUs are resolved on the caller's thread and the search is admitted like
+     * optimize. The whole order is one route; maxCapacity does not split a stream into trips.
+     *
+     * @param cancellation cancellable deadline, cancelled when the client goes away
+     * @throws SolverSaturatedException when the solve queue is full
+     */
+    public void optimizeStreaming(OptimizeRequest req, Deadline cancellation, RouteStreamListener listener) {
+        if (req.weights == null) req.weights = new CostWeights();
+        RouteDetail detail = RouteDetail.of(req.detail);
+        OptimizationTrace trace = new OptimizationTrace();
+        trace.setStrategy(OptimizationTrace.STREAM);
+
+        Location start = getLocationOrDefault(req.startLocationCode, 0, 0);
+        Location end = getLocationOrDefault(req.endLocationCode, start.getX(), start.getY());
+        Map<String, List<Location>> slots = resolveSlots(req);
+        trace.lap(OptimizationTrace.RESOLVE);
+
+        solverAdmission.submit(() -> {
+            trace.lap(OptimizationTrace.QUEUE);
+            try {
+                streamRoutes(req, start, end, slots, detail, cancellation, listener, trace);
+            } catch (IOException e) {
+                // The client left; nothing more to send
+                cancellation.cancel();
+            } catch (RuntimeException e) {
+                listener.onError(e);
+            } finally {
+                metrics.record(trace);
+            }
+            return null;
+        });
+    }
+
+    private void streamRoutes(OptimizeRequest req, Location start, Location end, Map<String, List<Location>> slots,
+                              RouteDetail detail, Deadline cancellation, RouteStreamListener listener,
+                              OptimizationTrace trace) throws IOException {
+        if (slots.isEmpty()) {
+            OptimizeResponse empty = createEmptyResponse(OptimizationTrace.STREAM, detail);
+            trace.lap(OptimizationTrace.RESPONSE);
+            empty.telemetry = trace.toTelemetry();
+            listener.onComplete(empty);
+            return;
+        }
+
+        Map<String, Location> skuLocations = chooseSlots(req, start, end, slots, trace);
+        Map<String, String> locationToSku = createLocationToSkuMap(skuLocations);
+        CostMatrix matrix = costCalculator.buildMatrix(start, getPickLocations(req.skus, skuLocations), end,
+                                                       req.weights, req.constraints);
+        trace.lap(OptimizationTrace.MATRIX);
+
+        int[] tour = nearestNeighborStrategy.generateTour(matrix, req.constraints);
+        double cost = matrix.tourCost(tour);
+        trace.lap(OptimizationTrace.CONSTRUCTION);
+        listener.onRoute(streamedRoute(matrix, tour, locationToSku, req, detail, false));
+        trace.lap(OptimizationTrace.RESPONSE);
+
+        Deadline budget = Deadline.afterMillis(req.timeBudgetMs != null ? req.timeBudgetMs : properties.getSearchTimeBudgetMs());
+        boolean converged = false;
+        while (!budget.expired() && !cancellation.expired()) {
+            // A slice cut short is not a truncated run, so each slice counts into its own stats
+            Deadline slice = cancellation.slice(Math.min(properties.getStreamIntervalMs(), budget.remainingMillis()));
+            SearchStats sliceStats = new SearchStats();
+            TwoOptEngine.improve(matrix, tour, slice, sliceStats);
+            OrOptEngine.improve(matrix, tour, slice, sliceStats);
+            trace.search().addMoves(sliceStats);
+            boolean finished = sliceStats.converged();
+            double next = matrix.tourCost(tour);
+            trace.lap(OptimizationTrace.STREAM);
+
+            if (next < cost) {
+                cost = next;
+                listener.onRoute(streamedRoute(matrix, tour, locationToSku, req, detail, false));
+                trace.lap(OptimizationTrace.RESPONSE);
+            } else if (finished) {
+                converged = true;
+                break;
+            } else {
+                listener.onIdle();
+            }
+        }
+        if (cancellation.cancelled()) return;
+        if (!converged) trace.search().truncate();
+
+        OptimizeResponse best = streamedRoute(matrix, tour, locationToSku, req, detail, converged);
+        trace.lap(OptimizationTrace.RESPONSE);
+        best.telemetry = trace.toTelemetry();
+        listener.onComplete(best);
+    }
+
+    private OptimizeResponse streamedRoute(CostMatrix matrix, int[] tour, Map<String, String> locationToSku,
+                                           OptimizeRequest req, RouteDetail detail, boolean converged) {
+        OptimizeResponse response = createEnhancedResponse(matrix, tour, locationToSku, OptimizationTrace.STREAM,
+                                                           req.weights, req.constraints, detail);
+        response.converged = converged;
+        return response;
+    }
+
+    /**
+     * Choose the slots, build the matrix and route the order, split into trips when it
+     * exceeds the cart capacity
+     */
+    private OptimizeResponse solve(OptimizeRequest req, Location start, Location end,
+                                   Map<String, List<Location>> slots, RouteDetail detail, OptimizationTrace trace) {
+        Map<String, Location> skuLocations = chooseSlots(req, start, end, slots, trace);
+        List<Location> pickLocations = getPickLocations(req.skus, skuLocations);
+
+        // Build the cost matrix once and share it across every strategy
+        CostMatrix matrix = costCalculator.buildMatrix(start, pickLocations, end, req.weights, req.constraints);
+        trace.lap(OptimizationTrace.MATRIX);
+        long seed = req.seed != null ? req.seed : properties.getDefaultSeed();
+
+        // Orders heavier than one cart load go out as several trips
+        Integer capacity = req.constraints != null ? req.constraints.getMaxCapacity() : null;
+        int[] loads = pickLoads(req, skuLocations, matrix);
+        OptimizeResponse response;
+        if (capacity != null && Arrays.stream(loads).asLongStream().sum() > capacity) {
+            response = optimizeTrips(req, matrix, loads, capacity, createLocationToSkuMap(skuLocations), seed,
+                                     detail, trace);
+        } else {
+            // Generate optimized route
+            int[] tour = generateOptimizedRoute(matrix, req.strategy, req.constraints, seed, req.timeBudgetMs, trace);
+
+            // Report what ran: the exact solver for small orders, and any fallback
+            response = createEnhancedResponse(matrix, tour, createLocationToSkuMap(skuLocations),
+                                              trace.strategy(), req.weights, req.constraints, detail);
+            response.converged = trace.search().converged();
+        }
+        return response;
+    }
+
+    /**
+     * Candidate slots of every SKU: every stocked one in multi-slot mode, otherwise the first
+     */
+    private Map<String, List<Location>> resolveSlots(OptimizeRequest req) {
+        boolean multiSlot = req.multiSlot != null ? req.multiSlot : properties.isMultiSlotEnabled();
+        if (multiSlot) return locationResolver.resolveSlots(req.skus);
+
+        Map<String, List<Location>> slots = new LinkedHashMap<>();
+        locationResolver.resolve(req.skus).forEach((sku, location) -> slots.put(sku, List.of(location)));
+        return slots;
+    }
+
+    /**
+     * Slot of every SKU: the only candidate, or the slots that make the shortest route
+     * together when some SKU is stocked in more than one
+     */
+    private Map<String, Location> chooseSlots(OptimizeRequest req, Location start, Location end,
+                                              Map<String, List<Location>> slots, OptimizationTrace trace) {
+        Map<String, Location> chosen = new LinkedHashMap<>();
+        if (slots.values().stream().allMatch(candidates -> candidates.size() == 1)) {
+            slots.forEach((sku, candidates) -> chosen.put(sku, candidates.get(0)));
+            return chosen;
         }
 
-        // Generate optimized route
-        List<Location> optimizedRoute = generateOptimizedRoute(
-            start, pickLocations, end, req.strategy, req.weights, req.constraints);
+        // Every candidate slot becomes a node; the nodes of one SKU form its cluster
+        List<String> skus = new ArrayList<>(slots.keySet());
+        List<Location> candidates = new ArrayList<>();
+        int[][] clusters = new int[skus.size()][];
+        for (int c = 0; c < clusters.length; c++) {
+            List<Location> skuSlots = slots.get(skus.get(c));
+            clusters[c] = new int[skuSlots.size()];
+            for (int s = 0; s < skuSlots.size(); s++) {
+                candidates.add(skuSlots.get(s));
+                clusters[c][s] = candidates.size();
+            }
+        }
+        CostMatrix matrix = costCalculator.buildMatrix(start, candidates, end, req.weights, req.constraints);
+
+        long budget = req.timeBudgetMs != null ? req.timeBudgetMs : properties.getSearchTimeBudgetMs();
+        int[] picked = SlotSelector.choose(matrix, clusters, Deadline.afterMillis(budget), trace.search());
+        for (int c = 0; c < clusters.length; c++) {
+            chosen.put(skus.get(c), matrix.location(picked[c]));
+        }
+        trace.lap(OptimizationTrace.SLOTS);
+        return chosen;
+    }
+
+    /**
+     * Split the order into capacity-feasible trips by sweep and route every trip in parallel
+     * with the requested strategy. The top-level stops chain the trips in order. Trips
+     * carry no per-stop details, so full detail returns them like legacy. Each trip's
+     * phases and moves are merged into the request trace.
+     */
+    private OptimizeResponse optimizeTrips(OptimizeRequest req, CostMatrix matrix, int[] loads, int capacity,
+                                           Map<String, String> locationToSku, long seed, RouteDetail detail,
+                                           OptimizationTrace trace) {
+        List<int[]> trips = SweepSplit.split(matrix, loads, capacity);
+        trace.lap(OptimizationTrace.SPLIT);
 
-        // Create enhanced response
-        return createEnhancedResponse(optimizedRoute, items, req.strategy, req.weights, req.constraints);
+        SplittableRandom seeds = new SplittableRandom(seed);
+        List<Callable<RoutedTrip>> tasks = new ArrayList<>();
+        for (int[] picks : trips) {
+            long tripSeed = seeds.nextLong();
+            tasks.add(() -> routeTrip(req, matrix, picks, loads, locationToSku, tripSeed, detail));
+        }
+
+        OptimizeResponse response = new OptimizeResponse();
+        response.trips = new ArrayList<>();
+        if (detail == RouteDetail.IDS) {
+            response.stopIds = new ArrayList<>();
+        } else {
+            response.orderedStops = new ArrayList<>();
+        }
+        String strategy = null;
+        try {
+            for (Future<RoutedTrip> future : solverExecutor.invokeAll(tasks)) {
+                RoutedTrip routed = future.get();
+                OptimizeResponse.Trip trip = routed.trip();
+                // Small trips are solved exactly; the trips' search names the run unless every one was
+                String tripStrategy = routed.trace().strategy();
+                if (strategy == null || (OptimizationTrace.EXACT.equals(strategy) && !OptimizationTrace.EXACT.equals(tripStrategy))) {
+                    strategy = tripStrategy;
+                }
+                // Trip phases and moves count toward the request, so metrics see the whole run
+                trace.merge(routed.trace());
+                response.trips.add(trip);
+                if (detail == RouteDetail.IDS) {
+                    response.stopIds.addAll(trip.stopIds);
+                } else {
+                    response.orderedStops.addAll(trip.orderedStops);
+                }
+                response.totalDistance += trip.totalDistance;
+                response.converged &= trip.converged;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Trip optimization interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Trip routing failed", e.getCause());
+        }
+        trace.lap(OptimizationTrace.TRIPS);
+        trace.setStrategy(strategy);
+        response.strategy = strategy;
+        return response;
     }
 
     /**
-     * Generate optimized route based on strategy
+     * A routed trip with the trace of its own solve
      */
-    private List<Location> generateOptimizedRoute(Location start, List<Location> pickLocations, 
-                                                 Location end, String strategy, 
-                                                 CostWeights weights, RouteConstraints constraints) {
+    private record RoutedTrip(OptimizeResponse.Trip trip, OptimizationTrace trace) {}
+
+    private RoutedTrip routeTrip(OptimizeRequest req, CostMatrix matrix, int[] picks, int[] loads,
+                                            Map<String, String> locationToSku, long seed, RouteDetail detail) {
+        OptimizationTrace trace = new OptimizationTrace();
+        CostMatrix tripMatrix = matrix.subMatrix(picks);
+        trace.lap(OptimizationTrace.MATRIX);
+        int[] tour = generateOptimizedRoute(tripMatrix, req.strategy, req.constraints, seed, req.timeBudgetMs, trace);
+
+        OptimizeResponse.Trip trip = new OptimizeResponse.Trip();
+        if (detail == RouteDetail.IDS) {
+            trip.stopIds = stopIds(tripMatrix, tour);
+            trip.totalDistance = walkingDistance(tripMatrix, tour);
+        } else {
+            DescribedRoute described = describeRoute(tripMatrix, tour, locationToSku, req.weights, false);
+            trip.orderedStops = described.orderedStops();
+            trip.totalDistance = described.metrics().getTotalDistance();
+        }
+        for (int node : picks) {
+            trip.load += loads[node];
+        }
+        trip.converged = trace.search().converged();
+        trace.lap(OptimizationTrace.RESPONSE);
+        trip.telemetry = trace.toTelemetry();
+        return new RoutedTrip(trip, trace);
+    }
+
+    /**
+     * Load of every matrix node: the requested quantity of the SKU picked there, one by default
+     */
+    private int[] pickLoads(OptimizeRequest req, Map<String, Location> skuLocations, CostMatrix matrix) {
+        int[] loads = new int[matrix.size()];
+        int node = matrix.firstPick();
+        for (String sku : req.skus) {
+            if (!skuLocations.containsKey(sku)) continue;
+            Integer quantity = req.quantities != null ? req.quantities.get(sku) : null;
+            loads[node++] = quantity != null ? Math.max(0, quantity) : 1;
+        }
+        return loads;
+    }
+
+    /**
+     * Generate optimized route based on strategy, timing each phase into the trace. Searches
+     * stop at the time budget (the strategy's server default when null) with their best route so far.
+     * Orders small enough for the exact solver get the optimal route whatever search was requested.
+     */
+    int[] generateOptimizedRoute(CostMatrix matrix, String strategy, 
+                                         RouteConstraints constraints, long seed, Long timeBudgetMs,
+                                         OptimizationTrace trace) {
+        
+        String name = strategy.toLowerCase();
+        SearchStats stats = trace.search();
+        Deadline deadline = Deadline.afterMillis(timeBudgetMs != null ? timeBudgetMs : defaultTimeBudgetMs(name));
+        int[] tour;
+        
+        if (solvesExactly(matrix, name)) {
+            tour = HeldKarpSolver.solve(matrix);
+            trace.lap(OptimizationTrace.EXACT);
+            trace.setStrategy(OptimizationTrace.EXACT);
+            return tour;
+        }
         
-        List<Location> route;
+        // The exact solver records its optimum as the bound; every other strategy needs it computed
+        matrix.lowerBound();
+        trace.lap(OptimizationTrace.LOWER_BOUND);
         
-        switch (strategy.toLowerCase()) {
+        switch (name) {
             case "nearest_neighbor":
-                route = nearestNeighborStrategy.generateRoute(start, pickLocations, end, weights, constraints);
+                tour = nearestNeighborStrategy.generateTour(matrix, constraints);
+                trace.lap(OptimizationTrace.CONSTRUCTION);
                 break;
                 
             case "enhanced_two_opt":
                 // Start with nearest neighbor, then improve with 2-opt
-                route = nearestNeighborStrategy.generateRoute(start, pickLocations, end, weights, constraints);
-                route = enhancedTwoOptStrategy.improveRoute(route, weights, constraints);
+                tour = nearestNeighborStrategy.generateTour(matrix, constraints);
+                trace.lap(OptimizationTrace.CONSTRUCTION);
+                tour = enhancedTwoOptStrategy.improveTour(matrix, tour, deadline, stats);
+                trace.lap(OptimizationTrace.TWO_OPT);
                 break;
                 
             case "or_opt":
                 // Start with nearest neighbor, then improve with or-opt
-                route = nearestNeighborStrategy.generateRoute(start, pickLocations, end, weights, constraints);
-                route = orOptStrategy.improveRoute(route, weights, constraints);
+                tour = nearestNeighborStrategy.generateTour(matrix, constraints);
+                trace.lap(OptimizationTrace.CONSTRUCTION);
+                tour = orOptStrategy.improveTour(matrix, tour, deadline, stats);
+                trace.lap(OptimizationTrace.OR_OPT);
+                break;
+                
+            case "lk":
+                // Start with nearest neighbor, then run time-boxed chained Lin-Kernighan
+                tour = nearestNeighborStrategy.generateTour(matrix, constraints);
+                trace.lap(OptimizationTrace.CONSTRUCTION);
+                tour = linKernighanStrategy.improveTour(matrix, tour, deadline, seed, stats);
+                trace.lap(OptimizationTrace.LIN_KERNIGHAN);
                 break;
                 
             case "hybrid":
-                // Use multiple strategies and pick the best
-                route = optimizeWithMultipleStrategies(start, pickLocations, end, weights, constraints);
+                // Run the strategies and randomized restarts in parallel from one shared seed tour
+                tour = nearestNeighborStrategy.generateTour(matrix, constraints);
+                trace.lap(OptimizationTrace.CONSTRUCTION);
+                tour = hybridStrategy.optimize(matrix, tour, deadline, seed, stats);
+                trace.lap(OptimizationTrace.HYBRID);
+                break;
+                
+            case "savings":
+                // Clarke-Wright savings construction, then 2-opt and or-opt
+                tour = savingsStrategy.generateTour(matrix);
+                trace.lap(OptimizationTrace.CONSTRUCTION);
+                tour = enhancedTwoOptStrategy.improveTour(matrix, tour, deadline, stats);
+                trace.lap(OptimizationTrace.TWO_OPT);
+                tour = orOptStrategy.improveTour(matrix, tour, deadline, stats);
+                trace.lap(OptimizationTrace.OR_OPT);
+                break;
+                
+            case "grasp":
+                // Parallel randomized greedy constructions, each refined by 2-opt and or-opt
+                tour = nearestNeighborStrategy.generateTour(matrix, constraints);
+                trace.lap(OptimizationTrace.CONSTRUCTION);
+                tour = graspStrategy.optimize(matrix, tour, deadline, seed, stats);
+                trace.lap(OptimizationTrace.GRASP);
+                break;
+                
+            case "s_shape":
+            case "largest_gap":
+            case "ratliff_rosenthal":
+                tour = aisleRoutingStrategy.generateTour(matrix, AisleRoutingStrategy.Policy.valueOf(name.toUpperCase()));
+                trace.lap(OptimizationTrace.AISLE_ROUTING);
+                if (tour != null) break;
+                // Orders outside a single block of rack aisles fall back to nearest neighbor improved by 2-opt
+                name = "enhanced_two_opt";
+                tour = nearestNeighborStrategy.generateTour(matrix, constraints);
+                trace.lap(OptimizationTrace.CONSTRUCTION);
+                tour = enhancedTwoOptStrategy.improveTour(matrix, tour, deadline, stats);
+                trace.lap(OptimizationTrace.TWO_OPT);
                 break;
                 
             default:
-                route = nearestNeighborStrategy.generateRoute(start, pickLocations, end, weights, constraints);
+                name = "nearest_neighbor";
+                tour = nearestNeighborStrategy.generateTour(matrix, constraints);
+                trace.lap(OptimizationTrace.CONSTRUCTION);
         }
         
-        return route;
+        trace.setStrategy(name);
+        return tour;
     }
 
     /**
-     * Try multiple strategies and return the best result
+     * Whether the order is at or below the exact solver's stop limit. Aisle policies keep
+     * their fixed traversal pattern, which is the point of choosing them.
      */
-    private List<Location> optimizeWithMultipleStrategies(Location start, List<Location> pickLocations, 
-                                                         Location end, CostWeights weights, 
-                                                         RouteConstraints constraints) {
-        
-        List<Location> bestRoute = null;
-        double bestCost = Double.MAX_VALUE;
-        
-        // Try different strategies
-        String[] strategies = {"nearest_neighbor", "enhanced_two_opt", "or_opt"};
+    private boolean solvesExactly(CostMatrix matrix, String strategy) {
+        int limit = Math.min(properties.getExactMaxStops(), HeldKarpSolver.MAX_PICKS);
+        if (matrix.pickCount() > limit) return false;
+        return switch (strategy) {
+            case "s_shape", "largest_gap", "ratliff_rosenthal" -> false;
+            default -> true;
+        };
+    }
+
+    /**
+     * Server default time budget for a strategy; LK has its own, grasp shares hybrid's
+     */
+    private long defaultTimeBudgetMs(String strategy) {
+        return switch (strategy) {
+            case "lk" -> properties.getLkTimeBudgetMs();
+            case "hybrid", "grasp" -> properties.getHybridTimeBudgetMs();
+            default -> properties.getSearchTimeBudgetMs();
+        };
+    }
+
+    /**
+     * Create the response at the requested detail. Ids skip the walk over stop details and
+     * only sum the leg distances.
+     */
+    private OptimizeResponse createEnhancedResponse(CostMatrix matrix, int[] tour, Map<String, String> locationToSku,
+                                                   String strategy, CostWeights weights, 
+                                                   RouteConstraints constraints, RouteDetail detail) {
         
-        for (String strategy : strategies) {
-            List<Location> route = generateOptimizedRoute(start, pickLocations, end, strategy, weights, constraints);
-            double cost = calculateRouteCost(route, weights, constraints);
-            
-            if (cost < bestCost) {
-                bestCost = cost;
-                bestRoute = route;
-            }
+        OptimizeResponse response = new OptimizeResponse();
+        response.strategy = strategy;
+        if (detail == RouteDetail.IDS) {
+            response.stopIds = stopIds(matrix, tour);
+            response.totalDistance = walkingDistance(matrix, tour);
+            return response;
         }
         
-        return bestRoute != null ? bestRoute : nearestNeighborStrategy.generateRoute(start, pickLocations, end, weights, constraints);
+        DescribedRoute described = describeRoute(matrix, tour, locationToSku, weights, detail == RouteDetail.FULL);
+        response.orderedStops = described.orderedStops();
+        response.totalDistance = described.metrics().getTotalDistance();
+        if (detail == RouteDetail.FULL) {
+            response.stops = described.stops();
+            response.metrics = described.metrics();
+        }
+        return response;
     }
 
     /**
-     * Create enhanced response with detailed metrics
+     * Walk the route and compute its stops and route metrics. Efficiency is measured in matrix
+     * cost against the matrix's lower bound. The per-stop details are only built when asked for.
      */
-    private OptimizeResponse createEnhancedResponse(List<Location> route, List<Item> items, 
-                                                   String strategy, CostWeights weights, 
-                                                   RouteConstraints constraints) {
+    DescribedRoute describeRoute(CostMatrix matrix, int[] tour, Map<String, String> locationToSku,
+                                 CostWeights weights, boolean withDetails) {
         
-        List<EnhancedRouteStop> stops = new ArrayList<>();
+        List<Location> route = matrix.toRoute(tour);
+        List<OptimizeResponse.Stop> orderedStops = new ArrayList<>(route.size());
+        List<EnhancedRouteStop> stops = withDetails ? new ArrayList<>(route.size()) : null;
         double cumulativeDistance = 0.0;
         double cumulativeTime = 0.0;
         int totalTurns = 0;
         int totalAisleCrossings = 0;
         int totalZoneTransitions = 0;
         
-        Map<String, String> locationToSku = createLocationToSkuMap(items);
-        
         for (int i = 0; i < route.size(); i++) {
             Location location = route.get(i);
             String sku = locationToSku.get(location.getLocationCode());
@@ -152,13 +578,11 @@ public class EnhancedRouteOptimizerService {
             double legTime = 0.0;
             int aisleCrossings = 0;
             int turns = 0;
-            List<String> zoneTransitions = new ArrayList<>();
+            List<String> zoneTransitions = List.of();
             
             if (i > 0) {
                 Location prevLocation = route.get(i - 1);
-                legDistance = costCalculator.manhattanDistance(
-                    prevLocation.getX(), prevLocation.getY(),
-                    location.getX(), location.getY());
+                legDistance = costCalculator.walkingDistance(prevLocation, location);
                 
                 legTime = costCalculator.estimateTime(legDistance, sku != null ? 1 : 0);
                 
@@ -170,7 +594,7 @@ public class EnhancedRouteOptimizerService {
                 
                 // Calculate zone transitions
                 if (!Objects.equals(prevLocation.getZone(), location.getZone())) {
-                    zoneTransitions.add(prevLocation.getZone() + " -> " + location.getZone());
+                    if (withDetails) zoneTransitions = List.of(prevLocation.getZone() + " -> " + location.getZone());
                     totalZoneTransitions++;
                 }
                 
@@ -188,17 +612,26 @@ public class EnhancedRouteOptimizerService {
             cumulativeDistance += legDistance;
             cumulativeTime += legTime;
             
-            EnhancedRouteStop stop = new EnhancedRouteStop(
-                i + 1, location.getLocationCode(), sku,
-                location.getX(), location.getY(), legDistance, cumulativeDistance);
-            
-            stop.setEstimatedTime(legTime);
-            stop.setAisleCrossings(aisleCrossings);
-            stop.setTurns(turns);
-            stop.setZoneTransitions(zoneTransitions);
-            stop.setActions(sku != null ? Arrays.asList("pick", "scan") : Arrays.asList("traverse"));
+            OptimizeResponse.Stop stop = new OptimizeResponse.Stop();
+            stop.locationCode = location.getLocationCode();
+            stop.sku = sku;
+            stop.x = location.getX();
+            stop.y = location.getY();
+            stop.legDistance = legDistance;
+            stop.cumulativeDistance = cumulativeDistance;
+            orderedStops.add(stop);
             
-            stops.add(stop);
+            if (withDetails) {
+                EnhancedRouteStop detailed = new EnhancedRouteStop(
+                    i + 1, location.getLocationCode(), sku,
+                    location.getX(), location.getY(), legDistance, cumulativeDistance);
+                detailed.setEstimatedTime(legTime);
+                detailed.setAisleCrossings(aisleCrossings);
+                detailed.setTurns(turns);
+                detailed.setZoneTransitions(zoneTransitions);
+                detailed.setActions(sku != null ? PICK_ACTIONS : TRAVERSE_ACTIONS);
+                stops.add(detailed);
+            }
         }
         
         // Create metrics
@@ -206,29 +639,51 @@ public class EnhancedRouteOptimizerService {
             cumulativeDistance, cumulativeTime, totalAisleCrossings, 
             totalTurns, totalZoneTransitions);
         
-        // Calculate efficiency score (simplified)
-        double theoreticalOptimal = calculateTheoreticalOptimal(route);
-        double efficiencyScore = costCalculator.calculateEfficiencyScore(cumulativeDistance, theoreticalOptimal);
-        metrics.setEfficiencyScore(efficiencyScore);
-        metrics.setComparedToOptimal((cumulativeDistance / theoreticalOptimal - 1.0) * 100);
+        // No route is cheaper than the lower bound, so the gap to it caps the gap to the optimum
+        double routeCost = matrix.tourCost(tour);
+        double lowerBound = matrix.lowerBound();
+        metrics.setRouteCost(routeCost);
+        metrics.setLowerBound(lowerBound);
+        metrics.setEfficiencyScore(costCalculator.calculateEfficiencyScore(routeCost, lowerBound));
+        metrics.setComparedToOptimal(lowerBound > 0 ? (routeCost / lowerBound - 1.0) * 100 : 0.0);
         
-        // Create response
-        OptimizeResponse response = new OptimizeResponse();
-        response.orderedStops = stops.stream()
-            .map(this::convertToLegacyStop)
-            .collect(Collectors.toList());
-        response.totalDistance = cumulativeDistance;
-        response.strategy = strategy;
-        
-        return response;
+        return new DescribedRoute(orderedStops, stops, metrics);
+    }
+
+    /**
+     * Stops and metrics for one walked route; the detailed stops are null unless asked for
+     */
+    record DescribedRoute(List<OptimizeResponse.Stop> orderedStops, List<EnhancedRouteStop> stops,
+                          RouteMetrics metrics) {}
+
+    /**
+     * Location codes of a tour in visiting order
+     */
+    private static List<String> stopIds(CostMatrix matrix, int[] tour) {
+        List<String> ids = new ArrayList<>(tour.length);
+        for (int node : tour) {
+            ids.add(matrix.location(node).getLocationCode());
+        }
+        return ids;
+    }
+
+    /**
+     * Walking distance of a tour, the total distance of its described route
+     */
+    private double walkingDistance(CostMatrix matrix, int[] tour) {
+        double distance = 0.0;
+        for (int i = 1; i < tour.length; i++) {
+            distance += costCalculator.walkingDistance(matrix.location(tour[i - 1]), matrix.location(tour[i]));
+        }
+        return distance;
     }
 
     /**
      * Helper methods
      */
-    private Location getLocationOrDefault(String locationCode, int defaultX, int defaultY) {
+    Location getLocationOrDefault(String locationCode, int defaultX, int defaultY) {
         if (locationCode != null) {
-            return locRepo.findByLocationCode(locationCode).orElse(createDefaultLocation(defaultX, defaultY));
+            return locationResolver.findLocation(locationCode).orElse(createDefaultLocation(defaultX, defaultY));
         }
         return createDefaultLocation(defaultX, defaultY);
     }
@@ -243,67 +698,28 @@ public class EnhancedRouteOptimizerService {
         return location;
     }
 
-    private List<Item> getItemsFromSkus(List<String> skus) {
+    private List<Location> getPickLocations(List<String> skus, Map<String, Location> skuLocations) {
         if (skus == null) return new ArrayList<>();
         
         return skus.stream()
-            .map(sku -> itemRepo.findBySku(sku).orElse(null))
+            .map(skuLocations::get)
             .filter(Objects::nonNull)
             .collect(Collectors.toList());
     }
 
-    private List<Location> getPickLocationsFromItems(List<Item> items) {
-        return items.stream()
-            .map(invRepo::findByItem)
-            .filter(list -> !list.isEmpty())
-            .map(list -> list.get(0).getLocation())
-            .collect(Collectors.toList());
-    }
-
-    private Map<String, String> createLocationToSkuMap(List<Item> items) {
+    private Map<String, String> createLocationToSkuMap(Map<String, Location> skuLocations) {
         Map<String, String> map = new HashMap<>();
-        for (Item item : items) {
-            List<Inventory> inventories = invRepo.findByItem(item);
-            if (!inventories.isEmpty()) {
-                map.put(inventories.get(0).getLocation().getLocationCode(), item.getSku());
-            }
-        }
+        skuLocations.forEach((sku, location) -> map.put(location.getLocationCode(), sku));
         return map;
     }
 
-    private double calculateRouteCost(List<Location> route, CostWeights weights, RouteConstraints constraints) {
-        double totalCost = 0.0;
-        for (int i = 0; i < route.size() - 1; i++) {
-            totalCost += costCalculator.calculateCost(route.get(i), route.get(i + 1), weights, constraints);
-        }
-        return totalCost;
-    }
-
-    private double calculateTheoreticalOptimal(List<Location> route) {
-        // Simplified: assume optimal is 80% of current distance
-        double currentDistance = 0.0;
-        for (int i = 0; i < route.size() - 1; i++) {
-            currentDistance += costCalculator.manhattanDistance(
-                route.get(i).getX(), route.get(i).getY(),
-                route.get(i + 1).getX(), route.get(i + 1).getY());
-        }
-        return currentDistance * 0.8;
-    }
-
-    private OptimizeResponse.Stop convertToLegacyStop(EnhancedRouteStop enhancedStop) {
-        OptimizeResponse.Stop stop = new OptimizeResponse.Stop();
-        stop.locationCode = enhancedStop.getLocationCode();
-        stop.sku = enhancedStop.getSku();
-        stop.x = enhancedStop.getX();
-        stop.y = enhancedStop.getY();
-        stop.legDistance = enhancedStop.getLegDistance();
-        stop.cumulativeDistance = enhancedStop.getCumulativeDistance();
-        return stop;
-    }
-
-    private OptimizeResponse createEmptyResponse(String strategy) {
+    private OptimizeResponse createEmptyResponse(String strategy, RouteDetail detail) {
         OptimizeResponse response = new OptimizeResponse();
-        response.orderedStops = new ArrayList<>();
+        if (detail == RouteDetail.IDS) {
+            response.stopIds = new ArrayList<>();
+        } else {
+            response.orderedStops = new ArrayList<>();
+        }
         response.totalDistance = 0.0;
         response.strategy = strategy;
         return response;
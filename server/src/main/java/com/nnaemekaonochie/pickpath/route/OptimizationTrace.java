@@ -0,0 +1,84 @@
+package com.nnaemekaonochie.pickpath.route;
+
+import com.nnaemekaonochie.pickpath.route.algorithm.SearchStats;
+import com.nnaemekaonochie.pickpath.route.dto.OptimizeResponse;
+
+import java.util.*;
+
+/**
+ * Wall-clock phase timings and local-search move counts for one optimization run.
+ * Phases are recorded lap-style: {@link #lap} closes the phase that began at the previous
+ * lap (or at construction) under the given name. Repeated names accumulate.
+ */
+final class OptimizationTrace {
+
+    static final String CACHE = "cache";
+    static final String RESOLVE = "resolve";
+    static final String QUEUE = "queue";
+    static final String SLOTS = "slots";
+    static final String MATRIX = "matrix";
+    static final String LOWER_BOUND = "lower_bound";
+    static final String EXACT = "exact";
+    static final String CONSTRUCTION = "construction";
+    static final String TWO_OPT = "two_opt";
+    static final String OR_OPT = "or_opt";
+    static final String LIN_KERNIGHAN = "lin_kernighan";
+    static final String HYBRID = "hybrid";
+    static final String GRASP = "grasp";
+    static final String AISLE_ROUTING = "aisle_routing";
+    static final String INSERTION = "insertion";
+    static final String REPAIR = "repair";
+    static final String SPLIT = "split";
+    static final String TRIPS = "trips";
+    static final String STREAM = "stream";
+    static final String RESPONSE = "response";
+
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Long> phaseNanos = new LinkedHashMap<>();
+    private final SearchStats search = new SearchStats();
+    private long lapNanos = startNanos;
+    private String strategy = "unknown";
+
+    void lap(String phase) {
+        long now = System.nanoTime();
+        phaseNanos.merge(phase, now - lapNanos, Long::sum);
+        lapNanos = now;
+    }
+
+    /**
+     * Add the phases and moves of a sub-run, such as one trip, without moving the lap clock.
+     * Sub-runs that ran in parallel add up, so their phases can exceed the wall-clock time
+     * around them. A sub-run stopped by its deadline leaves this run not converged.
+     */
+    void merge(OptimizationTrace other) {
+        other.phaseNanos.forEach((phase, nanos) -> phaseNanos.merge(phase, nanos, Long::sum));
+        search.addMoves(other.search);
+        if (!other.search.converged()) search.truncate();
+    }
+
+    /**
+     * Strategy that actually ran, after defaults and fallbacks
+     */
+    String strategy() { return strategy; }
+
+    void setStrategy(String strategy) { this.strategy = strategy; }
+
+    SearchStats search() { return search; }
+
+    Map<String, Long> phaseNanos() { return phaseNanos; }
+
+    /**
+     * Time from construction to the last lap
+     */
+    long totalNanos() { return lapNanos - startNanos; }
+
+    OptimizeResponse.Telemetry toTelemetry() {
+        OptimizeResponse.Telemetry telemetry = new OptimizeResponse.Telemetry();
+        telemetry.phaseMillis = new LinkedHashMap<>();
+        phaseNanos.forEach((phase, nanos) -> telemetry.phaseMillis.put(phase, nanos / 1e6));
+        telemetry.totalMillis = totalNanos() / 1e6;
+        telemetry.movesTried = search.tried();
+        telemetry.movesAccepted = search.accepted();
+        return telemetry;
+    }
+}
@@ -0,0 +1,70 @@
+package com.nnaemekaonochie.pickpath.route;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes optimization traces to Micrometer: a timer per strategy for the whole run, a
+ * timer per strategy and phase, counters for local-search moves tried and accepted, a
+ * counter of runs stopped by their time budget and a counter of solves turned away when the
+ * solver queue was full. Time waiting for a solver thread is the {@code queue} phase.
+ * Timers publish percentile histograms so p99 can be aggregated across instances.
+ */
+@Component
+public class OptimizerMetrics {
+
+    private final MeterRegistry registry;
+
+    public OptimizerMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    void record(OptimizationTrace trace) {
+        String strategy = trace.strategy();
+
+        Timer.builder("pickpath.optimize")
+            .description("Time to optimize one route")
+            .tag("strategy", strategy)
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(trace.totalNanos(), TimeUnit.NANOSECONDS);
+
+        trace.phaseNanos().forEach((phase, nanos) -> Timer.builder("pickpath.optimize.phase")
+            .description("Time spent in one optimization phase")
+            .tag("strategy", strategy)
+            .tag("phase", phase)
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(nanos, TimeUnit.NANOSECONDS));
+
+        moves(strategy, "tried").increment(trace.search().tried());
+        moves(strategy, "accepted").increment(trace.search().accepted());
+
+        if (!trace.search().converged()) {
+            Counter.builder("pickpath.optimize.budget.exhausted")
+                .description("Runs whose search stopped at the time budget before converging")
+                .tag("strategy", strategy)
+                .register(registry)
+                .increment();
+        }
+    }
+
+    void rejected() {
+        Counter.builder("pickpath.optimize.rejected")
+            .description("Solves rejected because every solver thread was busy and the queue was full")
+            .register(registry)
+            .increment();
+    }
+
+    private Counter moves(String strategy, String outcome) {
+        return Counter.builder("pickpath.optimize.moves")
+            .description("Local-search moves scored and applied")
+            .tag("strategy", strategy)
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+}
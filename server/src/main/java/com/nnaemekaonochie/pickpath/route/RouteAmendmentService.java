@@ -0,0 +1,168 @@
+package com.nnaemekaonochie.pickpath.route;
+
+import com.nnaemekaonochie.pickpath.config.OptimizerProperties;
+import com.nnaemekaonochie.pickpath.domain.*;
+import com.nnaemekaonochie.pickpath.layout.SkuLocationResolver;
+import com.nnaemekaonochie.pickpath.route.algorithm.*;
+import com.nnaemekaonochie.pickpath.route.dto.*;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Re-routes an order that changed while it is being picked. The remaining stops keep their
+ * order, removed SKUs are spliced out, added SKUs go in at their cheapest insertion points,
+ * and a time-boxed 2-opt and Or-opt pass repairs the joins.
+ */
+@Service
+public class RouteAmendmentService {
+
+    static final String STRATEGY = "amend";
+
+    private final SkuLocationResolver locationResolver;
+    private final CostCalculator costCalculator;
+    private final EnhancedRouteOptimizerService routeOptimizer;
+    private final SolverAdmission solverAdmission;
+    private final OptimizerMetrics metrics;
+    private final OptimizerProperties properties;
+
+    public RouteAmendmentService(SkuLocationResolver locationResolver,
+                                 CostCalculator costCalculator,
+                                 EnhancedRouteOptimizerService routeOptimizer,
+                                 SolverAdmission solverAdmission,
+                                 OptimizerMetrics metrics,
+                                 OptimizerProperties properties) {
+        this.locationResolver = locationResolver;
+        this.costCalculator = costCalculator;
+        this.routeOptimizer = routeOptimizer;
+        this.solverAdmission = solverAdmission;
+        this.metrics = metrics;
+        this.properties = properties;
+    }
+
+    /**
+     * Amend the remaining route; the repair is admitted to the solver pool like a new solve
+     *
+     * @throws SolverSaturatedException when the solve queue is full
+     */
+    public OptimizeResponse amend(AmendRouteRequest req) {
+        if (req.route == null) {
+            throw new IllegalArgumentException("route is required");
+        }
+        if (req.weights == null) req.weights = new CostWeights();
+        OptimizationTrace trace = new OptimizationTrace();
+        trace.setStrategy(STRATEGY);
+
+        Location start = routeOptimizer.getLocationOrDefault(req.startLocationCode, 0, 0);
+        Location end = routeOptimizer.getLocationOrDefault(req.endLocationCode, start.getX(), start.getY());
+        Location current = req.currentLocationCode != null
+            ? locationResolver.findLocation(req.currentLocationCode).orElse(start)
+            : start;
+
+        Set<String> removed = req.skusToRemove == null ? Set.of() : new HashSet<>(req.skusToRemove);
+        Set<String> removedLocations = new HashSet<>();
+        locationResolver.resolve(removed).values().forEach(location -> removedLocations.add(location.getLocationCode()));
+
+        // Stops still to visit, in route order
+        Map<String, Location> picks = new LinkedHashMap<>();
+        Map<String, String> locationToSku = new HashMap<>();
+        for (AmendRouteRequest.Stop stop : remainingStops(req)) {
+            if (stop.sku != null ? removed.contains(stop.sku) : removedLocations.contains(stop.locationCode)) continue;
+            if (stop.sku == null && isEndpoint(stop.locationCode, req)) continue;
+
+            Optional<Location> location = locationResolver.findLocation(stop.locationCode);
+            if (location.isEmpty()) continue;
+            picks.putIfAbsent(stop.locationCode, location.get());
+            if (stop.sku != null) locationToSku.putIfAbsent(stop.locationCode, stop.sku);
+        }
+        int kept = picks.size();
+
+        // Added SKUs whose slot is already on the route need no new stop
+        Map<String, Location> added = locationResolver.resolve(req.skusToAdd);
+        added.forEach((sku, location) -> {
+            picks.putIfAbsent(location.getLocationCode(), location);
+            locationToSku.putIfAbsent(location.getLocationCode(), sku);
+        });
+        trace.lap(OptimizationTrace.RESOLVE);
+
+        if (picks.isEmpty()) {
+            OptimizeResponse response = new OptimizeResponse();
+            response.orderedStops = new ArrayList<>();
+            response.strategy = STRATEGY;
+            return response;
+        }
+
+        OptimizeResponse response = solverAdmission.call(() -> {
+            trace.lap(OptimizationTrace.QUEUE);
+            return repair(req, current, end, picks, kept, locationToSku, trace);
+        });
+        trace.lap(OptimizationTrace.RESPONSE);
+        response.telemetry = trace.toTelemetry();
+        metrics.record(trace);
+        return response;
+    }
+
+    /**
+     * Insert the added stops into the kept route and repair it with 2-opt and Or-opt
+     *
+     * @param picks kept stops in route order, then the additions
+     */
+    private OptimizeResponse repair(AmendRouteRequest req, Location current, Location end, Map<String, Location> picks,
+                                    int kept, Map<String, String> locationToSku, OptimizationTrace trace) {
+        CostMatrix matrix = costCalculator.buildMatrix(current, new ArrayList<>(picks.values()), end,
+                                                       req.weights, req.constraints);
+        trace.lap(OptimizationTrace.MATRIX);
+
+        // Kept stops are matrix nodes 1..kept in route order; the rest are the additions
+        int[] tour = new int[kept + 2];
+        for (int i = 0; i <= kept; i++) {
+            tour[i] = i;
+        }
+        tour[kept + 1] = matrix.size() - 1;
+        int[] additions = new int[picks.size() - kept];
+        for (int i = 0; i < additions.length; i++) {
+            additions[i] = kept + 1 + i;
+        }
+        tour = CheapestInsertion.insert(matrix, tour, additions);
+        trace.lap(OptimizationTrace.INSERTION);
+
+        long budget = req.timeBudgetMs != null ? req.timeBudgetMs : properties.getSearchTimeBudgetMs();
+        Deadline deadline = Deadline.afterMillis(budget);
+        SearchStats stats = trace.search();
+        TwoOptEngine.improve(matrix, tour, deadline, stats);
+        OrOptEngine.improve(matrix, tour, deadline, stats);
+        trace.lap(OptimizationTrace.REPAIR);
+
+        EnhancedRouteOptimizerService.DescribedRoute described =
+            routeOptimizer.describeRoute(matrix, tour, locationToSku, req.weights, false);
+        OptimizeResponse response = new OptimizeResponse();
+        response.orderedStops = described.orderedStops();
+        response.totalDistance = described.metrics().getTotalDistance();
+        response.strategy = STRATEGY;
+        response.converged = stats.converged();
+        return response;
+    }
+
+    /**
+     * Stops after the picker's current position, or the whole route when the position is not on it
+     */
+    private List<AmendRouteRequest.Stop> remainingStops(AmendRouteRequest req) {
+        List<AmendRouteRequest.Stop> stops = req.route.stream().filter(Objects::nonNull).toList();
+        if (req.currentLocationCode == null) return stops;
+        for (int i = 0; i < stops.size(); i++) {
+            if (req.currentLocationCode.equals(stops.get(i).locationCode)) {
+                return stops.subList(i + 1, stops.size());
+            }
+        }
+        return stops;
+    }
+
+    /**
+     * Whether an unlabelled stop is the route's start or end rather than a pick
+     */
+    private boolean isEndpoint(String locationCode, AmendRouteRequest req) {
+        return locationCode == null
+            || locationCode.equals(req.startLocationCode)
+            || locationCode.equals(req.endLocationCode);
+    }
+}
@@ -0,0 +1,165 @@
+package com.nnaemekaonochie.pickpath.route;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nnaemekaonochie.pickpath.config.OptimizerProperties;
+import com.nnaemekaonochie.pickpath.layout.LayoutChangedEvent;
+import com.nnaemekaonochie.pickpath.layout.LayoutRefreshedEvent;
+import com.nnaemekaonochie.pickpath.route.dto.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of optimized routes for repeated orders. An order is keyed by its sorted SKU
+ * list, duplicates included since every listed SKU is a stop, plus every request field that
+ * can change the route, and by a layout version that moves on each layout or inventory write.
+ * The same write drops every entry, so a route is never served against a layout it was not
+ * computed for. Routes cut short by their time budget are not cached, so a later request can
+ * still get a converged one. Entries are evicted by size and age; hits, misses and evictions
+ * are published as the {@code routes} cache.
+ */
+@Component
+public class RouteCache {
+
+    static final String NAME = "routes";
+
+    private final Cache<Key, CachedRoute> cache;
+    private final AtomicLong layoutVersion = new AtomicLong();
+
+    /**
+     * Canonical order signature
+     */
+    record Key(long layoutVersion, List<String> skus, Map<String, Integer> quantities, String start, String end,
+               String strategy, List<Object> weights, List<Object> constraints, Long seed, Long timeBudgetMs,
+               Boolean multiSlot, RouteDetail detail) {}
+
+    /**
+     * The parts of a response that depend only on the key. Stops and metrics are shared
+     * between responses and must not be modified.
+     */
+    private record CachedRoute(List<OptimizeResponse.Stop> orderedStops, List<String> stopIds,
+                               List<EnhancedRouteStop> stops, RouteMetrics metrics, double totalDistance,
+                               String strategy, boolean converged, List<OptimizeResponse.Trip> trips) {}
+
+    public RouteCache(OptimizerProperties properties, MeterRegistry registry) {
+        if (properties.isRouteCacheEnabled()) {
+            this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getRouteCacheMaxEntries())
+                .expireAfterWrite(Duration.ofSeconds(properties.getRouteCacheTtlSeconds()))
+                .recordStats()
+                .build();
+            CaffeineCacheMetrics.monitor(registry, cache, NAME);
+        } else {
+            this.cache = null;
+        }
+    }
+
+    /**
+     * Signature of a request, or null when caching is disabled. Read it before solving, so a
+     * route computed across a layout change is stored under the old version and never served.
+     */
+    Key key(OptimizeRequest req) {
+        if (cache == null || req.skus == null) return null;
+        return new Key(
+            layoutVersion.get(),
+            req.skus.stream().filter(Objects::nonNull).sorted().toList(),
+            req.quantities != null ? new HashMap<>(req.quantities) : null,
+            req.startLocationCode,
+            req.endLocationCode,
+            req.strategy,
+            weightsKey(req.weights),
+            constraintsKey(req.constraints),
+            req.seed,
+            req.timeBudgetMs,
+            req.multiSlot,
+            RouteDetail.of(req.detail));
+    }
+
+    /**
+     * A fresh response holding the cached route, or null on a miss
+     */
+    OptimizeResponse get(Key key) {
+        if (key == null) return null;
+        CachedRoute cached = cache.getIfPresent(key);
+        if (cached == null) return null;
+
+        OptimizeResponse response = new OptimizeResponse();
+        response.orderedStops = cached.orderedStops();
+        response.stopIds = cached.stopIds();
+        response.stops = cached.stops();
+        response.metrics = cached.metrics();
+        response.totalDistance = cached.totalDistance();
+        response.strategy = cached.strategy();
+        response.converged = cached.converged();
+        response.trips = cached.trips();
+        return response;
+    }
+
+    void put(Key key, OptimizeResponse response) {
+        if (key == null || !response.converged) return;
+        cache.put(key, new CachedRoute(copyOf(response.orderedStops), copyOf(response.stopIds), copyOf(response.stops),
+                                       response.metrics, response.totalDistance, response.strategy, response.converged,
+                                       copyOf(response.trips)));
+    }
+
+    private static <T> List<T> copyOf(List<T> list) {
+        return list != null ? List.copyOf(list) : null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLayoutChanged(LayoutChangedEvent event) {
+        invalidate();
+    }
+
+    /**
+     * The layout snapshot is rebuilt in the background after a write, so a request may still
+     * have read the previous snapshot after the write invalidated the cache. Those routes are
+     * stored under a version that is dropped here.
+     */
+    @EventListener
+    public void onLayoutRefreshed(LayoutRefreshedEvent event) {
+        invalidate();
+    }
+
+    private void invalidate() {
+        if (cache == null) return;
+        layoutVersion.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private static List<Object> weightsKey(CostWeights weights) {
+        if (weights == null) return null;
+        return Arrays.asList(
+            weights.getDistanceWeight(),
+            weights.getAisleCrossingPenalty(),
+            weights.getTurnPenalty(),
+            weights.getBlockedZonePenalty(),
+            weights.getCapacityViolationPenalty());
+    }
+
+    private static List<Object> constraintsKey(RouteConstraints constraints) {
+        if (constraints == null) return null;
+        List<Object> windows = null;
+        if (constraints.getTimeWindows() != null) {
+            windows = new ArrayList<>();
+            for (TimeWindow window : constraints.getTimeWindows()) {
+                windows.add(window == null
+                    ? null
+                    : Arrays.asList(window.getLocationCode(), window.getStartTime(), window.getEndTime()));
+            }
+        }
+        return Arrays.asList(
+            constraints.getMaxCapacity(),
+            constraints.getMaxTimeMinutes(),
+            constraints.getAvoidBlockedZones(),
+            constraints.getAllowAisleCrossing(),
+            windows);
+    }
+}
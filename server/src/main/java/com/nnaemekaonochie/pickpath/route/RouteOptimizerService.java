@@ -1,24 +1,25 @@
 package com.nnaemekaonochie.pickpath.route;
 
+import com.nnaemekaonochie.pickpath.config.OptimizerProperties;
 import com.nnaemekaonochie.pickpath.domain.*;
-import com.nnaemekaonochie.pickpath.repo.*;
+import com.nnaemekaonochie.pickpath.layout.SkuLocationResolver;
+import com.nnaemekaonochie.pickpath.route.algorithm.CostMatrix;
+import com.nnaemekaonochie.pickpath.route.algorithm.Deadline;
+import com.nnaemekaonochie.pickpath.route.algorithm.SlotSelector;
 import com.nnaemekaonochie.pickpath.route.dto.*;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class RouteOptimizerService {
 
-    private final ItemRepository itemRepo;
-    private final InventoryRepository invRepo;
-    private final LocationRepository locRepo;
+    private final SkuLocationResolver locationResolver;
+    private final OptimizerProperties properties;
 
-    public RouteOptimizerService(ItemRepository itemRepo, InventoryRepository invRepo, LocationRepository locRepo) {
-        this.itemRepo = itemRepo;
-        this.invRepo = invRepo;
-        this.locRepo = locRepo;
+    public RouteOptimizerService(SkuLocationResolver locationResolver, OptimizerProperties properties) {
+        this.locationResolver = locationResolver;
+        this.properties = properties;
     }
 
     private static double manhattan(int x1, int y1, int x2, int y2) {
@@ -26,34 +27,28 @@ public class RouteOptimizerService {
     }
 
     public OptimizeResponse optimize(OptimizeRequest req) {
-        Location start = req.startLocationCode != null
-                ? locRepo.findByLocationCode(req.startLocationCode).orElse(null)
-                : null;
+        Location start = locationResolver.findLocation(req.startLocationCode).orElse(null);
         int sx = start != null ? start.getX() : 0, sy = start != null ? start.getY() : 0;
 
-        Location end = req.endLocationCode != null
-                ? locRepo.findByLocationCode(req.endLocationCode).orElse(null)
-                : null;
+        Location end = locationResolver.findLocation(req.endLocationCode).orElse(null);
         int ex = end != null ? end.getX() : sx, ey = end != null ? end.getY() : sy;
 
-        List<Item> items = (req.skus == null ? List.<String>of() : req.skus).stream()
-                .map(sku -> itemRepo.findBySku(sku).orElseThrow(() -> new RuntimeException("Unknown SKU: " + sku)))
-                .toList();
-
-        List<Inventory> invs = items.stream()
-                .map(invRepo::findByItem)
-                .filter(list -> !list.isEmpty())
-                .map(list -> list.get(0)) // pick the first for MVP
-                .toList();
+        List<String> skus = req.skus == null ? List.of() : req.skus;
+        Map<String, Location> skuLocations = chooseSlots(req, skus, sx, sy, end);
+        List<String> picks = new ArrayList<>();
+        for (String sku : skus) {
+            if (skuLocations.containsKey(sku)) picks.add(sku);
+            else if (!locationResolver.isKnownSku(sku)) throw new RuntimeException("Unknown SKU: " + sku);
+        }
 
         List<int[]> pts = new ArrayList<>();
         List<String> labels = new ArrayList<>();
         pts.add(new int[] { sx, sy });
         labels.add("START");
-        for (Inventory inv : invs) {
-            Location L = inv.getLocation();
+        for (String sku : picks) {
+            Location L = skuLocations.get(sku);
             pts.add(new int[] { L.getX(), L.getY() });
-            labels.add(inv.getItem().getSku());
+            labels.add(sku);
         }
         if (end != null) {
             pts.add(new int[] { ex, ey });
@@ -120,8 +115,8 @@ public class RouteOptimizerService {
                 s.sku = null;
             } else {
                 s.sku = label;
-                var inv = invs.stream().filter(iv -> iv.getItem().getSku().equals(label)).findFirst().orElse(null);
-                s.locationCode = inv != null ? inv.getLocation().getLocationCode() : "?";
+                Location L = skuLocations.get(label);
+                s.locationCode = L != null ? L.getLocationCode() : "?";
             }
             stops.add(s);
         }
@@ -131,4 +126,57 @@ public class RouteOptimizerService {
         r.totalDistance = total;
         return r;
     }
+
+    /**
+     * Slot of every SKU. In multi-slot mode SKUs stocked in several slots get the slots that
+     * make the shortest Manhattan route together, chosen by SlotSelector like the enhanced
+     * optimizer; otherwise every SKU takes its first slot.
+     */
+    private Map<String, Location> chooseSlots(OptimizeRequest req, List<String> skus, int sx, int sy, Location end) {
+        boolean multiSlot = req.multiSlot != null ? req.multiSlot : properties.isMultiSlotEnabled();
+        if (!multiSlot) return locationResolver.resolve(skus);
+
+        Map<String, List<Location>> slots = locationResolver.resolveSlots(skus);
+        Map<String, Location> chosen = new LinkedHashMap<>();
+        if (slots.values().stream().allMatch(candidates -> candidates.size() == 1)) {
+            slots.forEach((sku, candidates) -> chosen.put(sku, candidates.get(0)));
+            return chosen;
+        }
+
+        // Start, every candidate slot, then the end; an open route ends at a stop that costs nothing to reach
+        List<String> clustered = new ArrayList<>(slots.keySet());
+        List<Location> candidates = new ArrayList<>();
+        int[][] clusters = new int[clustered.size()][];
+        for (int c = 0; c < clusters.length; c++) {
+            List<Location> skuSlots = slots.get(clustered.get(c));
+            clusters[c] = new int[skuSlots.size()];
+            for (int s = 0; s < skuSlots.size(); s++) {
+                candidates.add(skuSlots.get(s));
+                clusters[c][s] = candidates.size();
+            }
+        }
+        int n = candidates.size() + 2;
+        int[][] pts = new int[n][];
+        pts[0] = new int[] { sx, sy };
+        for (int i = 0; i < candidates.size(); i++) {
+            pts[i + 1] = new int[] { candidates.get(i).getX(), candidates.get(i).getY() };
+        }
+        double[][] dist = new double[n][n];
+        for (int i = 0; i < n - 1; i++)
+            for (int j = 0; j < n - 1; j++)
+                dist[i][j] = manhattan(pts[i][0], pts[i][1], pts[j][0], pts[j][1]);
+        if (end != null) {
+            for (int i = 0; i < n - 1; i++) {
+                dist[i][n - 1] = manhattan(pts[i][0], pts[i][1], end.getX(), end.getY());
+                dist[n - 1][i] = dist[i][n - 1];
+            }
+        }
+
+        long budget = req.timeBudgetMs != null ? req.timeBudgetMs : properties.getSearchTimeBudgetMs();
+        int[] picked = SlotSelector.choose(CostMatrix.of(dist), clusters, Deadline.afterMillis(budget), null);
+        for (int c = 0; c < clusters.length; c++) {
+            chosen.put(clustered.get(c), candidates.get(picked[c] - 1));
+        }
+        return chosen;
+    }
 }
\ No newline at end of file
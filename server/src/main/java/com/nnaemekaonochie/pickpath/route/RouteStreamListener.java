@@ -0,0 +1,29 @@
+package com.nnaemekaonochie.pickpath.route;
+
+import com.nnaemekaonochie.pickpath.route.dto.OptimizeResponse;
+
+import java.io.IOException;
+
+/**
+ * Receives the routes of a streamed optimization as they improve. An IOException from any
+ * callback means the client is gone and stops the search.
+ */
+public interface RouteStreamListener {
+
+    /**
+     * The first route, then each strictly cheaper one; converged is false on all of them
+     */
+    void onRoute(OptimizeResponse route) throws IOException;
+
+    /**
+     * A search slice ended without a cheaper route; lets the stream notice a client that left
+     */
+    default void onIdle() throws IOException {}
+
+    /**
+     * The best route with its convergence and telemetry; nothing follows it
+     */
+    void onComplete(OptimizeResponse best) throws IOException;
+
+    void onError(Throwable error);
+}
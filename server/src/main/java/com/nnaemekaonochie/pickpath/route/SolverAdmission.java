@@ -0,0 +1,63 @@
+package com.nnaemekaonochie.pickpath.route;
+
+import com.nnaemekaonochie.pickpath.config.OptimizerProperties;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+
+/**
+ * Admission control for CPU-bound solves. Requests run on virtual threads, which block on
+ * lookups cheaply; the solve itself is handed to a fixed pool with one thread per core and
+ * a bounded queue. A burst queues briefly and beyond that is turned away instead of
+ * oversubscribing the CPU and slowing every route down.
+ */
+@Component
+public class SolverAdmission {
+
+    private final ExecutorService admissionExecutor;
+    private final OptimizerMetrics metrics;
+    private final OptimizerProperties properties;
+
+    public SolverAdmission(@Qualifier("admissionExecutor") ExecutorService admissionExecutor,
+                           OptimizerMetrics metrics,
+                           OptimizerProperties properties) {
+        this.admissionExecutor = admissionExecutor;
+        this.metrics = metrics;
+        this.properties = properties;
+    }
+
+    /**
+     * Run a solve on the solver pool and wait for its result. Runtime exceptions of the solve
+     * are rethrown as they are.
+     *
+     * @throws SolverSaturatedException when the solve queue is full
+     */
+    <T> T call(Callable<T> solve) {
+        Future<T> future = submit(solve);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the solver", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException("Route solve failed", e.getCause());
+        }
+    }
+
+    /**
+     * Queue a solve on the solver pool without waiting for it
+     *
+     * @throws SolverSaturatedException when the solve queue is full
+     */
+    <T> Future<T> submit(Callable<T> solve) {
+        try {
+            return admissionExecutor.submit(solve);
+        } catch (RejectedExecutionException e) {
+            metrics.rejected();
+            throw new SolverSaturatedException(properties.getSolverRetryAfterSeconds());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.nnaemekaonochie.pickpath.route;
+
+/**
+ * Thrown when every solver thread is busy and the solve queue is full
+ */
+public class SolverSaturatedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public SolverSaturatedException(long retryAfterSeconds) {
+        super("Solver queue is full");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() { return retryAfterSeconds; }
+}
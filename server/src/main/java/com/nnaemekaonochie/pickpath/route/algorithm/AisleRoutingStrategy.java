@@ -0,0 +1,573 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+import com.nnaemekaonochie.pickpath.domain.Location;
+import com.nnaemekaonochie.pickpath.layout.AisleLayout;
+import com.nnaemekaonochie.pickpath.layout.LayoutSnapshot;
+import com.nnaemekaonochie.pickpath.layout.LayoutSnapshotService;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Routing policies for a single block of parallel rack aisles with a front and a back cross
+ * aisle, as detected by {@link AisleLayout}. S-shape and largest-gap are the classic
+ * construction heuristics; the Ratliff-Rosenthal dynamic program returns the shortest tour
+ * through the block in time linear in the number of aisles. Orders whose picks are not all
+ * in rack aisles of one block are not handled here.
+ */
+@Component
+public class AisleRoutingStrategy {
+
+    public enum Policy { S_SHAPE, LARGEST_GAP, RATLIFF_ROSENTHAL }
+
+    private final LayoutSnapshotService layoutSnapshots;
+
+    public AisleRoutingStrategy(LayoutSnapshotService layoutSnapshots) {
+        this.layoutSnapshots = layoutSnapshots;
+    }
+
+    /**
+     * Route the picks with the given policy, or return null when they do not all lie in one
+     * block of rack aisles. The start is the depot and policies plan a round trip back to it;
+     * a separate end is appended after the last pick, so Ratliff-Rosenthal is exact only when
+     * the end is the start.
+     */
+    public int[] generateTour(CostMatrix matrix, Policy policy) {
+        Block block = Block.of(matrix, layoutSnapshots.current());
+        if (block == null) return null;
+
+        int[] picks = switch (policy) {
+            case S_SHAPE -> block.sShape();
+            case LARGEST_GAP -> block.largestGap();
+            case RATLIFF_ROSENTHAL -> new RatliffRosenthal(block).solve();
+        };
+        if (picks == null || picks.length != matrix.pickCount()) return null;
+
+        int[] tour = new int[matrix.size()];
+        System.arraycopy(picks, 0, tour, 1, picks.length);
+        if (matrix.hasEnd()) tour[tour.length - 1] = matrix.size() - 1;
+        return tour;
+    }
+
+    /**
+     * The aisles of one block between the outermost picks and the depot, with the pick
+     * nodes grouped by position along each aisle. The depot is matrix node 0.
+     */
+    private static final class Block {
+        final double front;
+        final double back;
+        final double[] centers;
+        final List<TreeMap<Double, List<Integer>>> points;
+        final int depotAisle;
+        final double depotPosition;
+
+        private Block(double front, double back, double[] centers, List<TreeMap<Double, List<Integer>>> points,
+                      int depotAisle, double depotPosition) {
+            this.front = front;
+            this.back = back;
+            this.centers = centers;
+            this.points = points;
+            this.depotAisle = depotAisle;
+            this.depotPosition = depotPosition;
+        }
+
+        static Block of(CostMatrix matrix, LayoutSnapshot snapshot) {
+            AisleLayout layout = snapshot.aisles();
+            if (matrix.pickCount() == 0 || layout == null) return null;
+
+            Boolean horizontal = null;
+            int[] pickIds = new int[matrix.size()];
+            for (int node = matrix.firstPick(); node <= matrix.lastPick(); node++) {
+                Location location = matrix.location(node);
+                int id = location != null ? snapshot.idOf(location) : -1;
+                if (id < 0 || layout.aisleOf(id) == AisleLayout.NO_AISLE) return null;
+                boolean aisleHorizontal = layout.aisle(layout.aisleOf(id)).horizontal();
+                if (horizontal != null && horizontal != aisleHorizontal) return null;
+                horizontal = aisleHorizontal;
+                pickIds[node] = id;
+            }
+
+            // Aisles of the block in corridor order, indexed by layout aisle
+            List<Integer> blockAisles = new ArrayList<>();
+            Map<Integer, Integer> blockIndex = new HashMap<>();
+            for (int a = 0; a < layout.aisleCount(); a++) {
+                if (layout.aisle(a).horizontal() == horizontal) {
+                    blockIndex.put(a, blockAisles.size());
+                    blockAisles.add(a);
+                }
+            }
+            double front = layout.front(horizontal);
+            double back = layout.back(horizontal);
+
+            // The depot is the start location if it is in the block, else the nearest cross-aisle point
+            Location start = matrix.location(0);
+            int startId = start != null ? snapshot.idOf(start) : -1;
+            int depotAisle;
+            double depotPosition;
+            if (startId >= 0 && blockIndex.containsKey(layout.aisleOf(startId))) {
+                depotAisle = blockIndex.get(layout.aisleOf(startId));
+                depotPosition = layout.position(startId);
+            } else {
+                double startAxis = start == null ? front : horizontal ? start.getX() : start.getY();
+                double startCross = start == null ? 0 : horizontal ? start.getY() : start.getX();
+                depotAisle = 0;
+                for (int j = 1; j < blockAisles.size(); j++) {
+                    double center = layout.aisle(blockAisles.get(j)).center();
+                    if (Math.abs(center - startCross) < Math.abs(layout.aisle(blockAisles.get(depotAisle)).center() - startCross)) {
+                        depotAisle = j;
+                    }
+                }
+                depotPosition = Math.abs(startAxis - front) <= Math.abs(startAxis - back) ? front : back;
+            }
+
+            int first = depotAisle;
+            int last = depotAisle;
+            for (int node = matrix.firstPick(); node <= matrix.lastPick(); node++) {
+                int j = blockIndex.get(layout.aisleOf(pickIds[node]));
+                first = Math.min(first, j);
+                last = Math.max(last, j);
+            }
+
+            int m = last - first + 1;
+            double[] centers = new double[m];
+            List<TreeMap<Double, List<Integer>>> points = new ArrayList<>(m);
+            for (int j = 0; j < m; j++) {
+                centers[j] = layout.aisle(blockAisles.get(first + j)).center();
+                points.add(new TreeMap<>());
+            }
+            points.get(depotAisle - first).computeIfAbsent(depotPosition, p -> new ArrayList<>()).add(0);
+            for (int node = matrix.firstPick(); node <= matrix.lastPick(); node++) {
+                int id = pickIds[node];
+                int j = blockIndex.get(layout.aisleOf(id)) - first;
+                points.get(j).computeIfAbsent(layout.position(id), p -> new ArrayList<>()).add(node);
+            }
+
+            // Stops at one position may stand on either rack face, and every switch between
+            // different coordinates costs a crossing: keep stops at the same coordinates together,
+            // with those at the depot's coordinates right after the depot
+            Comparator<Integer> byPlace = Comparator.comparing((Integer node) -> node != 0)
+                .thenComparing(node -> !samePlace(matrix.location(node), start))
+                .thenComparingInt(node -> matrix.location(node).getX())
+                .thenComparingInt(node -> matrix.location(node).getY());
+            for (TreeMap<Double, List<Integer>> aisle : points) {
+                for (List<Integer> nodes : aisle.values()) nodes.sort(byPlace);
+            }
+            return new Block(front, back, centers, points, depotAisle - first, depotPosition);
+        }
+
+        private static boolean samePlace(Location location, Location other) {
+            return other != null && location.getX() == other.getX() && location.getY() == other.getY();
+        }
+
+        int aisleCount() { return centers.length; }
+
+        /**
+         * Aisles holding picks, starting from the end of the block nearer the depot
+         */
+        List<Integer> pickAislesFromDepot() {
+            List<Integer> aisles = new ArrayList<>();
+            for (int j = 0; j < aisleCount(); j++) {
+                for (List<Integer> nodes : points.get(j).values()) {
+                    if (nodes.stream().anyMatch(node -> node != 0)) {
+                        aisles.add(j);
+                        break;
+                    }
+                }
+            }
+            if (!aisles.isEmpty()) {
+                double depotCenter = centers[depotAisle];
+                double toFirst = Math.abs(centers[aisles.get(0)] - depotCenter);
+                double toLast = Math.abs(centers[aisles.get(aisles.size() - 1)] - depotCenter);
+                if (toLast < toFirst) Collections.reverse(aisles);
+            }
+            return aisles;
+        }
+
+        /**
+         * Pick positions of an aisle in walking order away from the depot's cross aisle
+         */
+        List<Double> positionsAwayFromDepot(int aisle) {
+            List<Double> positions = new ArrayList<>(points.get(aisle).keySet());
+            if (depotFromBack()) Collections.reverse(positions);
+            return positions;
+        }
+
+        boolean depotFromBack() {
+            return back - depotPosition < depotPosition - front;
+        }
+
+        /**
+         * Distance of a position from the depot's cross aisle
+         */
+        double depth(double position) {
+            return depotFromBack() ? back - position : position - front;
+        }
+
+        void emit(List<Integer> order, int aisle, List<Double> positions) {
+            for (double position : positions) {
+                for (int node : points.get(aisle).get(position)) {
+                    if (node != 0) order.add(node);
+                }
+            }
+        }
+
+        /**
+         * Traverse every aisle with picks completely, alternating direction; an odd last aisle
+         * is entered and left from the depot side
+         */
+        int[] sShape() {
+            List<Integer> order = new ArrayList<>();
+            List<Integer> aisles = pickAislesFromDepot();
+            for (int i = 0; i < aisles.size(); i++) {
+                List<Double> positions = positionsAwayFromDepot(aisles.get(i));
+                if (i % 2 == 1) Collections.reverse(positions);
+                emit(order, aisles.get(i), positions);
+            }
+            return order.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        /**
+         * Traverse the first and last aisles with picks completely; enter every other aisle from
+         * both cross aisles up to its largest gap between adjacent stops
+         */
+        int[] largestGap() {
+            List<Integer> order = new ArrayList<>();
+            List<Integer> aisles = pickAislesFromDepot();
+            if (aisles.size() == 1) {
+                emit(order, aisles.get(0), positionsAwayFromDepot(aisles.get(0)));
+                return order.stream().mapToInt(Integer::intValue).toArray();
+            }
+
+            // Middle aisles are split at their largest gap: far parts are picked on the way out
+            // along the far cross aisle, near parts on the way back
+            emit(order, aisles.get(0), positionsAwayFromDepot(aisles.get(0)));
+            List<List<Double>> near = new ArrayList<>();
+            for (int i = 1; i < aisles.size() - 1; i++) {
+                List<Double> positions = positionsAwayFromDepot(aisles.get(i));
+                int split = 0;
+                double largest = -1.0;
+                for (int s = 0; s <= positions.size(); s++) {
+                    double low = s == 0 ? 0.0 : depth(positions.get(s - 1));
+                    double high = s == positions.size() ? back - front : depth(positions.get(s));
+                    if (high - low > largest) {
+                        largest = high - low;
+                        split = s;
+                    }
+                }
+                near.add(positions.subList(0, split));
+                List<Double> far = new ArrayList<>(positions.subList(split, positions.size()));
+                Collections.reverse(far);
+                emit(order, aisles.get(i), far);
+            }
+
+            List<Double> lastPositions = positionsAwayFromDepot(aisles.get(aisles.size() - 1));
+            Collections.reverse(lastPositions);
+            emit(order, aisles.get(aisles.size() - 1), lastPositions);
+            for (int i = aisles.size() - 2; i >= 1; i--) {
+                emit(order, aisles.get(i), near.get(i - 1));
+            }
+            return order.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * Ratliff-Rosenthal dynamic program over the aisles of a block. A partial tour subgraph is
+     * summarized by the degree class (zero, even, odd) of the current front and back vertices
+     * and whether they are connected; {@link #DONE} marks a tour already closed. Each aisle
+     * chooses a vertical configuration (none, one traversal, two traversals, or a split where
+     * the stops below a gap are reached from the front and the rest from the back), then each
+     * cross-aisle pair chooses zero, one or two copies of its front and back edges. The optimal
+     * subgraph is Eulerian; walking an Euler circuit from the depot yields the pick order.
+     */
+    private static final class RatliffRosenthal {
+
+        private static final int DONE = 18;
+        private static final int STATES = 19;
+        private static final int NONE = -1;
+        private static final int FULL = -2;
+        private static final int DOUBLE = -3;
+        private static final double INF = Double.POSITIVE_INFINITY;
+
+        private final Block block;
+        private final int m;
+        private final double length;
+        private final double[][] positions;
+        private final int lastRequired;
+
+        // Cost of the best partial subgraph before (minus) and after (plus) each aisle's vertical edges
+        private final double[][] minus;
+        private final double[][] plus;
+        private final int[][] plusFrom;
+        private final int[][] plusChoice;
+        private final int[][] minusFrom;
+        private final int[][] minusCross;
+
+        RatliffRosenthal(Block block) {
+            this.block = block;
+            this.m = block.aisleCount();
+            this.length = block.back - block.front;
+            this.positions = new double[m][];
+            int required = 0;
+            for (int j = 0; j < m; j++) {
+                positions[j] = block.points.get(j).keySet().stream().mapToDouble(Double::doubleValue).toArray();
+                if (positions[j].length > 0) required = j;
+            }
+            this.lastRequired = required;
+            this.minus = new double[m][STATES];
+            this.plus = new double[m][STATES];
+            this.plusFrom = new int[m][STATES];
+            this.plusChoice = new int[m][STATES];
+            this.minusFrom = new int[m][STATES];
+            this.minusCross = new int[m][STATES];
+        }
+
+        int[] solve() {
+            for (double[] row : minus) Arrays.fill(row, INF);
+            for (double[] row : plus) Arrays.fill(row, INF);
+            minus[0][state(0, 0, 1)] = 0.0;
+
+            for (int j = 0; j < m; j++) {
+                vertical(j);
+                if (j + 1 < m) cross(j);
+            }
+
+            int best = -1;
+            for (int s = 0; s < STATES; s++) {
+                if (plus[m - 1][s] < INF && isFinal(s) && (best < 0 || plus[m - 1][s] < plus[m - 1][best])) best = s;
+            }
+            if (best < 0) return null;
+            return walk(reconstruct(best));
+        }
+
+        private void vertical(int j) {
+            int k = positions[j].length;
+            for (int s = 0; s < STATES; s++) {
+                double base = minus[j][s];
+                if (base == INF) continue;
+
+                if (s == DONE) {
+                    if (k == 0) relaxPlus(j, s, DONE, NONE, base);
+                    continue;
+                }
+                int da = degreeA(s);
+                int db = degreeB(s);
+                int conn = connected(s);
+
+                if (k == 0) relaxPlus(j, s, s, NONE, base);
+                relaxPlus(j, s, state(add(da, 1), add(db, 1), 1), FULL, base + length);
+                relaxPlus(j, s, state(add(da, 2), add(db, 2), 1), DOUBLE, base + 2 * length);
+
+                for (int split = 0; split <= k && k > 0; split++) {
+                    double cost = 0.0;
+                    int na = da;
+                    int nb = db;
+                    if (split > 0) {
+                        cost += 2 * (positions[j][split - 1] - block.front);
+                        na = add(da, 2);
+                    }
+                    if (split < k) {
+                        cost += 2 * (block.back - positions[j][split]);
+                        nb = add(db, 2);
+                    }
+                    int nconn = na != 0 && nb != 0 ? (da != 0 && db != 0 ? conn : 0) : 1;
+                    relaxPlus(j, s, state(na, nb, nconn), split, base + cost);
+                }
+            }
+        }
+
+        private void cross(int j) {
+            double width = Math.abs(block.centers[j + 1] - block.centers[j]);
+            for (int s = 0; s < STATES; s++) {
+                double base = plus[j][s];
+                if (base == INF) continue;
+
+                if (s == DONE) {
+                    relaxMinus(j + 1, s, DONE, 0, base);
+                    continue;
+                }
+                int da = degreeA(s);
+                int db = degreeB(s);
+                int conn = connected(s);
+                boolean activeA = da != 0;
+                boolean activeB = db != 0;
+
+                for (int u = 0; u <= 2; u++) {
+                    for (int t = 0; t <= 2; t++) {
+                        // Vertices left behind are final and must have even degree
+                        if (add(da, u) == 2 || add(db, t) == 2) continue;
+                        double cost = base + (u + t) * width;
+                        int next;
+                        if (activeA && activeB && conn == 1) {
+                            if (u == 0 && t == 0) next = j >= lastRequired ? DONE : -1;
+                            else next = state(add(0, u), add(0, t), 1);
+                        } else if (activeA && activeB) {
+                            next = u > 0 && t > 0 ? state(add(0, u), add(0, t), 0) : -1;
+                        } else if (activeA || activeB) {
+                            int keep = activeA ? u : t;
+                            int fresh = activeA ? t : u;
+                            if (keep == 0) next = fresh == 0 && j >= lastRequired ? DONE : -1;
+                            else next = state(add(0, u), add(0, t), fresh > 0 ? 0 : 1);
+                        } else {
+                            next = state(add(0, u), add(0, t), u > 0 && t > 0 ? 0 : 1);
+                        }
+                        if (next >= 0) relaxMinus(j + 1, s, next, u * 3 + t, cost);
+                    }
+                }
+            }
+        }
+
+        private boolean isFinal(int s) {
+            if (s == DONE) return true;
+            int da = degreeA(s);
+            int db = degreeB(s);
+            if (da == 2 || db == 2) return false;
+            return (da != 0 || db != 0) && (connected(s) == 1 || da == 0 || db == 0);
+        }
+
+        private void relaxPlus(int j, int from, int to, int choice, double cost) {
+            if (cost < plus[j][to]) {
+                plus[j][to] = cost;
+                plusFrom[j][to] = from;
+                plusChoice[j][to] = choice;
+            }
+        }
+
+        private void relaxMinus(int j, int from, int to, int crossing, double cost) {
+            if (cost < minus[j][to]) {
+                minus[j][to] = cost;
+                minusFrom[j][to] = from;
+                minusCross[j][to] = crossing;
+            }
+        }
+
+        /**
+         * Vertical choice per aisle and cross-edge copies (u * 3 + t) after each aisle
+         */
+        private int[][] reconstruct(int finalState) {
+            int[] choices = new int[m];
+            int[] crossings = new int[m];
+            int s = finalState;
+            for (int j = m - 1; j >= 0; j--) {
+                choices[j] = plusChoice[j][s];
+                s = plusFrom[j][s];
+                if (j > 0) {
+                    crossings[j - 1] = minusCross[j][s];
+                    s = minusFrom[j][s];
+                }
+            }
+            return new int[][] { choices, crossings };
+        }
+
+        /**
+         * Build the chosen multigraph and list picks in the order an Euler circuit from the depot
+         * first reaches them
+         */
+        private int[] walk(int[][] plan) {
+            int[] choices = plan[0];
+            int[] crossings = plan[1];
+
+            // Vertices: front and back of each aisle, then one per stop position
+            int[][] pointVertex = new int[m][];
+            int vertices = 2 * m;
+            for (int j = 0; j < m; j++) {
+                pointVertex[j] = new int[positions[j].length];
+                for (int i = 0; i < positions[j].length; i++) pointVertex[j][i] = vertices++;
+            }
+            List<int[]> edges = new ArrayList<>();
+            for (int j = 0; j < m; j++) {
+                int frontVertex = 2 * j;
+                int backVertex = 2 * j + 1;
+                int k = positions[j].length;
+                int[] chain = new int[k + 2];
+                chain[0] = frontVertex;
+                System.arraycopy(pointVertex[j], 0, chain, 1, k);
+                chain[k + 1] = backVertex;
+
+                int choice = choices[j];
+                if (choice == FULL || choice == DOUBLE) {
+                    int copies = choice == FULL ? 1 : 2;
+                    for (int c = 0; c < copies; c++) {
+                        for (int i = 0; i + 1 < chain.length; i++) edges.add(new int[] { chain[i], chain[i + 1] });
+                    }
+                } else if (choice >= 0) {
+                    for (int c = 0; c < 2; c++) {
+                        for (int i = 0; i < choice; i++) edges.add(new int[] { chain[i], chain[i + 1] });
+                        for (int i = choice + 1; i < k + 1; i++) edges.add(new int[] { chain[i], chain[i + 1] });
+                    }
+                }
+                if (j + 1 < m) {
+                    int u = crossings[j] / 3;
+                    int t = crossings[j] % 3;
+                    for (int c = 0; c < u; c++) edges.add(new int[] { frontVertex, 2 * (j + 1) });
+                    for (int c = 0; c < t; c++) edges.add(new int[] { backVertex, 2 * (j + 1) + 1 });
+                }
+            }
+
+            List<List<Integer>> adjacency = new ArrayList<>(vertices);
+            for (int v = 0; v < vertices; v++) adjacency.add(new ArrayList<>());
+            for (int e = 0; e < edges.size(); e++) {
+                adjacency.get(edges.get(e)[0]).add(e);
+                adjacency.get(edges.get(e)[1]).add(e);
+            }
+
+            int depotIndex = Arrays.binarySearch(positions[block.depotAisle], block.depotPosition);
+            int depotVertex = pointVertex[block.depotAisle][depotIndex];
+
+            // Hierholzer's algorithm
+            boolean[] used = new boolean[edges.size()];
+            int[] next = new int[vertices];
+            Deque<Integer> stack = new ArrayDeque<>();
+            List<Integer> circuit = new ArrayList<>();
+            stack.push(depotVertex);
+            while (!stack.isEmpty()) {
+                int v = stack.peek();
+                List<Integer> incident = adjacency.get(v);
+                while (next[v] < incident.size() && used[incident.get(next[v])]) next[v]++;
+                if (next[v] == incident.size()) {
+                    circuit.add(stack.pop());
+                } else {
+                    int e = incident.get(next[v]++);
+                    used[e] = true;
+                    stack.push(edges.get(e)[0] == v ? edges.get(e)[1] : edges.get(e)[0]);
+                }
+            }
+
+            Map<Integer, List<Integer>> nodesAt = new HashMap<>();
+            for (int j = 0; j < m; j++) {
+                for (int i = 0; i < positions[j].length; i++) {
+                    nodesAt.put(pointVertex[j][i], block.points.get(j).get(positions[j][i]));
+                }
+            }
+            List<Integer> order = new ArrayList<>();
+            Set<Integer> seen = new HashSet<>();
+            for (int v : circuit) {
+                List<Integer> nodes = nodesAt.get(v);
+                if (nodes == null || !seen.add(v)) continue;
+                for (int node : nodes) {
+                    if (node != 0) order.add(node);
+                }
+            }
+            return order.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        private static int state(int da, int db, int conn) {
+            if (da == 0 || db == 0) conn = 1;
+            return (da * 3 + db) * 2 + conn;
+        }
+
+        private static int degreeA(int s) { return s / 6; }
+
+        private static int degreeB(int s) { return (s / 2) % 3; }
+
+        private static int connected(int s) { return s % 2; }
+
+        /**
+         * Degree class after adding edges: 0 none, 1 even, 2 odd
+         */
+        private static int add(int degree, int edges) {
+            if (edges == 0) return degree;
+            boolean odd = (degree == 2) != (edges % 2 == 1);
+            return odd ? 2 : 1;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Cheapest insertion of new stops into an existing {@code int[]} tour with fixed first and last
+ * stops. Each round inserts the node whose best insertion point adds the least cost, so stops
+ * already in the tour keep their relative order. Without a fixed end a node may also be
+ * appended after the last stop.
+ */
+public final class CheapestInsertion {
+
+    private CheapestInsertion() {}
+
+    /**
+     * New tour holding the given tour with every node inserted
+     */
+    public static int[] insert(CostMatrix matrix, int[] tour, int[] nodes) {
+        int[] result = Arrays.copyOf(tour, tour.length + nodes.length);
+        int length = tour.length;
+        boolean[] inserted = new boolean[nodes.length];
+
+        for (int round = 0; round < nodes.length; round++) {
+            int bestNode = -1;
+            int bestAfter = -1;
+            double bestDelta = Double.POSITIVE_INFINITY;
+
+            for (int k = 0; k < nodes.length; k++) {
+                if (inserted[k]) continue;
+                int v = nodes[k];
+                // Between result[i] and result[i + 1]; the last slot appends to an open route
+                int lastSlot = matrix.hasEnd() ? length - 2 : length - 1;
+                for (int i = 0; i <= lastSlot; i++) {
+                    int a = result[i];
+                    double delta = matrix.cost(a, v);
+                    if (i + 1 < length) {
+                        int b = result[i + 1];
+                        delta += matrix.cost(v, b) - matrix.cost(a, b);
+                    }
+                    if (delta < bestDelta) {
+                        bestDelta = delta;
+                        bestNode = k;
+                        bestAfter = i;
+                    }
+                }
+            }
+
+            System.arraycopy(result, bestAfter + 1, result, bestAfter + 2, length - bestAfter - 1);
+            result[bestAfter + 1] = nodes[bestNode];
+            inserted[bestNode] = true;
+            length++;
+        }
+        return result;
+    }
+}
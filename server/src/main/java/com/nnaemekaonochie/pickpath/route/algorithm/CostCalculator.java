@@ -1,6 +1,8 @@
 package com.nnaemekaonochie.pickpath.route.algorithm;
 
 import com.nnaemekaonochie.pickpath.domain.Location;
+import com.nnaemekaonochie.pickpath.layout.LayoutSnapshotService;
+import com.nnaemekaonochie.pickpath.layout.StopDistances;
 import com.nnaemekaonochie.pickpath.route.dto.CostWeights;
 import com.nnaemekaonochie.pickpath.route.dto.RouteConstraints;
 import org.springframework.stereotype.Component;
@@ -9,6 +11,12 @@ import java.util.*;
 
 @Component
 public class CostCalculator {
+
+    private final LayoutSnapshotService layoutSnapshots;
+
+    public CostCalculator(LayoutSnapshotService layoutSnapshots) {
+        this.layoutSnapshots = layoutSnapshots;
+    }
     
     /**
      * Calculate total cost between two locations including penalties
@@ -18,7 +26,7 @@ public class CostCalculator {
             weights = new CostWeights();
         }
         
-        double baseCost = manhattanDistance(from.getX(), from.getY(), to.getX(), to.getY());
+        double baseCost = walkingDistance(from, to);
         double totalCost = baseCost * weights.getDistanceWeight();
         
         // Aisle crossing penalty
@@ -31,14 +39,78 @@ public class CostCalculator {
             totalCost += weights.getTurnPenalty();
         }
         
-        // Blocked zone penalty (simplified - would need layout data)
-        if (constraints != null && constraints.getAvoidBlockedZones()) {
-            totalCost += calculateBlockedZonePenalty(from, to, weights);
-        }
-        
         return totalCost;
     }
     
+    /**
+     * Build the cost matrix for a route from start through the picks to an optional end.
+     * Produces exactly the values calculateCost would, but resolves weights, walking
+     * distances and aisle/zone strings once instead of on every lookup.
+     */
+    public CostMatrix buildMatrix(Location start, List<Location> pickLocations, Location end,
+                                  CostWeights weights, RouteConstraints constraints) {
+        boolean hasEnd = end != null && !end.equals(start);
+        Location[] nodes = new Location[1 + pickLocations.size() + (hasEnd ? 1 : 0)];
+        nodes[0] = start;
+        for (int i = 0; i < pickLocations.size(); i++) {
+            nodes[i + 1] = pickLocations.get(i);
+        }
+        if (hasEnd) {
+            nodes[nodes.length - 1] = end;
+        }
+        return buildMatrix(nodes, hasEnd, weights, constraints);
+    }
+
+    /**
+     * Build the cost matrix for an existing route whose first and last stops are fixed
+     */
+    public CostMatrix buildMatrix(List<Location> route, CostWeights weights, RouteConstraints constraints) {
+        return buildMatrix(route.toArray(new Location[0]), route.size() > 1, weights, constraints);
+    }
+
+    private CostMatrix buildMatrix(Location[] nodes, boolean hasEnd,
+                                   CostWeights weights, RouteConstraints constraints) {
+        if (weights == null) {
+            weights = new CostWeights();
+        }
+
+        double distanceWeight = weights.getDistanceWeight();
+        double aisleCrossingPenalty = weights.getAisleCrossingPenalty();
+        double zoneTransitionPenalty = weights.getTurnPenalty();
+        StopDistances distances = layoutSnapshots.current().stopDistances(nodes);
+
+        int n = nodes.length;
+        int[] aisles = new int[n];
+        int[] zones = new int[n];
+        Map<String, Integer> aisleIds = new HashMap<>();
+        Map<String, Integer> zoneIds = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            aisles[i] = aisleIds.computeIfAbsent(nodes[i].getAisle(), k -> aisleIds.size());
+            zones[i] = zoneIds.computeIfAbsent(nodes[i].getZone(), k -> zoneIds.size());
+        }
+
+        double[] costs = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double cost = distances.distance(i, j) * distanceWeight;
+                if (aisles[i] != aisles[j]) cost += aisleCrossingPenalty;
+                if (zones[i] != zones[j]) cost += zoneTransitionPenalty;
+                costs[i * n + j] = cost;
+                costs[j * n + i] = cost;
+            }
+        }
+
+        return new CostMatrix(nodes, hasEnd, costs);
+    }
+
+    /**
+     * Shortest walking distance through the aisle graph; Manhattan distance when the
+     * layout has no walking graph or the pair is not connected
+     */
+    public double walkingDistance(Location from, Location to) {
+        return layoutSnapshots.current().stopDistances(new Location[] { from, to }).distance(0, 1);
+    }
+
     /**
      * Calculate Manhattan distance between two points
      */
@@ -66,15 +138,6 @@ public class CostCalculator {
         return 0.0;
     }
     
-    /**
-     * Calculate blocked zone penalty (placeholder implementation)
-     */
-    private double calculateBlockedZonePenalty(Location from, Location to, CostWeights weights) {
-        // In a real implementation, this would check against a layout map
-        // For now, return 0 as we don't have blocked zone data
-        return 0.0;
-    }
-    
     /**
      * Calculate efficiency score (0-1, where 1 is optimal)
      */
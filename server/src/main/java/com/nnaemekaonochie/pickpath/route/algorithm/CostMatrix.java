@@ -0,0 +1,165 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+import com.nnaemekaonochie.pickpath.domain.Location;
+
+import java.util.*;
+
+/**
+ * Dense per-request cost matrix over the stops of one route, indexed by int node ids.
+ * Node 0 is the start; when {@link #hasEnd()} is true the last node is the fixed end,
+ * every other node is a pick. Tours are {@code int[]} permutations of the node ids.
+ */
+public final class CostMatrix {
+
+    /**
+     * Candidate list width used by the local search engines
+     */
+    public static final int DEFAULT_NEIGHBORS = 10;
+
+    private final Location[] nodes;
+    private final int size;
+    private final boolean hasEnd;
+    private final double[] costs;
+    private volatile NeighborLists neighborLists;
+    private volatile double lowerBound = Double.NaN;
+
+    CostMatrix(Location[] nodes, boolean hasEnd, double[] costs) {
+        this.nodes = nodes;
+        this.size = nodes.length;
+        this.hasEnd = hasEnd;
+        this.costs = costs;
+    }
+
+    /**
+     * Wrap a plain distance matrix; the first and last nodes are treated as fixed ends
+     * and there are no locations to map tours back to.
+     */
+    public static CostMatrix of(double[][] dist) {
+        int n = dist.length;
+        double[] costs = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(dist[i], 0, costs, i * n, n);
+        }
+        return new CostMatrix(new Location[n], n > 1, costs);
+    }
+
+    public int size() { return size; }
+
+    public boolean hasEnd() { return hasEnd; }
+
+    /**
+     * Index of the first pick node (always 1)
+     */
+    public int firstPick() { return 1; }
+
+    /**
+     * Index of the last pick node, inclusive
+     */
+    public int lastPick() { return hasEnd ? size - 2 : size - 1; }
+
+    public int pickCount() { return Math.max(0, lastPick()); }
+
+    public double cost(int from, int to) {
+        return costs[from * size + to];
+    }
+
+    /**
+     * K-nearest candidate lists, built on first use and shared by every strategy on this matrix
+     */
+    public NeighborLists neighborLists() {
+        NeighborLists lists = neighborLists;
+        if (lists == null) {
+            lists = NeighborLists.build(this, DEFAULT_NEIGHBORS);
+            neighborLists = lists;
+        }
+        return lists;
+    }
+
+    /**
+     * Held-Karp lower bound on the cheapest tour, computed on first use and shared like the
+     * neighbor lists
+     */
+    public double lowerBound() {
+        double bound = lowerBound;
+        if (Double.isNaN(bound)) {
+            bound = HeldKarpBound.compute(this);
+            lowerBound = bound;
+        }
+        return bound;
+    }
+
+    /**
+     * Replace the lower bound with the cost of a proven optimal tour
+     */
+    void recordOptimum(double cost) {
+        lowerBound = cost;
+    }
+
+    /**
+     * Tour cost at which search may stop: within gapPercent of the lower bound.
+     * A negative gap never stops early.
+     */
+    public double stoppingCost(double gapPercent) {
+        if (gapPercent < 0) return Double.NEGATIVE_INFINITY;
+        return lowerBound() * (1.0 + gapPercent / 100.0);
+    }
+
+    public Location location(int node) {
+        return nodes[node];
+    }
+
+    /**
+     * Total cost of walking the tour in order
+     */
+    public double tourCost(int[] tour) {
+        double total = 0.0;
+        for (int i = 0; i < tour.length - 1; i++) {
+            total += costs[tour[i] * size + tour[i + 1]];
+        }
+        return total;
+    }
+
+    /**
+     * Tour visiting nodes in id order (start, picks as given, end)
+     */
+    public int[] identityTour() {
+        int[] tour = new int[size];
+        for (int i = 0; i < size; i++) {
+            tour[i] = i;
+        }
+        return tour;
+    }
+
+    /**
+     * Matrix over the start, the given picks in order and the end, sharing this matrix's costs
+     * instead of recomputing them
+     */
+    public CostMatrix subMatrix(int[] picks) {
+        int m = picks.length + (hasEnd ? 2 : 1);
+        int[] keep = new int[m];
+        keep[0] = 0;
+        System.arraycopy(picks, 0, keep, 1, picks.length);
+        if (hasEnd) keep[m - 1] = size - 1;
+
+        Location[] subNodes = new Location[m];
+        double[] subCosts = new double[m * m];
+        for (int i = 0; i < m; i++) {
+            subNodes[i] = nodes[keep[i]];
+            for (int j = 0; j < m; j++) {
+                subCosts[i * m + j] = costs[keep[i] * size + keep[j]];
+            }
+        }
+        return new CostMatrix(subNodes, hasEnd, subCosts);
+    }
+
+    /**
+     * Map a tour back to the locations it visits
+     */
+    public List<Location> toRoute(int[] tour) {
+        List<Location> route = new ArrayList<>(tour.length);
+        for (int node : tour) {
+            route.add(nodes[node]);
+        }
+        return route;
+    }
+}
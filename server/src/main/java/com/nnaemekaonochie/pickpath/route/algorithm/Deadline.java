@@ -0,0 +1,81 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+/**
+ * Monotonic wall-clock budget for anytime searches. Checking it is a single
+ * {@link System#nanoTime()} call, so loops can poll it between moves. A cancellable
+ * deadline also expires as soon as it is cancelled, and so do its slices.
+ */
+public final class Deadline {
+
+    /**
+     * A deadline that never expires
+     */
+    public static final Deadline NONE = new Deadline(Long.MAX_VALUE, false, null, false);
+
+    private final long deadlineNanos;
+    private final boolean bounded;
+    private final Deadline parent;
+    private final boolean cancellable;
+    private volatile boolean cancelled;
+
+    private Deadline(long deadlineNanos, boolean bounded, Deadline parent, boolean cancellable) {
+        this.deadlineNanos = deadlineNanos;
+        this.bounded = bounded;
+        this.parent = parent;
+        this.cancellable = cancellable;
+    }
+
+    /**
+     * Deadline the given number of milliseconds from now; non-positive budgets mean no deadline
+     */
+    public static Deadline afterMillis(long budgetMillis) {
+        if (budgetMillis <= 0) return NONE;
+        return new Deadline(System.nanoTime() + budgetMillis * 1_000_000L, true, null, false);
+    }
+
+    /**
+     * Like {@link #afterMillis}, but expires early when {@link #cancel()} is called
+     */
+    public static Deadline cancellable(long budgetMillis) {
+        if (budgetMillis <= 0) return new Deadline(Long.MAX_VALUE, false, null, true);
+        return new Deadline(System.nanoTime() + budgetMillis * 1_000_000L, true, null, true);
+    }
+
+    /**
+     * Deadline the given number of milliseconds from now, or this one if it comes first;
+     * it expires when this one is cancelled
+     */
+    public Deadline slice(long sliceMillis) {
+        long sliceNanos = System.nanoTime() + Math.max(0L, sliceMillis) * 1_000_000L;
+        if (bounded && deadlineNanos - sliceNanos < 0) sliceNanos = deadlineNanos;
+        return new Deadline(sliceNanos, true, this, false);
+    }
+
+    /**
+     * Expire a cancellable deadline now
+     */
+    public void cancel() {
+        if (!cancellable) throw new IllegalStateException("Deadline is not cancellable");
+        cancelled = true;
+    }
+
+    /**
+     * Whether this deadline was cancelled, as opposed to running out
+     */
+    public boolean cancelled() { return cancelled; }
+
+    public boolean expired() {
+        if (cancelled || (parent != null && parent.cancelled)) return true;
+        return bounded && System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    public boolean isBounded() { return bounded; }
+
+    /**
+     * Milliseconds left before expiry, or Long.MAX_VALUE when unbounded
+     */
+    public long remainingMillis() {
+        if (!bounded) return Long.MAX_VALUE;
+        return Math.max(0L, (deadlineNanos - System.nanoTime()) / 1_000_000L);
+    }
+}
@@ -22,103 +22,88 @@ public class EnhancedTwoOptStrategy {
     public List<Location> improveRoute(List<Location> route, CostWeights weights, RouteConstraints constraints) {
         if (route.size() < 4) return route;
         
-        List<Location> improved = new ArrayList<>(route);
-        boolean improvement = true;
-        int iterations = 0;
-        int maxIterations = 1000;
-        
-        while (improvement && iterations < maxIterations) {
-            improvement = false;
-            iterations++;
-            
-            for (int i = 1; i < improved.size() - 2; i++) {
-                for (int k = i + 1; k < improved.size() - 1; k++) {
-                    if (twoOptImproves(improved, i, k, weights, constraints)) {
-                        performTwoOptSwap(improved, i, k);
-                        improvement = true;
-                    }
-                }
-            }
-        }
-        
-        return improved;
+        CostMatrix matrix = costCalculator.buildMatrix(route, weights, constraints);
+        return matrix.toRoute(improveTour(matrix, matrix.identityTour()));
     }
     
     /**
-     * Check if 2-opt swap improves the route
+     * Improve a tour over a precomputed cost matrix; first and last stops stay fixed
      */
-    private boolean twoOptImproves(List<Location> route, int i, int k, 
-                                 CostWeights weights, RouteConstraints constraints) {
-        
-        Location a = route.get(i - 1);
-        Location b = route.get(i);
-        Location c = route.get(k);
-        Location d = route.get(k + 1);
-        
-        // Calculate current cost
-        double currentCost = costCalculator.calculateCost(a, b, weights, constraints) + 
-                           costCalculator.calculateCost(c, d, weights, constraints);
-        
-        // Calculate cost after swap
-        double newCost = costCalculator.calculateCost(a, c, weights, constraints) + 
-                        costCalculator.calculateCost(b, d, weights, constraints);
-        
-        return newCost < currentCost - 1e-9; // Small epsilon for floating point comparison
+    public int[] improveTour(CostMatrix matrix, int[] tour) {
+        return improveTour(matrix, tour, null);
     }
     
     /**
-     * Perform 2-opt swap by reversing the order of cities between i and k
+     * Improve a tour over a precomputed cost matrix, counting moves into stats when given
      */
-    private void performTwoOptSwap(List<Location> route, int i, int k) {
-        while (i < k) {
-            Collections.swap(route, i, k);
-            i++;
-            k--;
-        }
+    public int[] improveTour(CostMatrix matrix, int[] tour, SearchStats stats) {
+        return improveTour(matrix, tour, Deadline.NONE, stats);
+    }
+    
+    /**
+     * Improve a tour until it converges or the deadline passes, returning the best tour so far
+     */
+    public int[] improveTour(CostMatrix matrix, int[] tour, Deadline deadline, SearchStats stats) {
+        int[] improved = tour.clone();
+        TwoOptEngine.improve(matrix, improved, deadline, stats);
+        return improved;
     }
     
     /**
-     * Optimize route using 2-opt with random restarts
+     * Optimize route using 2-opt with random restarts; the same seed gives the same route
      */
     public List<Location> optimizeWithRestarts(List<Location> route, CostWeights weights, 
-                                             RouteConstraints constraints, int restarts) {
+                                             RouteConstraints constraints, int restarts, long seed) {
         
-        List<Location> bestRoute = improveRoute(new ArrayList<>(route), weights, constraints);
-        double bestCost = calculateRouteCost(bestRoute, weights, constraints);
+        CostMatrix matrix = costCalculator.buildMatrix(route, weights, constraints);
+        int[] tour = matrix.identityTour();
         
-        Random random = new Random();
+        int[] bestTour = improveTour(matrix, tour);
+        double bestCost = matrix.tourCost(bestTour);
+        
+        SplittableRandom random = new SplittableRandom(seed);
         
         for (int restart = 0; restart < restarts; restart++) {
-            // Create a shuffled version of the route (keeping start/end fixed)
-            List<Location> shuffledRoute = new ArrayList<>(route);
-            if (shuffledRoute.size() > 2) {
-                List<Location> middle = shuffledRoute.subList(1, shuffledRoute.size() - 1);
-                Collections.shuffle(middle, random);
-            }
-            
-            // Improve the shuffled route
-            List<Location> improvedRoute = improveRoute(shuffledRoute, weights, constraints);
-            double improvedCost = calculateRouteCost(improvedRoute, weights, constraints);
+            int[] improvedTour = restartTour(matrix, tour, random.nextLong());
+            double improvedCost = matrix.tourCost(improvedTour);
             
             if (improvedCost < bestCost) {
-                bestRoute = improvedRoute;
+                bestTour = improvedTour;
                 bestCost = improvedCost;
             }
         }
         
-        return bestRoute;
+        return matrix.toRoute(bestTour);
     }
     
     /**
-     * Calculate total route cost
+     * Shuffle the stops between the fixed ends with the given seed, then improve with 2-opt
      */
-    private double calculateRouteCost(List<Location> route, CostWeights weights, RouteConstraints constraints) {
-        double totalCost = 0.0;
-        
-        for (int i = 0; i < route.size() - 1; i++) {
-            totalCost += costCalculator.calculateCost(route.get(i), route.get(i + 1), weights, constraints);
+    public int[] restartTour(CostMatrix matrix, int[] tour, long seed) {
+        return restartTour(matrix, tour, seed, null);
+    }
+    
+    /**
+     * Shuffle and improve with 2-opt, counting moves into stats when given
+     */
+    public int[] restartTour(CostMatrix matrix, int[] tour, long seed, SearchStats stats) {
+        return restartTour(matrix, tour, seed, Deadline.NONE, stats);
+    }
+    
+    /**
+     * Shuffle and improve with 2-opt until it converges or the deadline passes
+     */
+    public int[] restartTour(CostMatrix matrix, int[] tour, long seed, Deadline deadline, SearchStats stats) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] shuffledTour = tour.clone();
+        for (int i = shuffledTour.length - 2; i > 1; i--) {
+            int j = 1 + random.nextInt(i);
+            int tmp = shuffledTour[i];
+            shuffledTour[i] = shuffledTour[j];
+            shuffledTour[j] = tmp;
         }
         
-        return totalCost;
+        TwoOptEngine.improve(matrix, shuffledTour, deadline, stats);
+        return shuffledTour;
     }
 }
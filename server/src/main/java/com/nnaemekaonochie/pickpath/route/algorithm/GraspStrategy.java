@@ -0,0 +1,151 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+import com.nnaemekaonochie.pickpath.config.OptimizerProperties;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Greedy randomized adaptive search (GRASP). Each iteration builds a tour by walking to a
+ * random stop among the few cheapest unvisited ones (the restricted candidate list), then
+ * improves it with 2-opt and Or-opt. Iterations run in parallel on the solver pool and
+ * publish into a shared best-so-far by compare-and-set.
+ */
+@Component
+public class GraspStrategy {
+
+    private final ExecutorService solverExecutor;
+    private final OptimizerProperties properties;
+
+    /**
+     * Best tour so far; ties go to the earliest iteration so a given seed yields the same route
+     */
+    private record Incumbent(int[] tour, double cost, int iteration) {
+        boolean beats(Incumbent other) {
+            return cost < other.cost || (cost == other.cost && iteration < other.iteration);
+        }
+    }
+
+    public GraspStrategy(@Qualifier("solverExecutor") ExecutorService solverExecutor,
+                         OptimizerProperties properties) {
+        this.solverExecutor = solverExecutor;
+        this.properties = properties;
+    }
+
+    /**
+     * Run the configured iterations within the deadline and return the cheapest tour. The
+     * first iteration improves the seed tour itself; every other one constructs its own from
+     * a seed derived from the run seed, so results do not depend on thread scheduling.
+     * Iterations not started by the deadline are skipped and the run is marked as not
+     * converged; once the best tour is within the configured gap of the lower bound the
+     * remaining iterations are skipped as converged.
+     */
+    public int[] optimize(CostMatrix matrix, int[] seedTour, Deadline deadline, long seed, SearchStats stats) {
+        double target = matrix.stoppingCost(properties.getBoundGapPercent());
+        if (matrix.tourCost(seedTour) <= target) return seedTour;
+
+        // Build the shared candidate lists once before fanning out
+        NeighborLists neighbors = matrix.neighborLists();
+
+        AtomicReference<Incumbent> best =
+            new AtomicReference<>(new Incumbent(seedTour, matrix.tourCost(seedTour), Integer.MAX_VALUE));
+        SplittableRandom seeds = new SplittableRandom(seed);
+        List<Callable<Void>> iterations = new ArrayList<>();
+        for (int iteration = 0; iteration < Math.max(1, properties.getGraspIterations()); iteration++) {
+            int index = iteration;
+            long iterationSeed = seeds.nextLong();
+            iterations.add(() -> {
+                if (best.get().cost() <= target) return null;
+                if (deadline.expired()) {
+                    if (stats != null) stats.truncate();
+                    return null;
+                }
+                int[] tour = index == 0
+                    ? seedTour.clone()
+                    : construct(matrix, neighbors, new SplittableRandom(iterationSeed));
+                TwoOptEngine.improve(matrix, tour, deadline, stats);
+                OrOptEngine.improve(matrix, tour, deadline, stats);
+                publish(best, new Incumbent(tour, matrix.tourCost(tour), index));
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> future : solverExecutor.invokeAll(iterations)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("GRASP iteration failed", e.getCause());
+        }
+        return best.get().tour();
+    }
+
+    private static void publish(AtomicReference<Incumbent> best, Incumbent candidate) {
+        Incumbent current = best.get();
+        while (candidate.beats(current) && !best.compareAndSet(current, candidate)) {
+            current = best.get();
+        }
+    }
+
+    /**
+     * Randomized nearest neighbor: from each stop move to one of the cheapest unvisited picks,
+     * taken from the neighbor list when it still has any and by a full scan otherwise
+     */
+    int[] construct(CostMatrix matrix, NeighborLists neighbors, SplittableRandom random) {
+        int n = matrix.size();
+        int first = matrix.firstPick();
+        int last = matrix.lastPick();
+        int listSize = Math.max(1, properties.getGraspCandidateListSize());
+
+        int[] tour = new int[n];
+        if (matrix.hasEnd()) tour[n - 1] = n - 1;
+        boolean[] visited = new boolean[n];
+        int[] candidates = new int[listSize];
+        double[] costs = new double[listSize];
+
+        int current = 0;
+        for (int position = 1; position <= last; position++) {
+            int found = 0;
+            for (int rank = 0; rank < neighbors.width() && found < listSize; rank++) {
+                int node = neighbors.get(current, rank);
+                if (node >= first && node <= last && !visited[node]) candidates[found++] = node;
+            }
+            if (found == 0) found = cheapestUnvisited(matrix, current, visited, candidates, costs);
+
+            int next = candidates[random.nextInt(found)];
+            tour[position] = next;
+            visited[next] = true;
+            current = next;
+        }
+        return tour;
+    }
+
+    /**
+     * Fill candidates with the cheapest unvisited picks from a stop, returning how many were found
+     */
+    private static int cheapestUnvisited(CostMatrix matrix, int from, boolean[] visited,
+                                         int[] candidates, double[] costs) {
+        int found = 0;
+        for (int node = matrix.firstPick(); node <= matrix.lastPick(); node++) {
+            if (visited[node]) continue;
+            double cost = matrix.cost(from, node);
+            if (found == candidates.length && cost >= costs[found - 1]) continue;
+
+            // Insertion into the sorted prefix, dropping the current worst when full
+            int slot = found < candidates.length ? found++ : found - 1;
+            while (slot > 0 && costs[slot - 1] > cost) {
+                costs[slot] = costs[slot - 1];
+                candidates[slot] = candidates[slot - 1];
+                slot--;
+            }
+            costs[slot] = cost;
+            candidates[slot] = node;
+        }
+        return found;
+    }
+}
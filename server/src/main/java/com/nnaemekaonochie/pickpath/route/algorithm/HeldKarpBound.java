@@ -0,0 +1,185 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Held-Karp lower bound on the cost of the best route through a cost matrix: the largest
+ * 1-tree bound found by subgradient optimization of node penalties.
+ * <p>
+ * A route is a Hamiltonian path from the start, so it is closed into a cycle first. With a
+ * fixed end the edge (end, start) costs zero; without one, a dummy node joined to every node
+ * at zero cost lets the path end anywhere. Each iteration is an O(n^2) Prim pass, and the
+ * iteration count shrinks with the matrix so the bound stays cheap next to the search.
+ * Assumes a symmetric cost matrix, like the local search engines.
+ */
+final class HeldKarpBound {
+
+    private static final int MAX_ITERATIONS = 50;
+    // Edge evaluations spent across all iterations before the count is cut back
+    private static final long WORK_BUDGET = 10_000_000L;
+    private static final int PATIENCE = 5;
+
+    private final CostMatrix matrix;
+    private final int n;
+    private final int m;
+    private final int end;
+
+    private final double[] pi;
+    private final int[] degree;
+    private final double[] key;
+    private final int[] parent;
+    private final boolean[] inTree;
+
+    private HeldKarpBound(CostMatrix matrix) {
+        this.matrix = matrix;
+        this.n = matrix.size();
+        this.m = matrix.hasEnd() ? n : n + 1;
+        this.end = matrix.hasEnd() ? n - 1 : -1;
+        this.pi = new double[m];
+        this.degree = new int[m];
+        this.key = new double[m];
+        this.parent = new int[m];
+        this.inTree = new boolean[m];
+    }
+
+    /**
+     * Lower bound on the cheapest tour from the start through every pick (to the end, if fixed)
+     */
+    static double compute(CostMatrix matrix) {
+        int n = matrix.size();
+        if (n <= 1) return 0.0;
+        if (n == 2) return matrix.cost(0, 1);
+        return new HeldKarpBound(matrix).run();
+    }
+
+    private double run() {
+        long work = (long) m * m;
+        int iterations = (int) Math.max(1, Math.min(MAX_ITERATIONS, WORK_BUDGET / work));
+
+        // A nearest-neighbor route is an upper bound that scales the subgradient steps
+        double upper = nearestNeighborCost();
+        double best = 0.0;
+        double step = 2.0;
+        int sinceImproved = 0;
+        int[] previous = new int[m];
+
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            double bound = oneTree();
+            if (bound > best + 1e-9) {
+                best = bound;
+                sinceImproved = 0;
+            } else if (++sinceImproved >= PATIENCE) {
+                step /= 2;
+                sinceImproved = 0;
+            }
+
+            double norm = 0.0;
+            for (int i = 0; i < m; i++) {
+                int g = degree[i] - 2;
+                norm += g * g;
+            }
+            // Every node has degree two: the 1-tree is a route and the bound is exact
+            if (norm == 0.0 || upper <= best) break;
+
+            // Blend in the previous subgradient to damp oscillation between iterations
+            double t = step * (upper - bound) / norm;
+            for (int i = 0; i < m; i++) {
+                int g = degree[i] - 2;
+                pi[i] += t * (0.7 * g + 0.3 * previous[i]);
+                previous[i] = g;
+            }
+        }
+        return Math.min(best, upper);
+    }
+
+    /**
+     * Penalized 1-tree around node 0: a minimum spanning tree over the other nodes plus the two
+     * cheapest edges from node 0. Fills in node degrees and returns the penalty-adjusted bound.
+     */
+    private double oneTree() {
+        Arrays.fill(degree, 0);
+        Arrays.fill(inTree, false);
+        Arrays.fill(key, Double.POSITIVE_INFINITY);
+
+        // Prim over nodes 1..m-1, picking the next node in the same pass that relaxes keys
+        double total = 0.0;
+        int u = 1;
+        parent[1] = -1;
+        key[1] = 0.0;
+        for (int added = 0; added < m - 1; added++) {
+            inTree[u] = true;
+            total += key[u];
+            if (parent[u] >= 0) {
+                degree[u]++;
+                degree[parent[u]]++;
+            }
+
+            double piU = pi[u];
+            int next = -1;
+            double nextKey = Double.POSITIVE_INFINITY;
+            for (int v = 1; v < m; v++) {
+                if (inTree[v]) continue;
+                double cost = (u < n && v < n ? matrix.cost(u, v) : 0.0) + piU + pi[v];
+                if (cost < key[v]) {
+                    key[v] = cost;
+                    parent[v] = u;
+                }
+                if (key[v] < nextKey) {
+                    nextKey = key[v];
+                    next = v;
+                }
+            }
+            u = next;
+        }
+
+        double first = Double.POSITIVE_INFINITY;
+        double second = Double.POSITIVE_INFINITY;
+        int firstNode = -1;
+        int secondNode = -1;
+        for (int v = 1; v < m; v++) {
+            double cost = (v < n && v != end ? matrix.cost(0, v) : 0.0) + pi[0] + pi[v];
+            if (cost < first) {
+                second = first;
+                secondNode = firstNode;
+                first = cost;
+                firstNode = v;
+            } else if (cost < second) {
+                second = cost;
+                secondNode = v;
+            }
+        }
+        total += first + second;
+        degree[0] = 2;
+        degree[firstNode]++;
+        degree[secondNode]++;
+
+        double penalties = 0.0;
+        for (int i = 0; i < m; i++) {
+            penalties += pi[i];
+        }
+        return total - 2 * penalties;
+    }
+
+    /**
+     * Cost of the nearest-neighbor route from the start, ending at the fixed end if any
+     */
+    private double nearestNeighborCost() {
+        boolean[] visited = new boolean[n];
+        visited[0] = true;
+        if (end >= 0) visited[end] = true;
+
+        double total = 0.0;
+        int current = 0;
+        for (int step = 0; step < matrix.pickCount(); step++) {
+            int next = -1;
+            for (int v = matrix.firstPick(); v <= matrix.lastPick(); v++) {
+                if (!visited[v] && (next < 0 || matrix.cost(current, v) < matrix.cost(current, next))) next = v;
+            }
+            visited[next] = true;
+            total += matrix.cost(current, next);
+            current = next;
+        }
+        if (end >= 0) total += matrix.cost(current, end);
+        return total;
+    }
+}
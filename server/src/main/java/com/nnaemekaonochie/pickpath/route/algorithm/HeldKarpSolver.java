@@ -0,0 +1,114 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+/**
+ * Exact Held-Karp dynamic program for small orders: the cheapest path from the start through
+ * every pick, ending at the fixed end when the matrix has one. {@code cost[mask * k + j]} is
+ * the cheapest way to visit the pick set {@code mask} ending at pick j, filled in ascending
+ * mask order in O(2^k k^2) time. The flat tables are kept per thread and grown on demand,
+ * so repeated small orders allocate nothing. Unlike the local search engines it does not
+ * assume a symmetric matrix.
+ */
+public final class HeldKarpSolver {
+
+    /**
+     * Most picks solved exactly; the tables for this many take 12 MB per thread
+     */
+    public static final int MAX_PICKS = 16;
+
+    private static final ThreadLocal<Tables> TABLES = ThreadLocal.withInitial(Tables::new);
+
+    private static final class Tables {
+        double[] cost = new double[0];
+        int[] previous = new int[0];
+        double[] edge = new double[0];
+
+        void ensure(int length, int edges) {
+            if (cost.length < length) {
+                cost = new double[length];
+                previous = new int[length];
+            }
+            if (edge.length < edges) edge = new double[edges];
+        }
+    }
+
+    private HeldKarpSolver() {}
+
+    /**
+     * Cheapest tour through the matrix. The optimum is recorded as the matrix lower bound,
+     * since no route can beat it.
+     *
+     * @throws IllegalArgumentException when the matrix has more than {@link #MAX_PICKS} picks
+     */
+    public static int[] solve(CostMatrix matrix) {
+        int k = matrix.pickCount();
+        if (k > MAX_PICKS) {
+            throw new IllegalArgumentException("Exact solver takes at most " + MAX_PICKS + " picks, got " + k);
+        }
+        int n = matrix.size();
+        int end = matrix.hasEnd() ? n - 1 : -1;
+        if (k == 0) return matrix.identityTour();
+
+        // Pick j is matrix node j + 1; edges into each pick are copied into a dense row
+        int full = (1 << k) - 1;
+        Tables tables = TABLES.get();
+        tables.ensure((full + 1) * k, k * k);
+        double[] cost = tables.cost;
+        int[] previous = tables.previous;
+        double[] edge = tables.edge;
+        for (int i = 0; i < k; i++) {
+            for (int j = 0; j < k; j++) {
+                edge[j * k + i] = matrix.cost(i + 1, j + 1);
+            }
+        }
+
+        for (int j = 0; j < k; j++) {
+            cost[(1 << j) * k + j] = matrix.cost(0, j + 1);
+            previous[(1 << j) * k + j] = -1;
+        }
+
+        // Each entry pulls from the row of its mask without j, which is read contiguously
+        for (int mask = 1; mask <= full; mask++) {
+            if ((mask & (mask - 1)) == 0) continue;
+            int row = mask * k;
+            for (int bits = mask; bits != 0; bits &= bits - 1) {
+                int j = Integer.numberOfTrailingZeros(bits);
+                int before = (mask ^ (1 << j)) * k;
+                int into = j * k;
+                double cheapest = Double.POSITIVE_INFINITY;
+                int from = -1;
+                for (int rest = mask ^ (1 << j); rest != 0; rest &= rest - 1) {
+                    int i = Integer.numberOfTrailingZeros(rest);
+                    double candidate = cost[before + i] + edge[into + i];
+                    if (from < 0 || candidate < cheapest) {
+                        cheapest = candidate;
+                        from = i;
+                    }
+                }
+                cost[row + j] = cheapest;
+                previous[row + j] = from;
+            }
+        }
+
+        int last = 0;
+        double best = Double.POSITIVE_INFINITY;
+        for (int j = 0; j < k; j++) {
+            double total = cost[full * k + j] + (end >= 0 ? matrix.cost(j + 1, end) : 0.0);
+            if (j == 0 || total < best) {
+                best = total;
+                last = j;
+            }
+        }
+
+        int[] tour = new int[n];
+        if (end >= 0) tour[n - 1] = end;
+        int mask = full;
+        for (int position = k; position >= 1; position--) {
+            tour[position] = last + 1;
+            int before = previous[mask * k + last];
+            mask &= ~(1 << last);
+            last = before;
+        }
+        matrix.recordOptimum(best);
+        return tour;
+    }
+}
@@ -0,0 +1,113 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+import com.nnaemekaonochie.pickpath.config.OptimizerProperties;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+@Component
+public class HybridStrategy {
+
+    private final EnhancedTwoOptStrategy enhancedTwoOptStrategy;
+    private final OrOptStrategy orOptStrategy;
+    private final ExecutorService solverExecutor;
+    private final OptimizerProperties properties;
+
+    public HybridStrategy(EnhancedTwoOptStrategy enhancedTwoOptStrategy,
+                          OrOptStrategy orOptStrategy,
+                          @Qualifier("solverExecutor") ExecutorService solverExecutor,
+                          OptimizerProperties properties) {
+        this.enhancedTwoOptStrategy = enhancedTwoOptStrategy;
+        this.orOptStrategy = orOptStrategy;
+        this.solverExecutor = solverExecutor;
+        this.properties = properties;
+    }
+
+    /**
+     * Run 2-opt, Or-opt and seeded randomized restarts from one shared seed tour in parallel
+     * and return the cheapest result. Candidates still pending at the deadline are cancelled.
+     * Ties go to the earliest candidate, so a given seed always yields the same route.
+     * Restarts only run when the plain candidates leave the best tour further than the
+     * configured gap from the lower bound. Moves of every candidate are counted into stats when given.
+     */
+    public int[] optimize(CostMatrix matrix, int[] seedTour, long seed, SearchStats stats) {
+        return optimize(matrix, seedTour, Deadline.afterMillis(properties.getHybridTimeBudgetMs()), seed, stats);
+    }
+
+    /**
+     * Optimize within the given deadline. Every candidate polls the deadline and returns its
+     * best tour so far, so none is cancelled mid-search; restarts that have not begun by then
+     * are skipped and the run is marked as not converged.
+     */
+    public int[] optimize(CostMatrix matrix, int[] seedTour, Deadline deadline, long seed, SearchStats stats) {
+        double target = matrix.stoppingCost(properties.getBoundGapPercent());
+        if (matrix.tourCost(seedTour) <= target) return seedTour;
+
+        // Build the shared candidate lists once before fanning out
+        matrix.neighborLists();
+
+        // Or-opt never makes a tour worse, so 2-opt followed by Or-opt covers plain 2-opt too
+        List<Callable<int[]>> candidates = new ArrayList<>();
+        candidates.add(() -> orOptStrategy.improveTour(matrix,
+                enhancedTwoOptStrategy.improveTour(matrix, seedTour, deadline, stats), deadline, stats));
+        candidates.add(() -> orOptStrategy.improveTour(matrix, seedTour, deadline, stats));
+        int[] bestTour = cheapest(matrix, candidates, seedTour, stats);
+        if (matrix.tourCost(bestTour) <= target) return bestTour;
+
+        List<Callable<int[]>> restarts = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int restart = 0; restart < properties.getHybridRestarts(); restart++) {
+            long restartSeed = random.nextLong();
+            restarts.add(() -> deadline.expired()
+                    ? null
+                    : orOptStrategy.improveTour(matrix,
+                            enhancedTwoOptStrategy.restartTour(matrix, seedTour, restartSeed, deadline, stats), deadline, stats));
+        }
+        return cheapest(matrix, restarts, bestTour, stats);
+    }
+
+    /**
+     * Run the candidates in parallel and return the cheapest tour, or the incumbent when none
+     * beats it. A candidate that returns null was skipped at the deadline.
+     */
+    private int[] cheapest(CostMatrix matrix, List<Callable<int[]>> candidates, int[] incumbent, SearchStats stats) {
+        List<Future<int[]>> futures;
+        try {
+            futures = solverExecutor.invokeAll(candidates);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return incumbent;
+        }
+
+        int[] bestTour = incumbent;
+        double bestCost = matrix.tourCost(incumbent);
+        for (Future<int[]> future : futures) {
+            int[] tour = completedTour(future);
+            if (tour == null) {
+                if (stats != null) stats.truncate();
+                continue;
+            }
+
+            double cost = matrix.tourCost(tour);
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestTour = tour;
+            }
+        }
+
+        return bestTour;
+    }
+
+    private int[] completedTour(Future<int[]> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Hybrid candidate failed", e.getCause());
+        }
+    }
+}
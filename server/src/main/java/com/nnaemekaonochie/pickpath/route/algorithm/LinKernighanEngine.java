@@ -0,0 +1,251 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Variable-depth Lin-Kernighan search over an {@code int[]} tour with fixed first and last stops.
+ * Each step is a sequential 2-opt flip that keeps t1 in place: the edge (t1, t2) is broken,
+ * t2 is joined to a candidate t4 from its neighbor list, and the freed t3 becomes the next t2.
+ * The chain follows the positive-gain criterion up to {@link #MAX_DEPTH} flips and is rolled
+ * back to the prefix with the best closing gain. Assumes a symmetric cost matrix.
+ */
+public final class LinKernighanEngine {
+
+    public static final int MAX_DEPTH = 8;
+
+    private static final double EPSILON = 1e-9;
+    // Check the deadline once every 16 nodes polled
+    private static final int DEADLINE_POLL_MASK = 15;
+
+    private final CostMatrix matrix;
+    private final Deadline deadline;
+    private final NeighborLists neighbors;
+    private final int[] tour;
+    private final int[] pos;
+
+    // Flips applied by the current chain, as reversed position ranges
+    private final int[] flipFrom = new int[MAX_DEPTH];
+    private final int[] flipTo = new int[MAX_DEPTH];
+    // Edges added by the current chain; they may not be broken again in the same chain
+    private final int[] addedFrom = new int[MAX_DEPTH];
+    private final int[] addedTo = new int[MAX_DEPTH];
+
+    // Don't-look bits kept as a FIFO of active nodes; a node is active while queued
+    private final int[] queue;
+    private final boolean[] queued;
+    private int head;
+    private int count;
+
+    // Candidate flips scored, for SearchStats
+    private long tried;
+    // Set when the deadline stopped the search before it reached a local optimum
+    private boolean truncated;
+
+    private LinKernighanEngine(CostMatrix matrix, int[] tour, Deadline deadline) {
+        this.matrix = matrix;
+        this.deadline = deadline;
+        this.neighbors = matrix.neighborLists();
+        this.tour = tour;
+        this.pos = new int[matrix.size()];
+        this.queue = new int[tour.length];
+        this.queued = new boolean[matrix.size()];
+
+        Arrays.fill(pos, -1);
+        for (int i = 0; i < tour.length; i++) {
+            pos[tour[i]] = i;
+            push(tour[i]);
+        }
+    }
+
+    /**
+     * Improve the tour in place until no improving chain starts from any node.
+     * The tour may cover any subset of the matrix nodes.
+     *
+     * @return number of improving chains applied
+     */
+    public static int improve(CostMatrix matrix, int[] tour) {
+        return improve(matrix, tour, null);
+    }
+
+    /**
+     * Improve the tour in place, adding flips tried and chains applied to stats when given
+     *
+     * @return number of improving chains applied
+     */
+    public static int improve(CostMatrix matrix, int[] tour, SearchStats stats) {
+        return improve(matrix, tour, Deadline.NONE, stats);
+    }
+
+    /**
+     * Improve the tour in place until no improving chain remains or the deadline passes,
+     * leaving the best tour reached so far. A deadline stop is flagged in stats when given.
+     *
+     * @return number of improving chains applied
+     */
+    public static int improve(CostMatrix matrix, int[] tour, Deadline deadline, SearchStats stats) {
+        if (tour.length < 4) return 0;
+        LinKernighanEngine engine = new LinKernighanEngine(matrix, tour, deadline);
+        int moves = engine.run();
+        if (stats != null) {
+            stats.record(engine.tried, moves);
+            if (engine.truncated) stats.truncate();
+        }
+        return moves;
+    }
+
+    private int run() {
+        int moves = 0;
+        int polls = 0;
+        while (count > 0) {
+            if ((++polls & DEADLINE_POLL_MASK) == 0 && deadline.expired()) {
+                truncated = true;
+                break;
+            }
+            int t1 = poll();
+            int p1 = pos[t1];
+            if ((p1 < tour.length - 1 && chain(t1, tour[p1 + 1]))
+                    || (p1 > 0 && chain(t1, tour[p1 - 1]))) {
+                moves++;
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Grow a flip chain starting by breaking (t1, t2); keeps the best prefix if it gains
+     */
+    private boolean chain(int t1, int t2) {
+        double gain = matrix.cost(t1, t2);
+        double bestClosingGain = EPSILON;
+        int bestDepth = 0;
+        int depth = 0;
+
+        while (depth < MAX_DEPTH) {
+            boolean successor = pos[t2] == pos[t1] + 1;
+
+            // Choose the candidate t4 with the largest partial gain after breaking (t3, t4)
+            int bestT4 = -1;
+            int bestT3 = -1;
+            double bestGain = 0.0;
+            for (int rank = 0; rank < neighbors.width(); rank++) {
+                int t4 = neighbors.get(t2, rank);
+                double joined = gain - matrix.cost(t2, t4);
+                if (joined <= EPSILON) break;
+
+                int t3 = flipPartner(t1, t2, t4, successor);
+                if (t3 < 0 || wasAdded(t3, t4, depth)) continue;
+
+                tried++;
+                double partial = joined + matrix.cost(t3, t4);
+                if (partial > bestGain) {
+                    bestGain = partial;
+                    bestT4 = t4;
+                    bestT3 = t3;
+                }
+            }
+            if (bestT4 < 0) break;
+
+            flip(t1, t2, bestT3, bestT4, successor, depth);
+            addedFrom[depth] = t2;
+            addedTo[depth] = bestT4;
+            depth++;
+
+            gain = bestGain;
+            double closingGain = gain - matrix.cost(bestT3, t1);
+            if (closingGain > bestClosingGain) {
+                bestClosingGain = closingGain;
+                bestDepth = depth;
+            }
+            t2 = bestT3;
+        }
+
+        // Undo the flips past the best prefix, newest first
+        for (int d = depth - 1; d >= bestDepth; d--) {
+            reverse(flipFrom[d], flipTo[d]);
+        }
+        if (bestDepth == 0) return false;
+
+        for (int d = 0; d < bestDepth; d++) {
+            push(addedFrom[d]);
+            push(addedTo[d]);
+            push(tour[flipFrom[d]]);
+            push(tour[flipTo[d]]);
+        }
+        push(t1);
+        return true;
+    }
+
+    /**
+     * The node t3 whose edge to t4 would be broken by joining t2 to t4, or -1 if the
+     * flip is degenerate or would move a fixed end
+     */
+    private int flipPartner(int t1, int t2, int t4, boolean successor) {
+        int n = tour.length;
+        int p1 = pos[t1];
+        int p2 = pos[t2];
+        int p4 = pos[t4];
+        if (p4 < 0 || t4 == t1) return -1;
+
+        if (successor) {
+            if (p4 > p2) return p4 >= p2 + 2 ? tour[p4 - 1] : -1;
+            return p4 >= 1 && p4 < p1 ? tour[p4 - 1] : -1;
+        }
+        if (p4 > p1) return p4 <= n - 2 ? tour[p4 + 1] : -1;
+        return p4 <= p2 - 2 ? tour[p4 + 1] : -1;
+    }
+
+    /**
+     * Apply the flip that replaces (t1, t2) and (t3, t4) with (t2, t4) and (t3, t1)
+     */
+    private void flip(int t1, int t2, int t3, int t4, boolean successor, int depth) {
+        int from;
+        int to;
+        if (successor) {
+            if (pos[t4] > pos[t2]) { from = pos[t2]; to = pos[t3]; }
+            else { from = pos[t4]; to = pos[t1]; }
+        } else {
+            if (pos[t4] > pos[t1]) { from = pos[t1]; to = pos[t4]; }
+            else { from = pos[t3]; to = pos[t2]; }
+        }
+        reverse(from, to);
+        flipFrom[depth] = from;
+        flipTo[depth] = to;
+    }
+
+    private boolean wasAdded(int a, int b, int depth) {
+        for (int d = 0; d < depth; d++) {
+            if ((addedFrom[d] == a && addedTo[d] == b) || (addedFrom[d] == b && addedTo[d] == a)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void reverse(int from, int to) {
+        while (from < to) {
+            int tmp = tour[from];
+            tour[from] = tour[to];
+            tour[to] = tmp;
+            pos[tour[from]] = from;
+            pos[tour[to]] = to;
+            from++;
+            to--;
+        }
+    }
+
+    private void push(int node) {
+        if (queued[node]) return;
+        queued[node] = true;
+        int tail = head + count;
+        queue[tail >= queue.length ? tail - queue.length : tail] = node;
+        count++;
+    }
+
+    private int poll() {
+        int node = queue[head];
+        head = head + 1 == queue.length ? 0 : head + 1;
+        count--;
+        queued[node] = false;
+        return node;
+    }
+}
@@ -0,0 +1,118 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+import com.nnaemekaonochie.pickpath.config.OptimizerProperties;
+import com.nnaemekaonochie.pickpath.domain.Location;
+import com.nnaemekaonochie.pickpath.route.dto.CostWeights;
+import com.nnaemekaonochie.pickpath.route.dto.RouteConstraints;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+@Component
+public class LinKernighanStrategy {
+
+    private static final int MAX_KICK_SEGMENT = 50;
+
+    private final CostCalculator costCalculator;
+    private final OptimizerProperties properties;
+
+    public LinKernighanStrategy(CostCalculator costCalculator, OptimizerProperties properties) {
+        this.costCalculator = costCalculator;
+        this.properties = properties;
+    }
+
+    /**
+     * Improve route using time-boxed chained Lin-Kernighan search
+     */
+    public List<Location> improveRoute(List<Location> route, CostWeights weights, RouteConstraints constraints) {
+        if (route.size() < 4) return route;
+
+        CostMatrix matrix = costCalculator.buildMatrix(route, weights, constraints);
+        return matrix.toRoute(improveTour(matrix, matrix.identityTour()));
+    }
+
+    /**
+     * Improve a tour within the configured time budget; first and last stops stay fixed
+     */
+    public int[] improveTour(CostMatrix matrix, int[] tour) {
+        return improveTour(matrix, tour, properties.getDefaultSeed());
+    }
+
+    /**
+     * Improve a tour within the configured time budget using the given kick seed
+     */
+    public int[] improveTour(CostMatrix matrix, int[] tour, long seed) {
+        return improveTour(matrix, tour, seed, null);
+    }
+
+    /**
+     * Improve a tour within the configured time budget, counting moves into stats when given
+     */
+    public int[] improveTour(CostMatrix matrix, int[] tour, long seed, SearchStats stats) {
+        return improveTour(matrix, tour, Deadline.afterMillis(properties.getLkTimeBudgetMs()), seed, stats);
+    }
+
+    /**
+     * Chained Lin-Kernighan: descend to a local optimum, then repeatedly kick the best tour
+     * with a segment swap (the path form of a double bridge) and descend again, keeping
+     * improvements. Returns the best tour found when the deadline passes, the search stalls or
+     * the tour comes within the configured gap of the lower bound.
+     */
+    public int[] improveTour(CostMatrix matrix, int[] tour, Deadline deadline, long seed, SearchStats stats) {
+        int[] best = tour.clone();
+        localSearch(matrix, best, deadline, stats);
+        double bestCost = matrix.tourCost(best);
+
+        int n = best.length;
+        if (n < 5) return best;
+
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] candidate = new int[n];
+        int maxStall = 10 * n;
+        int stall = 0;
+        double target = matrix.stoppingCost(properties.getBoundGapPercent());
+
+        while (stall < maxStall && !deadline.expired() && bestCost > target) {
+            segmentSwap(best, candidate, random);
+            localSearch(matrix, candidate, deadline, stats);
+
+            double cost = matrix.tourCost(candidate);
+            if (cost < bestCost - 1e-9) {
+                int[] tmp = best;
+                best = candidate;
+                candidate = tmp;
+                bestCost = cost;
+                stall = 0;
+            } else {
+                stall++;
+            }
+        }
+
+        if (stats != null && stall < maxStall && bestCost > target && deadline.expired()) stats.truncate();
+        return best;
+    }
+
+    /**
+     * Alternate LK chains and Or-opt until neither finds an improving move
+     */
+    private void localSearch(CostMatrix matrix, int[] tour, Deadline deadline, SearchStats stats) {
+        do {
+            LinKernighanEngine.improve(matrix, tour, deadline, stats);
+        } while (OrOptEngine.improve(matrix, tour, deadline, stats) > 0 && !deadline.expired());
+    }
+
+    /**
+     * Copy source into target with two adjacent segments [a, b) and [b, c) exchanged
+     */
+    private void segmentSwap(int[] source, int[] target, SplittableRandom random) {
+        int n = source.length;
+        int a = 1 + random.nextInt(n - 3);
+        int b = a + 1 + random.nextInt(Math.min(MAX_KICK_SEGMENT, n - 2 - a));
+        int c = b + 1 + random.nextInt(Math.min(MAX_KICK_SEGMENT, n - 1 - b));
+
+        System.arraycopy(source, 0, target, 0, a);
+        System.arraycopy(source, b, target, a, c - b);
+        System.arraycopy(source, a, target, a + c - b, b - a);
+        System.arraycopy(source, c, target, c, n - c);
+    }
+}
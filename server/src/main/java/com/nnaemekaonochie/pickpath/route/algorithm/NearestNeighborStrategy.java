@@ -22,31 +22,70 @@ public class NearestNeighborStrategy {
     public List<Location> generateRoute(Location start, List<Location> pickLocations, 
                                       Location end, CostWeights weights, RouteConstraints constraints) {
         
-        List<Location> route = new ArrayList<>();
-        Set<Location> unvisited = new HashSet<>(pickLocations);
-        Location current = start;
+        CostMatrix matrix = costCalculator.buildMatrix(start, pickLocations, end, weights, constraints);
+        return matrix.toRoute(generateTour(matrix, constraints));
+    }
+    
+    /**
+     * Generate initial tour over a precomputed cost matrix using Nearest Neighbor heuristic
+     */
+    public int[] generateTour(CostMatrix matrix, RouteConstraints constraints) {
+        int n = matrix.size();
+        int[] tour = new int[n];
+        
+        // Unvisited picks live in the tail of this array; removal swaps with the last live slot
+        int[] unvisited = new int[matrix.pickCount()];
+        for (int i = 0; i < unvisited.length; i++) {
+            unvisited[i] = matrix.firstPick() + i;
+        }
+        int remaining = unvisited.length;
+        
+        int current = 0;
+        tour[0] = current;
+        int position = 1;
         
-        route.add(current);
+        while (remaining > 0) {
+            int slot = findNearestSlot(matrix, current, unvisited, remaining, constraints);
+            current = unvisited[slot];
+            unvisited[slot] = unvisited[--remaining];
+            tour[position++] = current;
+        }
         
-        while (!unvisited.isEmpty()) {
-            Location nearest = findNearestLocation(current, unvisited, weights, constraints);
-            route.add(nearest);
-            unvisited.remove(nearest);
-            current = nearest;
+        if (matrix.hasEnd()) {
+            tour[position] = n - 1;
         }
         
-        // Add end location if different from start
-        if (end != null && !end.equals(start)) {
-            route.add(end);
+        return tour;
+    }
+    
+    /**
+     * Find the slot of the nearest unvisited node considering constraints
+     */
+    private int findNearestSlot(CostMatrix matrix, int current, int[] unvisited, int remaining,
+                                RouteConstraints constraints) {
+        
+        int nearest = -1;
+        double minCost = Double.MAX_VALUE;
+        
+        for (int slot = 0; slot < remaining; slot++) {
+            int node = unvisited[slot];
+            if (isLocationAccessible(matrix.location(node), constraints)) {
+                double cost = matrix.cost(current, node);
+                if (cost < minCost) {
+                    minCost = cost;
+                    nearest = slot;
+                }
+            }
         }
         
-        return route;
+        // Fallback: return first available location if none accessible
+        return nearest >= 0 ? nearest : 0;
     }
     
     /**
      * Find nearest unvisited location considering constraints
      */
-    private Location findNearestLocation(Location current, Set<Location> unvisited, 
+    private Location findNearestLocation(Location current, Collection<Location> unvisited, 
                                        CostWeights weights, RouteConstraints constraints) {
         
         Location nearest = null;
@@ -97,15 +136,16 @@ public class NearestNeighborStrategy {
             List<Location> currentRoute = new ArrayList<>();
             currentRoute.add(start);
             
+            // Every trip takes at least one stop, so a non-positive capacity still terminates
             int capacity = constraints != null && constraints.getMaxCapacity() != null 
-                         ? constraints.getMaxCapacity() 
+                         ? Math.max(1, constraints.getMaxCapacity()) 
                          : Integer.MAX_VALUE;
             
             Location current = start;
             int currentLoad = 0;
             
             while (!remainingLocations.isEmpty() && currentLoad < capacity) {
-                Location nearest = findNearestLocation(current, new HashSet<>(remainingLocations), weights, constraints);
+                Location nearest = findNearestLocation(current, remainingLocations, weights, constraints);
                 if (nearest != null) {
                     currentRoute.add(nearest);
                     remainingLocations.remove(nearest);
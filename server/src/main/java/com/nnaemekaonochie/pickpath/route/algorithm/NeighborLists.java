@@ -0,0 +1,58 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+/**
+ * K-nearest candidate lists over a cost matrix, stored flat as {@code node * width + rank}.
+ * Each row is sorted by ascending cost so local search can stop scanning as soon as
+ * a candidate edge is no longer shorter than the edge it would replace.
+ */
+public final class NeighborLists {
+
+    private final int width;
+    private final int[] neighbors;
+
+    private NeighborLists(int width, int[] neighbors) {
+        this.width = width;
+        this.neighbors = neighbors;
+    }
+
+    /**
+     * Build the k nearest neighbors of every node (k is clamped to size - 1)
+     */
+    public static NeighborLists build(CostMatrix matrix, int k) {
+        int n = matrix.size();
+        int width = Math.max(0, Math.min(k, n - 1));
+        int[] neighbors = new int[n * width];
+        double[] best = new double[width];
+
+        for (int i = 0; i < n; i++) {
+            int row = i * width;
+            int filled = 0;
+            for (int j = 0; j < n; j++) {
+                if (j == i) continue;
+                double cost = matrix.cost(i, j);
+                if (filled == width && cost >= best[width - 1]) continue;
+
+                // Insertion into the sorted prefix, dropping the current worst when full
+                int slot = filled < width ? filled++ : width - 1;
+                while (slot > 0 && best[slot - 1] > cost) {
+                    best[slot] = best[slot - 1];
+                    neighbors[row + slot] = neighbors[row + slot - 1];
+                    slot--;
+                }
+                best[slot] = cost;
+                neighbors[row + slot] = j;
+            }
+        }
+
+        return new NeighborLists(width, neighbors);
+    }
+
+    public int width() { return width; }
+
+    /**
+     * The rank-th nearest neighbor of node
+     */
+    public int get(int node, int rank) {
+        return neighbors[node * width + rank];
+    }
+}
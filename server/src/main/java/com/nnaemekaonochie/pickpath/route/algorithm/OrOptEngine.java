@@ -0,0 +1,243 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * In-place Or-opt over an {@code int[]} tour with fixed first and last stops.
+ * Relocates segments of up to {@link #MAX_SEGMENT} stops, optionally reversed, and scores
+ * every candidate with an O(1) cost delta instead of re-costing the route. Insertion points
+ * are drawn from the neighbor lists of the segment ends, and don't-look bits limit the
+ * search to nodes near the last change. Assumes a symmetric cost matrix.
+ */
+public final class OrOptEngine {
+
+    public static final int MAX_SEGMENT = 3;
+
+    private static final double EPSILON = 1e-9;
+    // Check the deadline once every 16 nodes polled
+    private static final int DEADLINE_POLL_MASK = 15;
+
+    private final CostMatrix matrix;
+    private final Deadline deadline;
+    private final NeighborLists neighbors;
+    private final int[] tour;
+    private final int[] pos;
+    private final int[] segment = new int[MAX_SEGMENT];
+
+    // Don't-look bits kept as a FIFO of active nodes; a node is active while queued
+    private final int[] queue;
+    private final boolean[] queued;
+    private int head;
+    private int count;
+
+    // Candidate moves scored, for SearchStats
+    private long tried;
+    // Set when the deadline stopped the search before it reached a local optimum
+    private boolean truncated;
+
+    // Best move found for the node under inspection
+    private int moveFrom;
+    private int moveTo;
+    private int moveAfter;
+    private boolean moveReversed;
+    private double moveDelta;
+
+    private OrOptEngine(CostMatrix matrix, int[] tour, Deadline deadline) {
+        this.matrix = matrix;
+        this.deadline = deadline;
+        this.neighbors = matrix.neighborLists();
+        this.tour = tour;
+        this.pos = new int[matrix.size()];
+        this.queue = new int[tour.length];
+        this.queued = new boolean[matrix.size()];
+
+        Arrays.fill(pos, -1);
+        for (int i = 0; i < tour.length; i++) {
+            pos[tour[i]] = i;
+            push(tour[i]);
+        }
+    }
+
+    /**
+     * Improve the tour in place until no candidate relocation improves it.
+     * The tour may cover any subset of the matrix nodes.
+     *
+     * @return number of moves applied
+     */
+    public static int improve(CostMatrix matrix, int[] tour) {
+        return improve(matrix, tour, null);
+    }
+
+    /**
+     * Improve the tour in place, adding moves tried and applied to stats when given
+     *
+     * @return number of moves applied
+     */
+    public static int improve(CostMatrix matrix, int[] tour, SearchStats stats) {
+        return improve(matrix, tour, Deadline.NONE, stats);
+    }
+
+    /**
+     * Improve the tour in place until no improving move remains or the deadline passes,
+     * leaving the best tour reached so far. A deadline stop is flagged in stats when given.
+     *
+     * @return number of moves applied
+     */
+    public static int improve(CostMatrix matrix, int[] tour, Deadline deadline, SearchStats stats) {
+        if (tour.length < 4) return 0;
+        OrOptEngine engine = new OrOptEngine(matrix, tour, deadline);
+        int moves = engine.run();
+        if (stats != null) {
+            stats.record(engine.tried, moves);
+            if (engine.truncated) stats.truncate();
+        }
+        return moves;
+    }
+
+    private int run() {
+        int moves = 0;
+        int polls = 0;
+        while (count > 0) {
+            if ((++polls & DEADLINE_POLL_MASK) == 0 && deadline.expired()) {
+                truncated = true;
+                break;
+            }
+            int a = poll();
+            moveDelta = -EPSILON;
+            moveFrom = -1;
+
+            int p = pos[a];
+            for (int length = 1; length <= MAX_SEGMENT; length++) {
+                // Segments that start at a, then segments that end at a
+                evaluateSegment(p, p + length - 1);
+                if (length > 1) evaluateSegment(p - length + 1, p);
+            }
+
+            if (moveFrom >= 0) {
+                apply();
+                moves++;
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Score relocating tour[from..to] next to the neighbors of either end
+     */
+    private void evaluateSegment(int from, int to) {
+        int n = tour.length;
+        if (from < 1 || to > n - 2) return;
+
+        int first = tour[from];
+        int last = tour[to];
+        int prev = tour[from - 1];
+        int next = tour[to + 1];
+        double removalGain = matrix.cost(prev, first) + matrix.cost(last, next) - matrix.cost(prev, next);
+        if (removalGain <= EPSILON) return;
+
+        for (int rank = 0; rank < neighbors.width(); rank++) {
+            int c = neighbors.get(first, rank);
+            if (matrix.cost(first, c) >= removalGain) break;
+            int k = pos[c];
+            if (k < 0) continue;
+            // c then first: forward after c; first then c: reversed before c
+            considerInsertion(from, to, k, false, removalGain);
+            considerInsertion(from, to, k - 1, true, removalGain);
+        }
+
+        if (from == to) return;
+
+        for (int rank = 0; rank < neighbors.width(); rank++) {
+            int c = neighbors.get(last, rank);
+            if (matrix.cost(last, c) >= removalGain) break;
+            int k = pos[c];
+            if (k < 0) continue;
+            // last then c: forward before c; c then last: reversed after c
+            considerInsertion(from, to, k - 1, false, removalGain);
+            considerInsertion(from, to, k, true, removalGain);
+        }
+    }
+
+    /**
+     * Score inserting tour[from..to] between tour[after] and tour[after + 1]
+     */
+    private void considerInsertion(int from, int to, int after, boolean reversed, double removalGain) {
+        if (after < 0 || after > tour.length - 2) return;
+        if (after >= from - 1 && after <= to) return;
+
+        int u = tour[after];
+        int v = tour[after + 1];
+        int entry = reversed ? tour[to] : tour[from];
+        int exit = reversed ? tour[from] : tour[to];
+        tried++;
+        double delta = matrix.cost(u, entry) + matrix.cost(exit, v) - matrix.cost(u, v) - removalGain;
+
+        if (delta < moveDelta) {
+            moveDelta = delta;
+            moveFrom = from;
+            moveTo = to;
+            moveAfter = after;
+            moveReversed = reversed;
+        }
+    }
+
+    /**
+     * Move the chosen segment in place, shifting the stops between its old and new slot
+     */
+    private void apply() {
+        int length = moveTo - moveFrom + 1;
+        for (int s = 0; s < length; s++) {
+            segment[s] = tour[moveFrom + s];
+        }
+
+        int prev = tour[moveFrom - 1];
+        int next = tour[moveTo + 1];
+        int u = tour[moveAfter];
+        int v = tour[moveAfter + 1];
+
+        int target;
+        if (moveAfter < moveFrom) {
+            for (int i = moveFrom - 1; i > moveAfter; i--) {
+                place(tour[i], i + length);
+            }
+            target = moveAfter + 1;
+        } else {
+            for (int i = moveTo + 1; i <= moveAfter; i++) {
+                place(tour[i], i - length);
+            }
+            target = moveAfter - length + 1;
+        }
+
+        for (int s = 0; s < length; s++) {
+            place(segment[moveReversed ? length - 1 - s : s], target + s);
+        }
+
+        push(prev);
+        push(next);
+        push(u);
+        push(v);
+        push(segment[0]);
+        push(segment[length - 1]);
+    }
+
+    private void place(int node, int index) {
+        tour[index] = node;
+        pos[node] = index;
+    }
+
+    private void push(int node) {
+        if (queued[node]) return;
+        queued[node] = true;
+        int tail = head + count;
+        queue[tail >= queue.length ? tail - queue.length : tail] = node;
+        count++;
+    }
+
+    private int poll() {
+        int node = queue[head];
+        head = head + 1 == queue.length ? 0 : head + 1;
+        count--;
+        queued[node] = false;
+        return node;
+    }
+}
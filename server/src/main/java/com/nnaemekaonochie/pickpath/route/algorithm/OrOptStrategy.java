@@ -22,90 +22,30 @@ public class OrOptStrategy {
     public List<Location> improveRoute(List<Location> route, CostWeights weights, RouteConstraints constraints) {
         if (route.size() < 4) return route;
         
-        List<Location> improved = new ArrayList<>(route);
-        boolean improvement = true;
-        
-        while (improvement) {
-            improvement = false;
-            
-            // Try relocating segments of size 1, 2, and 3
-            for (int segmentSize = 1; segmentSize <= Math.min(3, improved.size() - 2); segmentSize++) {
-                if (tryRelocateSegment(improved, segmentSize, weights, constraints)) {
-                    improvement = true;
-                    break;
-                }
-            }
-        }
-        
-        return improved;
+        CostMatrix matrix = costCalculator.buildMatrix(route, weights, constraints);
+        return matrix.toRoute(improveTour(matrix, matrix.identityTour()));
     }
     
     /**
-     * Try to relocate a segment of given size to improve the route
+     * Improve a tour over a precomputed cost matrix; first and last stops stay fixed
      */
-    private boolean tryRelocateSegment(List<Location> route, int segmentSize, 
-                                     CostWeights weights, RouteConstraints constraints) {
-        
-        int routeSize = route.size();
-        
-        for (int i = 1; i < routeSize - segmentSize; i++) {
-            // Try inserting segment at each position
-            for (int j = 1; j <= routeSize - segmentSize; j++) {
-                if (j >= i && j < i + segmentSize) continue; // Skip current position
-                
-                // Create new route with relocated segment
-                List<Location> newRoute = relocateSegment(route, i, segmentSize, j);
-                double newCost = calculateRouteCost(newRoute, weights, constraints);
-                double oldCost = calculateRouteCost(route, weights, constraints);
-                
-                if (newCost < oldCost) {
-                    // Apply the improvement
-                    route.clear();
-                    route.addAll(newRoute);
-                    return true;
-                }
-            }
-        }
-        
-        return false;
+    public int[] improveTour(CostMatrix matrix, int[] tour) {
+        return improveTour(matrix, tour, null);
     }
     
     /**
-     * Relocate a segment from one position to another
+     * Improve a tour over a precomputed cost matrix, counting moves into stats when given
      */
-    private List<Location> relocateSegment(List<Location> route, int fromIndex, 
-                                         int segmentSize, int toIndex) {
-        
-        List<Location> newRoute = new ArrayList<>();
-        List<Location> segment = new ArrayList<>(route.subList(fromIndex, fromIndex + segmentSize));
-        
-        for (int i = 0; i < route.size(); i++) {
-            if (i == toIndex) {
-                newRoute.addAll(segment);
-            }
-            
-            if (i < fromIndex || i >= fromIndex + segmentSize) {
-                newRoute.add(route.get(i));
-            }
-        }
-        
-        if (toIndex >= route.size()) {
-            newRoute.addAll(segment);
-        }
-        
-        return newRoute;
+    public int[] improveTour(CostMatrix matrix, int[] tour, SearchStats stats) {
+        return improveTour(matrix, tour, Deadline.NONE, stats);
     }
     
     /**
-     * Calculate total route cost
+     * Improve a tour until it converges or the deadline passes, returning the best tour so far
      */
-    private double calculateRouteCost(List<Location> route, CostWeights weights, RouteConstraints constraints) {
-        double totalCost = 0.0;
-        
-        for (int i = 0; i < route.size() - 1; i++) {
-            totalCost += costCalculator.calculateCost(route.get(i), route.get(i + 1), weights, constraints);
-        }
-        
-        return totalCost;
+    public int[] improveTour(CostMatrix matrix, int[] tour, Deadline deadline, SearchStats stats) {
+        int[] improved = tour.clone();
+        OrOptEngine.improve(matrix, improved, deadline, stats);
+        return improved;
     }
 }
@@ -0,0 +1,206 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Clarke-Wright savings construction. Every pick starts as its own chain; chains are joined
+ * end to end in order of the saving s(i, j) = d(i) + d(j) - c(i, j), where d is the cost of
+ * serving a pick alone from the start (and end). Candidate pairs come from the K-nearest
+ * neighbor lists and sit in a primitive max-heap, so joins are popped lazily and the scan
+ * stops as soon as a single chain remains. Chains the candidates could not join are linked
+ * nearest endpoint first.
+ */
+@Component
+public class SavingsStrategy {
+
+    /**
+     * Build a tour from the start through every pick, ending at the end if the matrix has one
+     */
+    public int[] generateTour(CostMatrix matrix) {
+        int n = matrix.size();
+        int first = matrix.firstPick();
+        int last = matrix.lastPick();
+        int picks = matrix.pickCount();
+        int end = matrix.hasEnd() ? n - 1 : -1;
+
+        int[] tour = new int[n];
+        tour[0] = 0;
+        if (end >= 0) tour[n - 1] = end;
+        if (picks == 0) return tour;
+
+        double[] alone = new double[n];
+        for (int v = first; v <= last; v++) {
+            alone[v] = end >= 0 ? (matrix.cost(0, v) + matrix.cost(v, end)) / 2 : matrix.cost(0, v);
+        }
+
+        SavingsHeap heap = candidateSavings(matrix, alone);
+
+        // Chains as adjacency: up to two links per pick; tail[v] is the far end of v's chain
+        int[] linkA = new int[n];
+        int[] linkB = new int[n];
+        int[] tail = new int[n];
+        Arrays.fill(linkA, -1);
+        Arrays.fill(linkB, -1);
+        for (int v = first; v <= last; v++) {
+            tail[v] = v;
+        }
+
+        int chains = picks;
+        while (chains > 1 && heap.size() > 0) {
+            int i = heap.topFrom();
+            int j = heap.topTo();
+            heap.pop();
+            if (linkB[i] >= 0 || linkB[j] >= 0 || tail[i] == j) continue;
+
+            int ti = tail[i];
+            int tj = tail[j];
+            link(linkA, linkB, i, j);
+            tail[ti] = tj;
+            tail[tj] = ti;
+            chains--;
+        }
+
+        return joinChains(matrix, tour, linkA, linkB, tail, chains, end);
+    }
+
+    /**
+     * Savings of every neighbor-list pair of picks, each unordered pair once
+     */
+    private SavingsHeap candidateSavings(CostMatrix matrix, double[] alone) {
+        NeighborLists neighbors = matrix.neighborLists();
+        SavingsHeap heap = new SavingsHeap(matrix.pickCount() * neighbors.width());
+        for (int i = matrix.firstPick(); i <= matrix.lastPick(); i++) {
+            for (int rank = 0; rank < neighbors.width(); rank++) {
+                int j = neighbors.get(i, rank);
+                if (j < matrix.firstPick() || j > matrix.lastPick()) continue;
+                // Keep one direction unless j does not list i back
+                if (j < i && listed(neighbors, j, i)) continue;
+                heap.add(alone[i] + alone[j] - matrix.cost(i, j), i, j);
+            }
+        }
+        heap.heapify();
+        return heap;
+    }
+
+    private static boolean listed(NeighborLists neighbors, int node, int neighbor) {
+        for (int rank = 0; rank < neighbors.width(); rank++) {
+            if (neighbors.get(node, rank) == neighbor) return true;
+        }
+        return false;
+    }
+
+    private static void link(int[] linkA, int[] linkB, int i, int j) {
+        if (linkA[i] < 0) linkA[i] = j; else linkB[i] = j;
+        if (linkA[j] < 0) linkA[j] = i; else linkB[j] = i;
+    }
+
+    /**
+     * Walk the chains into one tour: from the current stop enter the chain with the nearest
+     * free endpoint; the last chain is oriented to end cheapest at the fixed end
+     */
+    private int[] joinChains(CostMatrix matrix, int[] tour, int[] linkA, int[] linkB, int[] tail,
+                             int remaining, int end) {
+        int first = matrix.firstPick();
+        int last = matrix.lastPick();
+        boolean[] placed = new boolean[matrix.size()];
+
+        int position = 1;
+        int current = 0;
+        while (remaining > 0) {
+            int entry = -1;
+            double best = Double.POSITIVE_INFINITY;
+            for (int v = first; v <= last; v++) {
+                // Free endpoints of unplaced chains; a lone pick is its own tail
+                if (placed[v] || linkB[v] >= 0) continue;
+                double cost = matrix.cost(current, v);
+                if (remaining == 1 && end >= 0) cost += matrix.cost(tail[v], end);
+                if (cost < best) {
+                    best = cost;
+                    entry = v;
+                }
+            }
+
+            int previous = -1;
+            int node = entry;
+            while (node >= 0) {
+                tour[position++] = node;
+                placed[node] = true;
+                int next = linkA[node] != previous ? linkA[node] : linkB[node];
+                previous = node;
+                node = next;
+            }
+            current = previous;
+            remaining--;
+        }
+        return tour;
+    }
+
+    /**
+     * Binary max-heap of savings over parallel primitive arrays
+     */
+    private static final class SavingsHeap {
+
+        private double[] savings;
+        private int[] from;
+        private int[] to;
+        private int size;
+
+        SavingsHeap(int capacity) {
+            savings = new double[Math.max(1, capacity)];
+            from = new int[savings.length];
+            to = new int[savings.length];
+        }
+
+        void add(double saving, int i, int j) {
+            savings[size] = saving;
+            from[size] = i;
+            to[size] = j;
+            size++;
+        }
+
+        void heapify() {
+            for (int k = size / 2 - 1; k >= 0; k--) {
+                siftDown(k);
+            }
+        }
+
+        int size() { return size; }
+
+        int topFrom() { return from[0]; }
+
+        int topTo() { return to[0]; }
+
+        void pop() {
+            size--;
+            swap(0, size);
+            siftDown(0);
+        }
+
+        private void siftDown(int k) {
+            while (true) {
+                int largest = k;
+                int left = 2 * k + 1;
+                int right = left + 1;
+                if (left < size && savings[left] > savings[largest]) largest = left;
+                if (right < size && savings[right] > savings[largest]) largest = right;
+                if (largest == k) return;
+                swap(k, largest);
+                k = largest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            double s = savings[a];
+            savings[a] = savings[b];
+            savings[b] = s;
+            int f = from[a];
+            from[a] = from[b];
+            from[b] = f;
+            int t = to[a];
+            to[a] = to[b];
+            to[b] = t;
+        }
+    }
+}
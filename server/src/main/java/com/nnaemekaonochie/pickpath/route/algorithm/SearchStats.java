@@ -0,0 +1,50 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local-search move counters for one optimization run. Engines count in plain fields and add
+ * their totals once per run, so one instance can be shared by candidates running in parallel.
+ * Searches cut short by their deadline mark the run as not converged.
+ */
+public final class SearchStats {
+
+    private final LongAdder tried = new LongAdder();
+    private final LongAdder accepted = new LongAdder();
+    private volatile boolean truncated;
+
+    void record(long movesTried, long movesAccepted) {
+        tried.add(movesTried);
+        accepted.add(movesAccepted);
+    }
+
+    /**
+     * Mark the run as cut short by its deadline
+     */
+    public void truncate() {
+        truncated = true;
+    }
+
+    /**
+     * Add the move counts of another search, such as one slice of a sliced run, leaving
+     * convergence to the caller
+     */
+    public void addMoves(SearchStats other) {
+        record(other.tried(), other.accepted());
+    }
+
+    /**
+     * Whether every search of the run finished on its own rather than at its deadline
+     */
+    public boolean converged() { return !truncated; }
+
+    /**
+     * Candidate moves whose cost delta was evaluated
+     */
+    public long tried() { return tried.sum(); }
+
+    /**
+     * Improving moves applied to a tour
+     */
+    public long accepted() { return accepted.sum(); }
+}
@@ -0,0 +1,164 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+import java.util.*;
+
+/**
+ * Generalized routing for SKUs stocked in several slots: every SKU is a cluster of candidate
+ * nodes and a route visits exactly one node per cluster. The search never enumerates slot
+ * combinations. It alternates between ordering the chosen slots with 2-opt and Or-opt and
+ * re-choosing every slot at once for that order, a shortest path through the clusters in
+ * sequence that costs the sum of products of neighboring cluster sizes. Rounds stop when
+ * neither step improves the route or the deadline passes.
+ */
+public final class SlotSelector {
+
+    private static final int MAX_ROUNDS = 8;
+
+    private SlotSelector() {}
+
+    /**
+     * Chosen node of every cluster
+     *
+     * @param matrix  start, every candidate slot and the end
+     * @param clusters candidate pick nodes of each cluster, none empty
+     */
+    public static int[] choose(CostMatrix matrix, int[][] clusters, Deadline deadline, SearchStats stats) {
+        if (clusters.length == 0) return new int[0];
+        int[] clusterOf = clusterOf(matrix, clusters);
+        int[] sequence = nearestSlots(matrix, clusters.length, clusterOf);
+        double cost = routeCost(matrix, sequence);
+
+        for (int round = 0; round < MAX_ROUNDS && !deadline.expired(); round++) {
+            sequence = reorder(matrix, sequence, deadline, stats);
+            sequence = reselect(matrix, clusters, clusterOf, sequence);
+            double next = routeCost(matrix, sequence);
+            if (next >= cost - 1e-9) break;
+            cost = next;
+        }
+
+        int[] chosen = new int[clusters.length];
+        for (int node : sequence) {
+            chosen[clusterOf[node]] = node;
+        }
+        return chosen;
+    }
+
+    /**
+     * Nearest neighbor over clusters: from each stop walk to the nearest slot of any
+     * cluster not yet visited
+     */
+    private static int[] nearestSlots(CostMatrix matrix, int clusterCount, int[] clusterOf) {
+        boolean[] visited = new boolean[clusterCount];
+        int[] sequence = new int[clusterCount];
+
+        int current = 0;
+        for (int position = 0; position < sequence.length; position++) {
+            int nearest = -1;
+            double best = Double.POSITIVE_INFINITY;
+            for (int node = matrix.firstPick(); node <= matrix.lastPick(); node++) {
+                if (visited[clusterOf[node]]) continue;
+                double cost = matrix.cost(current, node);
+                if (nearest < 0 || cost < best) {
+                    best = cost;
+                    nearest = node;
+                }
+            }
+            sequence[position] = nearest;
+            visited[clusterOf[nearest]] = true;
+            current = nearest;
+        }
+        return sequence;
+    }
+
+    /**
+     * Improve the order of the chosen slots with 2-opt and Or-opt on their sub-matrix
+     */
+    private static int[] reorder(CostMatrix matrix, int[] sequence, Deadline deadline, SearchStats stats) {
+        CostMatrix chosen = matrix.subMatrix(sequence);
+        int[] tour = chosen.identityTour();
+        TwoOptEngine.improve(chosen, tour, deadline, stats);
+        OrOptEngine.improve(chosen, tour, deadline, stats);
+
+        int[] reordered = new int[sequence.length];
+        for (int i = 0; i < reordered.length; i++) {
+            reordered[i] = sequence[tour[i + 1] - 1];
+        }
+        return reordered;
+    }
+
+    /**
+     * Cheapest slot of every cluster for the given cluster order, by dynamic programming
+     * over the clusters in sequence
+     */
+    private static int[] reselect(CostMatrix matrix, int[][] clusters, int[] clusterOf, int[] sequence) {
+        int m = sequence.length;
+        int[][] layers = new int[m][];
+        int[] offsets = new int[m + 1];
+        for (int p = 0; p < m; p++) {
+            layers[p] = clusters[clusterOf[sequence[p]]];
+            offsets[p + 1] = offsets[p] + layers[p].length;
+        }
+
+        // cost[offsets[p] + s]: cheapest way from the start to slot s of the p-th cluster
+        double[] cost = new double[offsets[m]];
+        int[] previous = new int[offsets[m]];
+        for (int s = 0; s < layers[0].length; s++) {
+            cost[s] = matrix.cost(0, layers[0][s]);
+        }
+        for (int p = 1; p < m; p++) {
+            for (int s = 0; s < layers[p].length; s++) {
+                int node = layers[p][s];
+                double best = Double.POSITIVE_INFINITY;
+                int from = 0;
+                for (int r = 0; r < layers[p - 1].length; r++) {
+                    double candidate = cost[offsets[p - 1] + r] + matrix.cost(layers[p - 1][r], node);
+                    if (candidate < best) {
+                        best = candidate;
+                        from = r;
+                    }
+                }
+                cost[offsets[p] + s] = best;
+                previous[offsets[p] + s] = from;
+            }
+        }
+
+        int slot = 0;
+        double best = Double.POSITIVE_INFINITY;
+        int end = matrix.hasEnd() ? matrix.size() - 1 : -1;
+        for (int s = 0; s < layers[m - 1].length; s++) {
+            double total = cost[offsets[m - 1] + s] + (end >= 0 ? matrix.cost(layers[m - 1][s], end) : 0.0);
+            if (total < best) {
+                best = total;
+                slot = s;
+            }
+        }
+
+        int[] reselected = new int[m];
+        for (int p = m - 1; p >= 0; p--) {
+            reselected[p] = layers[p][slot];
+            slot = previous[offsets[p] + slot];
+        }
+        return reselected;
+    }
+
+    private static double routeCost(CostMatrix matrix, int[] sequence) {
+        double cost = 0.0;
+        int current = 0;
+        for (int node : sequence) {
+            cost += matrix.cost(current, node);
+            current = node;
+        }
+        return matrix.hasEnd() ? cost + matrix.cost(current, matrix.size() - 1) : cost;
+    }
+
+    private static int[] clusterOf(CostMatrix matrix, int[][] clusters) {
+        int[] clusterOf = new int[matrix.size()];
+        Arrays.fill(clusterOf, -1);
+        for (int c = 0; c < clusters.length; c++) {
+            for (int node : clusters[c]) {
+                clusterOf[node] = c;
+            }
+        }
+        return clusterOf;
+    }
+}
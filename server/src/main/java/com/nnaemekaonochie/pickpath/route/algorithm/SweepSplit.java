@@ -0,0 +1,65 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+import com.nnaemekaonochie.pickpath.domain.Location;
+
+import java.util.*;
+
+/**
+ * Sweep split of an order into capacity-feasible trips. Picks are ordered by their angle
+ * around the start, beginning after the widest empty sector so no trip straddles a
+ * cluster, and each trip takes consecutive picks until the next would overflow it.
+ * A pick heavier than the capacity travels alone.
+ */
+public final class SweepSplit {
+
+    private SweepSplit() {}
+
+    /**
+     * Pick nodes of each trip in sweep order
+     *
+     * @param loads load of each matrix node; the start and end carry none
+     */
+    public static List<int[]> split(CostMatrix matrix, int[] loads, long capacity) {
+        int count = matrix.pickCount();
+        Location origin = matrix.location(0);
+        Integer[] picks = new Integer[count];
+        double[] angles = new double[matrix.size()];
+        for (int i = 0; i < count; i++) {
+            int node = matrix.firstPick() + i;
+            Location location = matrix.location(node);
+            picks[i] = node;
+            angles[node] = Math.atan2(location.getY() - origin.getY(), location.getX() - origin.getX());
+        }
+        Arrays.sort(picks, Comparator.comparingDouble((Integer node) -> angles[node]).thenComparingInt(node -> node));
+
+        // Rotate the sweep to start just after the widest angular gap
+        int first = 0;
+        double widest = -1.0;
+        for (int i = 0; i < count; i++) {
+            double previous = angles[picks[(i + count - 1) % count]];
+            double gap = angles[picks[i]] - previous;
+            // Only the gap from the last pick back round to the first wraps; picks at equal angles have none
+            if (i == 0) gap += 2 * Math.PI;
+            if (gap > widest) {
+                widest = gap;
+                first = i;
+            }
+        }
+
+        List<int[]> trips = new ArrayList<>();
+        List<Integer> trip = new ArrayList<>();
+        long load = 0;
+        for (int k = 0; k < count; k++) {
+            int node = picks[(first + k) % count];
+            if (!trip.isEmpty() && load + loads[node] > capacity) {
+                trips.add(trip.stream().mapToInt(Integer::intValue).toArray());
+                trip.clear();
+                load = 0;
+            }
+            trip.add(node);
+            load += loads[node];
+        }
+        if (!trip.isEmpty()) trips.add(trip.stream().mapToInt(Integer::intValue).toArray());
+        return trips;
+    }
+}
@@ -0,0 +1,199 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Allocation-free 2-opt over an {@code int[]} tour with fixed first and last stops.
+ * Candidate moves come from the matrix's K-nearest neighbor lists, and don't-look bits
+ * keep the search on nodes whose surroundings changed since they were last tried.
+ * Assumes a symmetric cost matrix, since a 2-opt move reverses a segment.
+ */
+public final class TwoOptEngine {
+
+    private static final double EPSILON = 1e-9;
+    // Check the deadline once every 16 nodes polled
+    private static final int DEADLINE_POLL_MASK = 15;
+
+    private final CostMatrix matrix;
+    private final Deadline deadline;
+    private final NeighborLists neighbors;
+    private final int[] tour;
+    private final int[] pos;
+
+    // Don't-look bits kept as a FIFO of active nodes; a node is active while queued
+    private final int[] queue;
+    private final boolean[] queued;
+    private int head;
+    private int count;
+
+    // Candidate moves scored, for SearchStats
+    private long tried;
+    // Set when the deadline stopped the search before it reached a local optimum
+    private boolean truncated;
+
+    private TwoOptEngine(CostMatrix matrix, int[] tour, Deadline deadline) {
+        this.matrix = matrix;
+        this.deadline = deadline;
+        this.neighbors = matrix.neighborLists();
+        this.tour = tour;
+        this.pos = new int[matrix.size()];
+        this.queue = new int[tour.length];
+        this.queued = new boolean[matrix.size()];
+
+        Arrays.fill(pos, -1);
+        for (int i = 0; i < tour.length; i++) {
+            pos[tour[i]] = i;
+            push(tour[i]);
+        }
+    }
+
+    /**
+     * Improve the tour in place until no candidate move improves it.
+     * The tour may cover any subset of the matrix nodes.
+     *
+     * @return number of moves applied
+     */
+    public static int improve(CostMatrix matrix, int[] tour) {
+        return improve(matrix, tour, null);
+    }
+
+    /**
+     * Improve the tour in place, adding moves tried and applied to stats when given
+     *
+     * @return number of moves applied
+     */
+    public static int improve(CostMatrix matrix, int[] tour, SearchStats stats) {
+        return improve(matrix, tour, Deadline.NONE, stats);
+    }
+
+    /**
+     * Improve the tour in place until no improving move remains or the deadline passes,
+     * leaving the best tour reached so far. A deadline stop is flagged in stats when given.
+     *
+     * @return number of moves applied
+     */
+    public static int improve(CostMatrix matrix, int[] tour, Deadline deadline, SearchStats stats) {
+        if (tour.length < 4) return 0;
+        TwoOptEngine engine = new TwoOptEngine(matrix, tour, deadline);
+        int moves = engine.run();
+        if (stats != null) {
+            stats.record(engine.tried, moves);
+            if (engine.truncated) stats.truncate();
+        }
+        return moves;
+    }
+
+    private int run() {
+        int moves = 0;
+        int polls = 0;
+        while (count > 0) {
+            if ((++polls & DEADLINE_POLL_MASK) == 0 && deadline.expired()) {
+                truncated = true;
+                break;
+            }
+            int a = poll();
+            if (trySuccessorMove(a) || tryPredecessorMove(a)) {
+                moves++;
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Replace (a, succ a) and (c, succ c) with (a, c) and (succ a, succ c)
+     */
+    private boolean trySuccessorMove(int a) {
+        int n = tour.length;
+        int p = pos[a];
+        if (p > n - 2) return false;
+
+        int b = tour[p + 1];
+        double removedAB = matrix.cost(a, b);
+
+        for (int rank = 0; rank < neighbors.width(); rank++) {
+            int c = neighbors.get(a, rank);
+            double addedAC = matrix.cost(a, c);
+            if (addedAC >= removedAB - EPSILON) break;
+
+            int q = pos[c];
+            if (q < 0 || q > n - 2 || q == p + 1 || q == p - 1) continue;
+
+            int d = tour[q + 1];
+            tried++;
+            double delta = addedAC + matrix.cost(b, d) - removedAB - matrix.cost(c, d);
+            if (delta < -EPSILON) {
+                if (p < q) reverse(p + 1, q);
+                else reverse(q + 1, p);
+                wake(a, b, c, d);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Replace (pred a, a) and (pred c, c) with (a, c) and (pred a, pred c)
+     */
+    private boolean tryPredecessorMove(int a) {
+        int p = pos[a];
+        if (p < 1) return false;
+
+        int b = tour[p - 1];
+        double removedBA = matrix.cost(b, a);
+
+        for (int rank = 0; rank < neighbors.width(); rank++) {
+            int c = neighbors.get(a, rank);
+            double addedAC = matrix.cost(a, c);
+            if (addedAC >= removedBA - EPSILON) break;
+
+            int q = pos[c];
+            if (q < 1 || q == p - 1 || q == p + 1) continue;
+
+            int d = tour[q - 1];
+            tried++;
+            double delta = addedAC + matrix.cost(b, d) - removedBA - matrix.cost(d, c);
+            if (delta < -EPSILON) {
+                if (p < q) reverse(p, q - 1);
+                else reverse(q, p - 1);
+                wake(a, b, c, d);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void reverse(int from, int to) {
+        while (from < to) {
+            int tmp = tour[from];
+            tour[from] = tour[to];
+            tour[to] = tmp;
+            pos[tour[from]] = from;
+            pos[tour[to]] = to;
+            from++;
+            to--;
+        }
+    }
+
+    private void wake(int a, int b, int c, int d) {
+        push(a);
+        push(b);
+        push(c);
+        push(d);
+    }
+
+    private void push(int node) {
+        if (queued[node]) return;
+        queued[node] = true;
+        int tail = head + count;
+        queue[tail >= queue.length ? tail - queue.length : tail] = node;
+        count++;
+    }
+
+    private int poll() {
+        int node = queue[head];
+        head = head + 1 == queue.length ? 0 : head + 1;
+        count--;
+        queued[node] = false;
+        return node;
+    }
+}
@@ -0,0 +1,20 @@
+package com.nnaemekaonochie.pickpath.route.dto;
+
+import java.util.List;
+
+public class AmendRouteRequest {
+    public static class Stop {
+        public String locationCode;
+        public String sku; // optional; labels the stop and lets skusToRemove match it
+    }
+
+    public String startLocationCode; // optional; start of the original route, default (0,0)
+    public String endLocationCode; // optional; end of the original route, default the start
+    public List<Stop> route; // required; current route in order, such as orderedStops of a previous response
+    public String currentLocationCode; // optional; picker position, stops up to it on the route count as visited
+    public List<String> skusToAdd;
+    public List<String> skusToRemove;
+    public RouteConstraints constraints;
+    public CostWeights weights;
+    public Long timeBudgetMs; // optional; repair pass time limit, default the server search budget
+}
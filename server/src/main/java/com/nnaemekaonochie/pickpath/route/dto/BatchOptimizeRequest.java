@@ -0,0 +1,29 @@
+package com.nnaemekaonochie.pickpath.route.dto;
+
+import java.util.List;
+
+public class BatchOptimizeRequest {
+    public static class Order {
+        public String orderId;
+        public List<String> skus;
+        public Integer priority; // 1 (most urgent) to 5; optional
+        public TimeWindow timeWindow;
+    }
+
+    public static class Picker {
+        public String pickerId;
+        public String name;
+        public Integer capacity; // max items per batch; falls back to globalConstraints.maxCapacity
+        public String startLocation;
+        public String endLocation;
+    }
+
+    public List<Order> orders; // required
+    public List<Picker> pickers; // required; batches are dealt to pickers in turn
+    public String strategy = "multi_picker_cvrp"; // batching mode; each batch is routed with routeStrategy
+    public String routeStrategy = "enhanced_two_opt"; // strategy used to route every batch
+    public RouteConstraints globalConstraints;
+    public CostWeights weights;
+    public Long seed;
+    public Long timeBudgetMs; // optional; search time limit per batch route, defaults per strategy; 0 = unbounded
+}
@@ -0,0 +1,28 @@
+package com.nnaemekaonochie.pickpath.route.dto;
+
+import java.util.List;
+
+public class BatchOptimizeResponse {
+    public static class PickerAssignment {
+        public String pickerId;
+        public List<String> orders;
+        public List<OptimizeResponse.Stop> route; // sku lists every SKU picked at a stop, comma-separated
+        public RouteMetrics metrics;
+        public boolean converged = true;
+        public OptimizeResponse.Telemetry telemetry;
+    }
+
+    public static class UtilizationMetrics {
+        public int batchCount;
+        public int orderCount;
+        public int itemCount;
+        public double averageItemsPerBatch;
+        public Double averageCapacityUtilization; // null when no batch had a capacity limit
+    }
+
+    public List<PickerAssignment> assignments;
+    public List<String> unroutedOrders; // orders with no SKU that resolved to a location
+    public double totalDistance;
+    public double totalTime;
+    public UtilizationMetrics utilizationMetrics;
+}
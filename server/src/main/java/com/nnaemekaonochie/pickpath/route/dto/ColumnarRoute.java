@@ -0,0 +1,69 @@
+package com.nnaemekaonochie.pickpath.route.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A route as parallel columns rather than one object per stop, for handheld scanners on slow
+ * links: index i of every column describes the i-th stop. Field names are written once per
+ * route instead of once per stop, and the numeric columns serialize as plain arrays.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ColumnarRoute {
+
+    public static final String MEDIA_TYPE = "application/vnd.pickpath.columns+json";
+
+    public List<String> locationCodes;
+    public List<String> skus; // null entries for the start and end
+    public int[] x;
+    public int[] y;
+    public double[] cumulativeDistance;
+    public int[] tripStarts; // index of the first stop of every trip, for orders split into trips
+    public double totalDistance;
+    public String strategy;
+    public boolean converged = true;
+    public OptimizeResponse.Telemetry telemetry;
+
+    /**
+     * Columns of a response; detail=ids routes carry the location codes only
+     */
+    public static ColumnarRoute of(OptimizeResponse response) {
+        ColumnarRoute route = new ColumnarRoute();
+        route.totalDistance = response.totalDistance;
+        route.strategy = response.strategy;
+        route.converged = response.converged;
+        route.telemetry = response.telemetry;
+
+        if (response.orderedStops == null) {
+            route.locationCodes = response.stopIds;
+        } else {
+            int n = response.orderedStops.size();
+            route.locationCodes = new ArrayList<>(n);
+            route.skus = new ArrayList<>(n);
+            route.x = new int[n];
+            route.y = new int[n];
+            route.cumulativeDistance = new double[n];
+            for (int i = 0; i < n; i++) {
+                OptimizeResponse.Stop stop = response.orderedStops.get(i);
+                route.locationCodes.add(stop.locationCode);
+                route.skus.add(stop.sku);
+                route.x[i] = stop.x;
+                route.y[i] = stop.y;
+                route.cumulativeDistance[i] = stop.cumulativeDistance;
+            }
+        }
+
+        if (response.trips != null) {
+            route.tripStarts = new int[response.trips.size()];
+            int start = 0;
+            for (int t = 0; t < route.tripStarts.length; t++) {
+                OptimizeResponse.Trip trip = response.trips.get(t);
+                route.tripStarts[t] = start;
+                start += trip.orderedStops != null ? trip.orderedStops.size() : trip.stopIds.size();
+            }
+        }
+        return route;
+    }
+}
@@ -1,6 +1,7 @@
 package com.nnaemekaonochie.pickpath.route.dto;
 
 import java.util.List;
+import java.util.Map;
 
 public class OptimizeRequest {
     public String startLocationCode; // optional; default (0,0)
@@ -8,6 +9,11 @@ public class OptimizeRequest {
     public List<String> skus; // required
     public String strategy = "enhanced_two_opt"; // optimization strategy
     public RouteConstraints constraints; // capacity, time constraints
+    public Map<String, Integer> quantities; // optional; units of each SKU counted against maxCapacity, default 1
     public CostWeights weights; // penalty weights
     public String pickerId; // specific picker assignment
+    public Long seed; // optional; fixes randomized strategies for reproducible routes
+    public Long timeBudgetMs; // optional; search time limit, defaults per strategy; 0 = unbounded
+    public Boolean multiSlot; // optional; choose among every slot stocking a SKU, default the server setting
+    public String detail; // optional; ids, legacy (default) or full
 }
\ No newline at end of file
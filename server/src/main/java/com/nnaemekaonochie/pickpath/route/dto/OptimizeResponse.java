@@ -1,6 +1,9 @@
 package com.nnaemekaonochie.pickpath.route.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
+import java.util.Map;
 
 public class OptimizeResponse {
     public static class Stop {
@@ -11,7 +14,43 @@ public class OptimizeResponse {
         public double cumulativeDistance;
     }
 
-    public List<Stop> orderedStops;
+    /**
+     * One cart load of a capacity-split order, from the start back to the end
+     */
+    public static class Trip {
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        public List<Stop> orderedStops;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        public List<String> stopIds; // detail=ids, in place of orderedStops
+        public double totalDistance;
+        public long load;
+        public boolean converged = true;
+        public Telemetry telemetry;
+    }
+
+    /**
+     * Where the optimizer spent its time, and how much local search it did
+     */
+    public static class Telemetry {
+        public Map<String, Double> phaseMillis;
+        public double totalMillis;
+        public long movesTried;
+        public long movesAccepted;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public List<Stop> orderedStops; // null only for detail=ids
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public List<String> stopIds; // detail=ids; location codes in visiting order
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public List<EnhancedRouteStop> stops; // detail=full; times, actions, turns and zone transitions per stop
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public RouteMetrics metrics; // detail=full, single-trip routes
     public double totalDistance;
     public String strategy;
+    public boolean converged = true; // false when the search stopped at its time budget
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public List<Trip> trips; // set when the order exceeds constraints.maxCapacity; orderedStops chains the trips
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Telemetry telemetry;
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.nnaemekaonochie.pickpath.route.dto;
+
+/**
+ * How much of a route a response carries. Handheld scanners only need the visiting order;
+ * planning screens want the per-stop details and route metrics.
+ */
+public enum RouteDetail {
+    IDS,    // stopIds only: location codes in visiting order
+    LEGACY, // orderedStops with coordinates and distances
+    FULL;   // orderedStops plus per-stop times, actions and transitions, and route metrics
+
+    /**
+     * Parse a request value case-insensitively; null means legacy
+     *
+     * @throws IllegalArgumentException for an unknown value
+     */
+    public static RouteDetail of(String value) {
+        if (value == null) return LEGACY;
+        return switch (value.toLowerCase()) {
+            case "ids" -> IDS;
+            case "legacy" -> LEGACY;
+            case "full" -> FULL;
+            default -> throw new IllegalArgumentException("Unknown detail: " + value + " (expected ids, legacy or full)");
+        };
+    }
+}
@@ -9,6 +9,8 @@ public class RouteMetrics {
     private Integer zoneTransitions;
     private Double efficiencyScore;
     private Double comparedToOptimal;
+    private Double routeCost;
+    private Double lowerBound;
     
     // Constructors
     public RouteMetrics() {}
@@ -43,4 +45,10 @@ public class RouteMetrics {
     
     public Double getComparedToOptimal() { return comparedToOptimal; }
     public void setComparedToOptimal(Double comparedToOptimal) { this.comparedToOptimal = comparedToOptimal; }
+    
+    public Double getRouteCost() { return routeCost; }
+    public void setRouteCost(Double routeCost) { this.routeCost = routeCost; }
+    
+    public Double getLowerBound() { return lowerBound; }
+    public void setLowerBound(Double lowerBound) { this.lowerBound = lowerBound; }
 }
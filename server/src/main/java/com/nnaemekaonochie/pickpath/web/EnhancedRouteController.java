@@ -1,10 +1,26 @@
 package com.nnaemekaonochie.pickpath.web;
 
+import com.nnaemekaonochie.pickpath.route.BatchOptimizerService;
 import com.nnaemekaonochie.pickpath.route.EnhancedRouteOptimizerService;
+import com.nnaemekaonochie.pickpath.route.RouteAmendmentService;
+import com.nnaemekaonochie.pickpath.route.RouteStreamListener;
+import com.nnaemekaonochie.pickpath.route.SolverSaturatedException;
+import com.nnaemekaonochie.pickpath.route.algorithm.Deadline;
+import com.nnaemekaonochie.pickpath.route.dto.AmendRouteRequest;
+import com.nnaemekaonochie.pickpath.route.dto.BatchOptimizeRequest;
+import com.nnaemekaonochie.pickpath.route.dto.BatchOptimizeResponse;
+import com.nnaemekaonochie.pickpath.route.dto.ColumnarRoute;
 import com.nnaemekaonochie.pickpath.route.dto.OptimizeRequest;
 import com.nnaemekaonochie.pickpath.route.dto.OptimizeResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api")
@@ -12,9 +28,15 @@ import org.springframework.web.bind.annotation.*;
 public class EnhancedRouteController {
 
     private final EnhancedRouteOptimizerService optimizerService;
+    private final BatchOptimizerService batchOptimizerService;
+    private final RouteAmendmentService amendmentService;
 
-    public EnhancedRouteController(EnhancedRouteOptimizerService optimizerService) {
+    public EnhancedRouteController(EnhancedRouteOptimizerService optimizerService,
+                                   BatchOptimizerService batchOptimizerService,
+                                   RouteAmendmentService amendmentService) {
         this.optimizerService = optimizerService;
+        this.batchOptimizerService = batchOptimizerService;
+        this.amendmentService = amendmentService;
     }
 
     @PostMapping("/optimize")
@@ -24,11 +46,146 @@ public class EnhancedRouteController {
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
+        } catch (SolverSaturatedException e) {
+            return saturated(e);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * The optimized route as parallel columns, for clients that accept the columnar media type.
+     * Plain JSON and CBOR ({@code application/cbor}) are negotiated by the mapping above.
+     */
+    @PostMapping(value = "/optimize", produces = ColumnarRoute.MEDIA_TYPE)
+    public ResponseEntity<ColumnarRoute> optimizeRouteColumns(@RequestBody OptimizeRequest request) {
+        ResponseEntity<OptimizeResponse> response = optimizeRoute(request);
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return ResponseEntity.status(response.getStatusCode()).headers(response.getHeaders()).build();
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(ColumnarRoute.MEDIA_TYPE))
+            .body(ColumnarRoute.of(response.getBody()));
+    }
+
+    /**
+     * Improving routes as server-sent events: "route" for the first and each cheaper route,
+     * then "done" with the best route, its convergence and telemetry
+     */
+    @PostMapping(value = "/optimize/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamRoute(@RequestBody OptimizeRequest request) {
+        SseEmitter emitter = new SseEmitter(0L);
+        return startStream(request, emitter, MediaType.TEXT_EVENT_STREAM, new RouteStreamListener() {
+            @Override
+            public void onRoute(OptimizeResponse route) throws IOException {
+                emitter.send(SseEmitter.event().name("route").data(route, MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void onIdle() throws IOException {
+                emitter.send(SseEmitter.event().comment("searching"));
+            }
+
+            @Override
+            public void onComplete(OptimizeResponse best) throws IOException {
+                emitter.send(SseEmitter.event().name("done").data(best, MediaType.APPLICATION_JSON));
+                emitter.complete();
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                emitter.completeWithError(error);
+            }
+        });
+    }
+
+    /**
+     * Improving routes as newline-delimited JSON; the last line is the best route with its
+     * convergence and telemetry
+     */
+    @PostMapping(value = "/optimize/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> streamRouteLines(@RequestBody OptimizeRequest request) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(0L);
+        return startStream(request, emitter, MediaType.APPLICATION_NDJSON, new RouteStreamListener() {
+            @Override
+            public void onRoute(OptimizeResponse route) throws IOException {
+                emitter.send(route, MediaType.APPLICATION_JSON);
+                emitter.send("\n", MediaType.TEXT_PLAIN);
+            }
+
+            @Override
+            public void onComplete(OptimizeResponse best) throws IOException {
+                onRoute(best);
+                emitter.complete();
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                emitter.completeWithError(error);
+            }
+        });
+    }
+
+    /**
+     * Start a streamed optimization whose search is cancelled when the emitter ends for any
+     * reason, including the client disconnecting
+     */
+    private <T extends ResponseBodyEmitter> ResponseEntity<T> startStream(OptimizeRequest request, T emitter,
+                                                                           MediaType mediaType,
+                                                                           RouteStreamListener listener) {
+        Deadline cancellation = Deadline.cancellable(0);
+        emitter.onCompletion(cancellation::cancel);
+        emitter.onTimeout(cancellation::cancel);
+        emitter.onError(error -> cancellation.cancel());
+        try {
+            optimizerService.optimizeStreaming(request, cancellation, listener);
+            return ResponseEntity.ok().contentType(mediaType).body(emitter);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (SolverSaturatedException e) {
+            return saturated(e);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    @PostMapping("/optimize/batch")
+    public ResponseEntity<BatchOptimizeResponse> optimizeBatch(@RequestBody BatchOptimizeRequest request) {
+        try {
+            BatchOptimizeResponse response = batchOptimizerService.optimize(request);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (SolverSaturatedException e) {
+            return saturated(e);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @PostMapping("/optimize/amend")
+    public ResponseEntity<OptimizeResponse> amendRoute(@RequestBody AmendRouteRequest request) {
+        try {
+            OptimizeResponse response = amendmentService.amend(request);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (SolverSaturatedException e) {
+            return saturated(e);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * 429 with the delay after which the solve queue is likely to have room
+     */
+    private static <T> ResponseEntity<T> saturated(SolverSaturatedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .build();
+    }
+
     @GetMapping("/strategies")
     public ResponseEntity<StrategyInfo[]> getAvailableStrategies() {
         StrategyInfo[] strategies = {
@@ -38,8 +195,20 @@ public class EnhancedRouteController {
                            "Balanced performance with warehouse-aware improvements"),
             new StrategyInfo("or_opt", "Or-Opt", 
                            "Local search with segment relocation"),
+            new StrategyInfo("lk", "Lin-Kernighan", 
+                           "Variable-depth search under a time budget, best quality for large orders"),
             new StrategyInfo("hybrid", "Hybrid Multi-Strategy", 
-                           "Tries multiple approaches and selects the best result")
+                           "Tries multiple approaches and selects the best result"),
+            new StrategyInfo("savings", "Clarke-Wright Savings", 
+                           "Savings construction refined by 2-opt and Or-opt, strong on depot-centric layouts"),
+            new StrategyInfo("grasp", "GRASP", 
+                           "Parallel randomized greedy constructions with local search, best quality on multi-core hosts"),
+            new StrategyInfo("s_shape", "S-Shape", 
+                           "Traverses every aisle with picks end to end, the routing pickers follow by habit"),
+            new StrategyInfo("largest_gap", "Largest Gap", 
+                           "Enters middle aisles from both ends up to the largest gap between picks"),
+            new StrategyInfo("ratliff_rosenthal", "Optimal Aisle Routing", 
+                           "Exact shortest route through a block of parallel aisles (Ratliff-Rosenthal)")
         };
         return ResponseEntity.ok(strategies);
     }
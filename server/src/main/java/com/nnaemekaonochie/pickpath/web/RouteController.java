@@ -16,7 +16,8 @@ public class RouteController {
         this.svc = svc;
     }
 
-    @PostMapping(value = "/optimize", consumes = MediaType.APPLICATION_JSON_VALUE)
+    // The original NN+2opt optimizer; /optimize is served by EnhancedRouteController
+    @PostMapping(value = "/optimize/legacy", consumes = MediaType.APPLICATION_JSON_VALUE)
     public OptimizeResponse optimize(@RequestBody OptimizeRequest req) {
         return svc.optimize(req);
     }
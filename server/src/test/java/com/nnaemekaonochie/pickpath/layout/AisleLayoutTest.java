@@ -0,0 +1,51 @@
+package com.nnaemekaonochie.pickpath.layout;
+
+import com.nnaemekaonochie.pickpath.domain.Location;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AisleLayoutTest {
+
+    private final LayoutSnapshot snapshot = Layouts.grid(5, 8);
+    private final AisleLayout layout = snapshot.aisles();
+
+    @Test
+    void detectsEveryRackAisleOfTheGrid() {
+        assertEquals(5, layout.aisleCount());
+        Set<String> codes = new HashSet<>();
+        for (int a = 0; a < layout.aisleCount(); a++) {
+            AisleLayout.Aisle aisle = layout.aisle(a);
+            codes.add(aisle.code());
+            assertTrue(aisle.horizontal(), aisle.code() + " runs along x");
+            assertEquals(15 + 25 * (aisle.code().charAt(2) - '1'), aisle.center(), aisle.code());
+            assertEquals(30.0, aisle.start());
+            assertEquals(65.0, aisle.end());
+            assertEquals(16, aisle.locations().length);
+        }
+        assertEquals(Set.of("G01", "G02", "G03", "G04", "G05"), codes);
+    }
+
+    @Test
+    void placesCrossAislesBeyondTheOutermostBays() {
+        assertEquals(30.0 - AisleLayout.CROSS_AISLE_OFFSET, layout.front(true));
+        assertEquals(65.0 + AisleLayout.CROSS_AISLE_OFFSET, layout.back(true));
+    }
+
+    @Test
+    void assignsRackLocationsTheirAisleAndPositionAndLeavesTheFloorOut() {
+        for (int id = 0; id < snapshot.locationCount(); id++) {
+            Location location = snapshot.location(id);
+            if (location.getAisle().equals("R-ZONE")) {
+                assertEquals(AisleLayout.NO_AISLE, layout.aisleOf(id), location.getLocationCode());
+                continue;
+            }
+            AisleLayout.Aisle aisle = layout.aisle(layout.aisleOf(id));
+            assertEquals(location.getAisle(), aisle.code());
+            assertEquals(location.getX(), layout.position(id));
+            assertEquals(5.0, layout.offset(id), location.getLocationCode());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.nnaemekaonochie.pickpath.layout;
+
+import com.nnaemekaonochie.pickpath.config.EnhancedDataLoader;
+
+import java.util.List;
+
+/**
+ * Snapshots of the demo grid layout with walking distances, for tests outside this package
+ */
+public final class Layouts {
+
+    private Layouts() {}
+
+    /**
+     * The receiving grid and the given rack aisles, with an all-pairs walking table and no stock
+     */
+    public static LayoutSnapshot grid(int aisleCount, int baysPerAisle) {
+        LayoutSnapshot snapshot = LayoutSnapshot.of(1L, EnhancedDataLoader.gridLayout(aisleCount, baysPerAisle),
+                                                     List.of(), List.of());
+        WalkingGraph graph = WalkingGraph.build(snapshot, List.of(), List.of());
+        return snapshot.withWalkingDistances(WalkingDistances.build(graph, Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,47 @@
+package com.nnaemekaonochie.pickpath.layout;
+
+import com.nnaemekaonochie.pickpath.domain.Location;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StopDistancesTest {
+
+    private final LayoutSnapshot snapshot = Layouts.grid(5, 8);
+
+    @Test
+    void walksAPointOnALocationLikeTheLocation() {
+        for (int a = 0; a < snapshot.locationCount(); a++) {
+            Location location = snapshot.location(a);
+            Location point = point(location.getX(), location.getY());
+            for (int b = 0; b < snapshot.locationCount(); b++) {
+                if (b == a) continue;
+                StopDistances distances = snapshot.stopDistances(new Location[] { location, point, snapshot.location(b) });
+
+                assertEquals(distances.distance(0, 2), distances.distance(1, 2),
+                    location.getLocationCode() + " to " + snapshot.location(b).getLocationCode());
+            }
+        }
+    }
+
+    @Test
+    void doesNotWalkThroughTheRacksFromAPointOnARackFace() {
+        Location start = snapshot.location("G0104-B02-L2");
+        Location other = snapshot.location("G0204-B01-L1");
+        StopDistances distances = snapshot.stopDistances(new Location[] { point(start.getX(), start.getY()), other });
+
+        assertEquals(75.0, distances.distance(0, 1));
+    }
+
+    @Test
+    void resolvesAPointByCoordinatesOnlyWhereALocationStands() {
+        Location location = snapshot.location("G0305-B01-L1");
+
+        assertEquals(snapshot.locationId("G0305-B01-L1"), snapshot.idOf(point(location.getX(), location.getY())));
+        assertEquals(-1, snapshot.idOf(point(location.getX() + 1, location.getY())));
+    }
+
+    private static Location point(int x, int y) {
+        return new Location("DEFAULT", x, y, "DEFAULT", "DEFAULT", null, null);
+    }
+}
@@ -0,0 +1,59 @@
+package com.nnaemekaonochie.pickpath.route;
+
+import com.nnaemekaonochie.pickpath.route.algorithm.CostMatrix;
+import com.nnaemekaonochie.pickpath.route.algorithm.TwoOptEngine;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimizationTraceTest {
+
+    @Test
+    void mergesTripPhasesAndMovesIntoTheRequest() {
+        OptimizationTrace request = new OptimizationTrace();
+        request.lap(OptimizationTrace.SPLIT);
+        OptimizationTrace first = new OptimizationTrace();
+        first.lap(OptimizationTrace.CONSTRUCTION);
+        TwoOptEngine.improve(line(), new int[] {0, 3, 2, 1, 4}, first.search());
+        OptimizationTrace second = new OptimizationTrace();
+        second.lap(OptimizationTrace.CONSTRUCTION);
+        second.search().truncate();
+
+        request.merge(first);
+        request.merge(second);
+
+        long construction = first.phaseNanos().get(OptimizationTrace.CONSTRUCTION)
+            + second.phaseNanos().get(OptimizationTrace.CONSTRUCTION);
+        assertEquals(construction, request.phaseNanos().get(OptimizationTrace.CONSTRUCTION));
+        assertTrue(request.phaseNanos().containsKey(OptimizationTrace.SPLIT));
+        assertTrue(first.search().accepted() > 0);
+        assertEquals(first.search().tried(), request.search().tried());
+        assertEquals(first.search().accepted(), request.search().accepted());
+        assertFalse(request.search().converged());
+    }
+
+    @Test
+    void leavesTheLapClockAlone() {
+        OptimizationTrace request = new OptimizationTrace();
+        request.lap(OptimizationTrace.SPLIT);
+        long total = request.totalNanos();
+        OptimizationTrace trip = new OptimizationTrace();
+        trip.lap(OptimizationTrace.CONSTRUCTION);
+
+        request.merge(trip);
+
+        assertEquals(total, request.totalNanos());
+        assertTrue(request.search().converged());
+    }
+
+    // Five stops along one aisle, so any out-of-order tour has an improving reversal
+    private static CostMatrix line() {
+        double[][] costs = new double[5][5];
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 5; j++) {
+                costs[i][j] = Math.abs(i - j);
+            }
+        }
+        return CostMatrix.of(costs);
+    }
+}
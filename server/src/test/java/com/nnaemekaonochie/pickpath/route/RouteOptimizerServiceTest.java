@@ -0,0 +1,67 @@
+package com.nnaemekaonochie.pickpath.route;
+
+import com.nnaemekaonochie.pickpath.config.OptimizerProperties;
+import com.nnaemekaonochie.pickpath.domain.Location;
+import com.nnaemekaonochie.pickpath.layout.SkuLocationResolver;
+import com.nnaemekaonochie.pickpath.route.dto.OptimizeRequest;
+import com.nnaemekaonochie.pickpath.route.dto.OptimizeResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RouteOptimizerServiceTest {
+
+    private final Location start = location("START-1", 0, 0);
+    private final Location farApple = location("A-FAR", 90, 90);
+    private final Location nearApple = location("A-NEAR", 10, 0);
+    private final Location rice = location("R-1", 20, 0);
+
+    private final SkuLocationResolver resolver = mock(SkuLocationResolver.class);
+    private final RouteOptimizerService service = new RouteOptimizerService(resolver, new OptimizerProperties());
+
+    RouteOptimizerServiceTest() {
+        when(resolver.findLocation("START-1")).thenReturn(Optional.of(start));
+        when(resolver.findLocation(null)).thenReturn(Optional.empty());
+        when(resolver.resolve(any())).thenReturn(Map.of("SKU-APPLE", farApple, "SKU-RICE", rice));
+        Map<String, List<Location>> slots = new LinkedHashMap<>();
+        slots.put("SKU-APPLE", List.of(farApple, nearApple));
+        slots.put("SKU-RICE", List.of(rice));
+        when(resolver.resolveSlots(any())).thenReturn(slots);
+    }
+
+    @Test
+    void picksFromTheSlotThatMakesTheShortestRoute() {
+        OptimizeResponse response = service.optimize(request(null));
+
+        assertEquals(List.of("A-NEAR", "R-1"), codes(response));
+        assertEquals(20.0, response.totalDistance);
+    }
+
+    @Test
+    void takesTheFirstSlotWhenMultiSlotIsOff() {
+        OptimizeResponse response = service.optimize(request(false));
+
+        assertTrue(codes(response).contains("A-FAR"));
+        verify(resolver, never()).resolveSlots(any());
+    }
+
+    private static OptimizeRequest request(Boolean multiSlot) {
+        OptimizeRequest request = new OptimizeRequest();
+        request.startLocationCode = "START-1";
+        request.skus = List.of("SKU-APPLE", "SKU-RICE");
+        request.multiSlot = multiSlot;
+        return request;
+    }
+
+    private static List<String> codes(OptimizeResponse response) {
+        return response.orderedStops.stream().map(stop -> stop.locationCode).toList();
+    }
+
+    private static Location location(String code, int x, int y) {
+        return new Location(code, x, y, "Z1", "A1", null, null);
+    }
+}
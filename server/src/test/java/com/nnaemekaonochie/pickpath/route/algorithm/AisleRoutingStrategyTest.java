@@ -0,0 +1,171 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+import com.nnaemekaonochie.pickpath.domain.Location;
+import com.nnaemekaonochie.pickpath.layout.LayoutSnapshot;
+import com.nnaemekaonochie.pickpath.layout.LayoutSnapshotService;
+import com.nnaemekaonochie.pickpath.layout.Layouts;
+import com.nnaemekaonochie.pickpath.layout.StopDistances;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static com.nnaemekaonochie.pickpath.route.algorithm.Matrices.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AisleRoutingStrategyTest {
+
+    private static final double EPSILON = 1e-6;
+
+    private final LayoutSnapshot snapshot = Layouts.grid(5, 8);
+    private final AisleRoutingStrategy aisleRouting = new AisleRoutingStrategy(snapshots(snapshot));
+    private final List<Location> rackLocations = rackLocations(snapshot);
+
+    @Test
+    void ratliffRosenthalMatchesTheExactSolverOnRoundTrips() {
+        SplittableRandom random = new SplittableRandom(11);
+        for (int order = 0; order < 2000; order++) {
+            Location start = rackLocations.get(random.nextInt(rackLocations.size()));
+            CostMatrix matrix = roundTrip(start, randomPicks(random, 1 + random.nextInt(8)));
+
+            int[] tour = aisleRouting.generateTour(matrix, AisleRoutingStrategy.Policy.RATLIFF_ROSENTHAL);
+
+            assertValidTour(matrix, tour);
+            double optimum = matrix.tourCost(HeldKarpSolver.solve(matrix));
+            assertEquals(optimum, matrix.tourCost(tour), EPSILON, "order " + order + " from " + start.getLocationCode());
+        }
+    }
+
+    @Test
+    void ratliffRosenthalPicksAtTheDepotBeforeCrossingTheAisle() {
+        Location start = snapshot.location("G0405-B02-L2");
+        CostMatrix matrix = roundTrip(start, List.of(snapshot.location("G0405-B01-L1"), start,
+                                                     snapshot.location("G0108-B01-L1")));
+
+        int[] tour = aisleRouting.generateTour(matrix, AisleRoutingStrategy.Policy.RATLIFF_ROSENTHAL);
+
+        assertEquals(matrix.tourCost(HeldKarpSolver.solve(matrix)), matrix.tourCost(tour), EPSILON);
+        assertEquals("G0405-B02-L2", codes(matrix, tour).get(0));
+    }
+
+    @Test
+    void ratliffRosenthalKeepsStopsOnOneFaceTogether() {
+        Location start = snapshot.location("G0207-B02-L2");
+        Location near = snapshot.location("G0203-B01-L1");
+        CostMatrix matrix = roundTrip(start, List.of(near, snapshot.location("G0203-B02-L2"), near));
+
+        int[] tour = aisleRouting.generateTour(matrix, AisleRoutingStrategy.Policy.RATLIFF_ROSENTHAL);
+
+        assertEquals(matrix.tourCost(HeldKarpSolver.solve(matrix)), matrix.tourCost(tour), EPSILON);
+    }
+
+    @Test
+    void heuristicPoliciesReturnValidToursNoShorterThanTheOptimum() {
+        SplittableRandom random = new SplittableRandom(5);
+        for (int order = 0; order < 300; order++) {
+            Location start = rackLocations.get(random.nextInt(rackLocations.size()));
+            CostMatrix matrix = roundTrip(start, randomPicks(random, 1 + random.nextInt(10)));
+            double optimum = matrix.tourCost(HeldKarpSolver.solve(matrix));
+
+            for (AisleRoutingStrategy.Policy policy : List.of(AisleRoutingStrategy.Policy.S_SHAPE,
+                                                              AisleRoutingStrategy.Policy.LARGEST_GAP)) {
+                int[] tour = aisleRouting.generateTour(matrix, policy);
+
+                assertValidTour(matrix, tour);
+                assertTrue(matrix.tourCost(tour) >= optimum - EPSILON, policy + " beat the optimum");
+            }
+        }
+    }
+
+    @Test
+    void sShapeTraversesAislesInAlternatingDirections() {
+        // Picks at both ends of three aisles; the depot is at the front of the first
+        Location start = snapshot.location("G0101-B01-L1");
+        List<Location> picks = List.of(
+            snapshot.location("G0108-B02-L2"), snapshot.location("G0102-B01-L1"),
+            snapshot.location("G0201-B01-L1"), snapshot.location("G0208-B01-L1"),
+            snapshot.location("G0302-B02-L2"), snapshot.location("G0307-B01-L1"));
+        CostMatrix matrix = roundTrip(start, picks);
+
+        int[] tour = aisleRouting.generateTour(matrix, AisleRoutingStrategy.Policy.S_SHAPE);
+
+        // Out along G01, back along G02, and the odd last aisle G03 in and out from the front
+        assertEquals(List.of("G0102-B01-L1", "G0108-B02-L2", "G0208-B01-L1", "G0201-B01-L1",
+                             "G0302-B02-L2", "G0307-B01-L1"), codes(matrix, tour));
+    }
+
+    @Test
+    void largestGapEntersMiddleAislesFromBothCrossAisles() {
+        Location start = snapshot.location("G0101-B01-L1");
+        List<Location> picks = List.of(
+            snapshot.location("G0105-B01-L1"),
+            snapshot.location("G0201-B01-L1"), snapshot.location("G0208-B01-L1"),
+            snapshot.location("G0304-B01-L1"));
+        CostMatrix matrix = roundTrip(start, picks);
+
+        int[] tour = aisleRouting.generateTour(matrix, AisleRoutingStrategy.Policy.LARGEST_GAP);
+
+        // G01 out, G02's back pick on the way over, G03 through, G02's front pick on the way home
+        assertEquals(List.of("G0105-B01-L1", "G0208-B01-L1", "G0304-B01-L1", "G0201-B01-L1"), codes(matrix, tour));
+    }
+
+    @Test
+    void declinesOrdersWithPicksOffTheRacks() {
+        Location start = snapshot.location("G0101-B01-L1");
+        CostMatrix matrix = roundTrip(start, List.of(snapshot.location("R001"), snapshot.location("G0203-B01-L1")));
+
+        assertNull(aisleRouting.generateTour(matrix, AisleRoutingStrategy.Policy.RATLIFF_ROSENTHAL));
+    }
+
+    private static List<Location> rackLocations(LayoutSnapshot snapshot) {
+        List<Location> locations = new ArrayList<>();
+        for (int id = 0; id < snapshot.locationCount(); id++) {
+            if (snapshot.location(id).getZone().equals("GRID")) locations.add(snapshot.location(id));
+        }
+        return locations;
+    }
+
+    private List<Location> randomPicks(SplittableRandom random, int count) {
+        List<Location> picks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            picks.add(rackLocations.get(random.nextInt(rackLocations.size())));
+        }
+        return picks;
+    }
+
+    /**
+     * Walking-distance matrix from the start through the picks and back, with the return
+     * stop placed on the start like the service's default end
+     */
+    private CostMatrix roundTrip(Location start, List<Location> picks) {
+        Location[] nodes = new Location[picks.size() + 2];
+        nodes[0] = start;
+        for (int i = 0; i < picks.size(); i++) {
+            nodes[i + 1] = picks.get(i);
+        }
+        nodes[nodes.length - 1] = new Location("DEFAULT", start.getX(), start.getY(), "DEFAULT", "DEFAULT", null, null);
+        StopDistances distances = snapshot.stopDistances(nodes);
+        int n = nodes.length;
+        double[] costs = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                costs[i * n + j] = distances.distance(i, j);
+            }
+        }
+        return new CostMatrix(nodes, true, costs);
+    }
+
+    private static List<String> codes(CostMatrix matrix, int[] tour) {
+        List<String> codes = new ArrayList<>();
+        for (int i = 1; i < tour.length - 1; i++) {
+            codes.add(matrix.location(tour[i]).getLocationCode());
+        }
+        return codes;
+    }
+
+    private static LayoutSnapshotService snapshots(LayoutSnapshot snapshot) {
+        LayoutSnapshotService service = mock(LayoutSnapshotService.class);
+        when(service.current()).thenReturn(snapshot);
+        return service;
+    }
+}
@@ -0,0 +1,92 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+import com.nnaemekaonochie.pickpath.config.OptimizerProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.nnaemekaonochie.pickpath.route.algorithm.Matrices.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraspStrategyTest {
+
+    private static final double EPSILON = 1e-9;
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+    private final ExecutorService single = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+        single.shutdownNow();
+    }
+
+    @Test
+    void returnsAValidTourNoWorseThanTheSeedTour() {
+        GraspStrategy grasp = new GraspStrategy(pool, new OptimizerProperties());
+        for (long seed = 1; seed <= 10; seed++) {
+            for (boolean withEnd : new boolean[] {true, false}) {
+                CostMatrix matrix = euclidean(50, withEnd, seed);
+                int[] seedTour = shuffledTour(matrix, seed);
+
+                int[] tour = grasp.optimize(matrix, seedTour, Deadline.NONE, seed, new SearchStats());
+
+                assertValidTour(matrix, tour);
+                assertTrue(matrix.tourCost(tour) <= matrix.tourCost(seedTour) + EPSILON);
+            }
+        }
+    }
+
+    @Test
+    void givesTheSameRouteForASeedWhateverTheThreadCount() {
+        OptimizerProperties properties = new OptimizerProperties();
+        // Without the bound stop every iteration runs, so scheduling cannot change the winner
+        properties.setBoundGapPercent(-1);
+        CostMatrix matrix = euclidean(80, true, 21);
+        int[] seedTour = shuffledTour(matrix, 21);
+
+        int[] parallel = new GraspStrategy(pool, properties).optimize(matrix, seedTour, Deadline.NONE, 7L, null);
+        int[] serial = new GraspStrategy(single, properties).optimize(matrix, seedTour, Deadline.NONE, 7L, null);
+
+        assertArrayEquals(parallel, serial);
+    }
+
+    @Test
+    void findsTheOptimumOnSmallFloors() {
+        GraspStrategy grasp = new GraspStrategy(pool, new OptimizerProperties());
+        for (long seed = 1; seed <= 15; seed++) {
+            CostMatrix matrix = euclidean(8, true, seed);
+            int[] tour = grasp.optimize(matrix, shuffledTour(matrix, seed), Deadline.NONE, seed, null);
+
+            assertEquals(bruteForce(matrix), matrix.tourCost(tour), 1e-6, "seed " + seed);
+        }
+    }
+
+    @Test
+    void returnsTheSeedTourWhenItAlreadyMeetsTheBound() {
+        GraspStrategy grasp = new GraspStrategy(pool, new OptimizerProperties());
+        CostMatrix matrix = euclidean(8, true, 4);
+        int[] optimal = HeldKarpSolver.solve(matrix);
+
+        assertSame(optimal, grasp.optimize(matrix, optimal, Deadline.NONE, 1L, null));
+    }
+
+    @Test
+    void skipsIterationsPastTheDeadline() {
+        OptimizerProperties properties = new OptimizerProperties();
+        properties.setBoundGapPercent(-1);
+        GraspStrategy grasp = new GraspStrategy(pool, properties);
+        CostMatrix matrix = euclidean(60, true, 8);
+        int[] seedTour = shuffledTour(matrix, 8);
+        Deadline deadline = Deadline.cancellable(0);
+        deadline.cancel();
+        SearchStats stats = new SearchStats();
+
+        int[] tour = grasp.optimize(matrix, seedTour, deadline, 1L, stats);
+
+        assertArrayEquals(seedTour, tour);
+        assertFalse(stats.converged());
+    }
+}
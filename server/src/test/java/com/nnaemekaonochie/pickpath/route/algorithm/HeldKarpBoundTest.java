@@ -0,0 +1,56 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static com.nnaemekaonochie.pickpath.route.algorithm.Matrices.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeldKarpBoundTest {
+
+    private static final double EPSILON = 1e-6;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void neverExceedsTheOptimum(boolean withEnd) {
+        for (int picks = 2; picks <= 8; picks++) {
+            for (long seed = 1; seed <= 15; seed++) {
+                CostMatrix matrix = euclidean(picks, withEnd, seed);
+                double optimum = bruteForce(matrix);
+
+                double bound = HeldKarpBound.compute(matrix);
+
+                assertTrue(bound <= optimum + EPSILON,
+                    "bound " + bound + " above optimum " + optimum + " (picks " + picks + ", seed " + seed + ")");
+            }
+        }
+    }
+
+    @Test
+    void staysCloseToTheOptimum() {
+        for (long seed = 1; seed <= 15; seed++) {
+            CostMatrix matrix = euclidean(8, true, seed);
+
+            // Held-Karp is typically within a few percent on Euclidean instances
+            assertTrue(HeldKarpBound.compute(matrix) >= 0.8 * bruteForce(matrix), "seed " + seed);
+        }
+    }
+
+    @Test
+    void neverExceedsALocalSearchRouteOnLargeFloors() {
+        for (long seed = 1; seed <= 5; seed++) {
+            CostMatrix matrix = euclidean(150, seed % 2 == 0, seed);
+            int[] tour = shuffledTour(matrix, seed);
+            LinKernighanEngine.improve(matrix, tour);
+
+            assertTrue(HeldKarpBound.compute(matrix) <= matrix.tourCost(tour) + EPSILON);
+        }
+    }
+
+    @Test
+    void isExactForTrivialMatrices() {
+        assertEquals(0.0, HeldKarpBound.compute(CostMatrix.of(new double[][] {{0}})));
+        assertEquals(7.0, HeldKarpBound.compute(CostMatrix.of(new double[][] {{0, 7}, {7, 0}})));
+    }
+}
@@ -0,0 +1,67 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static com.nnaemekaonochie.pickpath.route.algorithm.Matrices.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeldKarpSolverTest {
+
+    private static final double EPSILON = 1e-6;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void matchesBruteForceOnSymmetricFloors(boolean withEnd) {
+        for (int picks = 0; picks <= 8; picks++) {
+            for (long seed = 1; seed <= 10; seed++) {
+                CostMatrix matrix = euclidean(picks, withEnd, seed);
+
+                int[] tour = HeldKarpSolver.solve(matrix);
+
+                assertValidTour(matrix, tour);
+                assertEquals(bruteForce(matrix), matrix.tourCost(tour), EPSILON, "picks " + picks + ", seed " + seed);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void matchesBruteForceOnAsymmetricCosts(boolean withEnd) {
+        for (int picks = 1; picks <= 8; picks++) {
+            for (long seed = 1; seed <= 10; seed++) {
+                CostMatrix matrix = asymmetric(picks, withEnd, seed);
+
+                int[] tour = HeldKarpSolver.solve(matrix);
+
+                assertValidTour(matrix, tour);
+                assertEquals(bruteForce(matrix), matrix.tourCost(tour), EPSILON, "picks " + picks + ", seed " + seed);
+            }
+        }
+    }
+
+    @Test
+    void recordsTheOptimumAsTheLowerBound() {
+        CostMatrix matrix = euclidean(10, true, 3);
+
+        int[] tour = HeldKarpSolver.solve(matrix);
+
+        assertEquals(matrix.tourCost(tour), matrix.lowerBound(), EPSILON);
+    }
+
+    @Test
+    void reusesItsTablesForSmallerOrders() {
+        HeldKarpSolver.solve(euclidean(12, true, 1));
+        CostMatrix small = euclidean(4, false, 2);
+
+        assertEquals(bruteForce(small), small.tourCost(HeldKarpSolver.solve(small)), EPSILON);
+    }
+
+    @Test
+    void rejectsOrdersAboveTheLimit() {
+        CostMatrix matrix = euclidean(HeldKarpSolver.MAX_PICKS + 1, true, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> HeldKarpSolver.solve(matrix));
+    }
+}
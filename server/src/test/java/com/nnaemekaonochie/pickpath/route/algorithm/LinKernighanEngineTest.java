@@ -0,0 +1,84 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static com.nnaemekaonochie.pickpath.route.algorithm.Matrices.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinKernighanEngineTest {
+
+    private static final double EPSILON = 1e-9;
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 8, 25, 120})
+    void keepsAValidTourAndNeverMakesItWorse(int picks) {
+        for (long seed = 1; seed <= 20; seed++) {
+            for (boolean withEnd : new boolean[] {true, false}) {
+                CostMatrix matrix = euclidean(picks, withEnd, seed);
+                int[] tour = shuffledTour(matrix, seed);
+                double before = matrix.tourCost(tour);
+
+                LinKernighanEngine.improve(matrix, tour);
+
+                assertValidTour(matrix, tour);
+                assertTrue(matrix.tourCost(tour) <= before + EPSILON);
+            }
+        }
+    }
+
+    @Test
+    void undoesAReversedRunOfStops() {
+        double[][] costs = new double[9][9];
+        for (int i = 0; i < 9; i++) {
+            for (int j = 0; j < 9; j++) {
+                costs[i][j] = 10.0 * Math.abs(i - j);
+            }
+        }
+        CostMatrix matrix = CostMatrix.of(costs);
+        int[] tour = {0, 1, 5, 4, 3, 2, 6, 7, 8};
+
+        LinKernighanEngine.improve(matrix, tour);
+
+        assertArrayEquals(new int[] {0, 1, 2, 3, 4, 5, 6, 7, 8}, tour);
+    }
+
+    @Test
+    void reachesTheOptimumOnSmallFloors() {
+        int optimal = 0;
+        for (long seed = 1; seed <= 20; seed++) {
+            CostMatrix matrix = euclidean(7, true, seed);
+            int[] tour = shuffledTour(matrix, seed);
+            LinKernighanEngine.improve(matrix, tour);
+            if (matrix.tourCost(tour) <= bruteForce(matrix) + EPSILON) optimal++;
+        }
+        // A local search may stop short now and then, but not on most seven-pick floors
+        assertTrue(optimal >= 15, "optimal on " + optimal + " of 20 floors");
+    }
+
+    @Test
+    void appliesNoChainToItsOwnResult() {
+        CostMatrix matrix = euclidean(60, true, 7);
+        int[] tour = shuffledTour(matrix, 7);
+        assertTrue(LinKernighanEngine.improve(matrix, tour) > 0);
+
+        assertEquals(0, LinKernighanEngine.improve(matrix, tour));
+    }
+
+    @Test
+    void stopsAtAnExpiredDeadlineWithAValidTour() {
+        CostMatrix matrix = euclidean(200, true, 5);
+        int[] tour = shuffledTour(matrix, 5);
+        double before = matrix.tourCost(tour);
+        Deadline deadline = Deadline.cancellable(0);
+        deadline.cancel();
+        SearchStats stats = new SearchStats();
+
+        LinKernighanEngine.improve(matrix, tour, deadline, stats);
+
+        assertValidTour(matrix, tour);
+        assertTrue(matrix.tourCost(tour) <= before + EPSILON);
+        assertFalse(stats.converged());
+    }
+}
@@ -0,0 +1,112 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+import com.nnaemekaonochie.pickpath.domain.Location;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Seeded random cost matrices and tour checks shared by the engine tests
+ */
+final class Matrices {
+
+    private Matrices() {}
+
+    /**
+     * Symmetric straight-line matrix over random points on a 100 x 100 floor. Node 0 is the
+     * start and, with an end, the last node is the end.
+     */
+    static CostMatrix euclidean(int picks, boolean withEnd, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int n = picks + (withEnd ? 2 : 1);
+        Location[] nodes = new Location[n];
+        for (int i = 0; i < n; i++) {
+            nodes[i] = new Location("N" + i, random.nextInt(101), random.nextInt(101), "Z1", "A1", null, null);
+        }
+        double[] costs = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                costs[i * n + j] = Math.hypot(nodes[i].getX() - nodes[j].getX(), nodes[i].getY() - nodes[j].getY());
+            }
+        }
+        return new CostMatrix(nodes, withEnd, costs);
+    }
+
+    /**
+     * Matrix of independent random costs, so cost(i, j) and cost(j, i) differ
+     */
+    static CostMatrix asymmetric(int picks, boolean withEnd, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int n = picks + (withEnd ? 2 : 1);
+        double[] costs = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                costs[i * n + j] = i == j ? 0.0 : 1 + random.nextInt(100);
+            }
+        }
+        return new CostMatrix(new Location[n], withEnd, costs);
+    }
+
+    /**
+     * Random visiting order of the picks, with the start and any end in place
+     */
+    static int[] shuffledTour(CostMatrix matrix, long seed) {
+        int[] tour = matrix.identityTour();
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = matrix.lastPick(); i > matrix.firstPick(); i--) {
+            int j = matrix.firstPick() + random.nextInt(i - matrix.firstPick() + 1);
+            int swap = tour[i];
+            tour[i] = tour[j];
+            tour[j] = swap;
+        }
+        return tour;
+    }
+
+    /**
+     * Cost of the cheapest tour, by trying every order of the picks
+     */
+    static double bruteForce(CostMatrix matrix) {
+        int[] picks = new int[matrix.pickCount()];
+        for (int i = 0; i < picks.length; i++) {
+            picks[i] = matrix.firstPick() + i;
+        }
+        return cheapest(matrix, picks, 0, 0, 0.0, Double.POSITIVE_INFINITY);
+    }
+
+    private static double cheapest(CostMatrix matrix, int[] picks, int placed, int last, double cost, double best) {
+        if (cost >= best) return best;
+        if (placed == picks.length) {
+            double total = matrix.hasEnd() ? cost + matrix.cost(last, matrix.size() - 1) : cost;
+            return Math.min(best, total);
+        }
+        for (int i = placed; i < picks.length; i++) {
+            swap(picks, placed, i);
+            best = cheapest(matrix, picks, placed + 1, picks[placed], cost + matrix.cost(last, picks[placed]), best);
+            swap(picks, placed, i);
+        }
+        return best;
+    }
+
+    private static void swap(int[] values, int i, int j) {
+        int value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+
+    /**
+     * The tour starts at the start, ends at the end when there is one and visits every node once
+     */
+    static void assertValidTour(CostMatrix matrix, int[] tour) {
+        int n = matrix.size();
+        assertEquals(n, tour.length, "tour length");
+        assertEquals(0, tour[0], "tour must begin at the start");
+        if (matrix.hasEnd()) assertEquals(n - 1, tour[n - 1], "tour must finish at the end");
+        boolean[] seen = new boolean[n];
+        for (int node : tour) {
+            assertTrue(node >= 0 && node < n, "node out of range: " + node);
+            assertFalse(seen[node], "node visited twice: " + node);
+            seen[node] = true;
+        }
+    }
+}
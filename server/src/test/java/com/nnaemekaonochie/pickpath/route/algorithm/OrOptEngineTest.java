@@ -0,0 +1,101 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static com.nnaemekaonochie.pickpath.route.algorithm.Matrices.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrOptEngineTest {
+
+    private static final double EPSILON = 1e-9;
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 8, 25, 120})
+    void keepsAValidTourAndNeverMakesItWorse(int picks) {
+        for (long seed = 1; seed <= 20; seed++) {
+            for (boolean withEnd : new boolean[] {true, false}) {
+                CostMatrix matrix = euclidean(picks, withEnd, seed);
+                int[] tour = shuffledTour(matrix, seed);
+                double before = matrix.tourCost(tour);
+
+                OrOptEngine.improve(matrix, tour);
+
+                assertValidTour(matrix, tour);
+                assertTrue(matrix.tourCost(tour) <= before + EPSILON);
+            }
+        }
+    }
+
+    @Test
+    void movesAMisplacedStopBackIntoLine() {
+        CostMatrix matrix = line(0, 10, 20, 30, 40, 50, 60, 70);
+        int[] tour = {0, 1, 2, 4, 5, 3, 6, 7};
+
+        assertEquals(1, OrOptEngine.improve(matrix, tour));
+
+        assertArrayEquals(new int[] {0, 1, 2, 3, 4, 5, 6, 7}, tour);
+    }
+
+    @Test
+    void movesAReversedSegmentBackIntoLine() {
+        CostMatrix matrix = line(0, 10, 20, 30, 40, 50, 60, 70, 80);
+        int[] tour = {0, 1, 5, 4, 3, 2, 6, 7, 8};
+        double before = matrix.tourCost(tour);
+
+        OrOptEngine.improve(matrix, tour);
+
+        assertValidTour(matrix, tour);
+        assertTrue(matrix.tourCost(tour) < before);
+    }
+
+    @Test
+    void appliesNoMoveToItsOwnResult() {
+        CostMatrix matrix = euclidean(60, true, 7);
+        int[] tour = shuffledTour(matrix, 7);
+        assertTrue(OrOptEngine.improve(matrix, tour) > 0);
+
+        assertEquals(0, OrOptEngine.improve(matrix, tour));
+    }
+
+    @Test
+    void improvesATwoOptimalTourWithoutBreakingIt() {
+        CostMatrix matrix = euclidean(80, true, 11);
+        int[] tour = shuffledTour(matrix, 11);
+        TwoOptEngine.improve(matrix, tour);
+        double twoOpt = matrix.tourCost(tour);
+
+        OrOptEngine.improve(matrix, tour);
+
+        assertValidTour(matrix, tour);
+        assertTrue(matrix.tourCost(tour) <= twoOpt + EPSILON);
+    }
+
+    @Test
+    void stopsAtAnExpiredDeadlineWithAValidTour() {
+        CostMatrix matrix = euclidean(200, true, 5);
+        int[] tour = shuffledTour(matrix, 5);
+        double before = matrix.tourCost(tour);
+        Deadline deadline = Deadline.cancellable(0);
+        deadline.cancel();
+        SearchStats stats = new SearchStats();
+
+        OrOptEngine.improve(matrix, tour, deadline, stats);
+
+        assertValidTour(matrix, tour);
+        assertTrue(matrix.tourCost(tour) <= before + EPSILON);
+        assertFalse(stats.converged());
+    }
+
+    // Stops along a single aisle, costed by distance along it; the last stop is the end
+    private static CostMatrix line(double... positions) {
+        double[][] costs = new double[positions.length][positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            for (int j = 0; j < positions.length; j++) {
+                costs[i][j] = Math.abs(positions[i] - positions[j]);
+            }
+        }
+        return CostMatrix.of(costs);
+    }
+}
@@ -0,0 +1,50 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static com.nnaemekaonochie.pickpath.route.algorithm.Matrices.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SavingsStrategyTest {
+
+    private final SavingsStrategy savings = new SavingsStrategy();
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 12, 60, 300})
+    void buildsAValidTour(int picks) {
+        for (long seed = 1; seed <= 10; seed++) {
+            for (boolean withEnd : new boolean[] {true, false}) {
+                CostMatrix matrix = euclidean(picks, withEnd, seed);
+
+                assertValidTour(matrix, savings.generateTour(matrix));
+            }
+        }
+    }
+
+    @Test
+    void staysCloseToTheOptimumOnSmallFloors() {
+        for (boolean withEnd : new boolean[] {true, false}) {
+            double total = 0.0;
+            for (long seed = 1; seed <= 20; seed++) {
+                CostMatrix matrix = euclidean(8, withEnd, seed);
+                double ratio = matrix.tourCost(savings.generateTour(matrix)) / bruteForce(matrix);
+
+                assertTrue(ratio <= 1.35, "seed " + seed + " is " + ratio + " of the optimum");
+                total += ratio;
+            }
+            assertTrue(total / 20 <= 1.15, "average " + total / 20 + " of the optimum");
+        }
+    }
+
+    @Test
+    void beatsARandomOrderByAWideMarginOnLargeFloors() {
+        for (long seed = 1; seed <= 5; seed++) {
+            CostMatrix matrix = euclidean(300, true, seed);
+            double random = matrix.tourCost(shuffledTour(matrix, seed));
+
+            assertTrue(matrix.tourCost(savings.generateTour(matrix)) <= 0.2 * random, "seed " + seed);
+        }
+    }
+}
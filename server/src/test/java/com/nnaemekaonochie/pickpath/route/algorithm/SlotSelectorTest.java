@@ -0,0 +1,99 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static com.nnaemekaonochie.pickpath.route.algorithm.Matrices.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotSelectorTest {
+
+    @Test
+    void choosesOneSlotFromEachCluster() {
+        for (long seed = 1; seed <= 20; seed++) {
+            CostMatrix matrix = euclidean(30, seed % 2 == 0, seed);
+            int[][] clusters = clusters(matrix, 12, seed);
+
+            int[] chosen = SlotSelector.choose(matrix, clusters, Deadline.NONE, new SearchStats());
+
+            assertEquals(clusters.length, chosen.length);
+            for (int c = 0; c < clusters.length; c++) {
+                int node = chosen[c];
+                assertTrue(Arrays.stream(clusters[c]).anyMatch(slot -> slot == node),
+                    "cluster " + c + " got slot " + node + " from elsewhere");
+            }
+        }
+    }
+
+    @Test
+    void keepsTheOnlySlotOfEveryCluster() {
+        CostMatrix matrix = euclidean(6, true, 2);
+        int[][] clusters = {{1}, {2}, {3}, {4}, {5}, {6}};
+
+        assertArrayEquals(new int[] {1, 2, 3, 4, 5, 6}, SlotSelector.choose(matrix, clusters, Deadline.NONE, null));
+    }
+
+    @Test
+    void staysCloseToTheBestSlotCombination() {
+        double total = 0.0;
+        for (long seed = 1; seed <= 20; seed++) {
+            CostMatrix matrix = euclidean(12, true, seed);
+            int[][] clusters = clusters(matrix, 6, seed);
+
+            int[] chosen = SlotSelector.choose(matrix, clusters, Deadline.NONE, null);
+            double ratio = optimum(matrix, chosen) / bestCombination(matrix, clusters, 0, new int[clusters.length]);
+
+            // Slots of one SKU scattered over the whole floor is the hard case; real clusters are tighter
+            assertTrue(ratio <= 1.6, "seed " + seed + " is " + ratio + " of the best combination");
+            total += ratio;
+        }
+        assertTrue(total / 20 <= 1.15, "average " + total / 20 + " of the best combination");
+    }
+
+    @Test
+    void returnsAChoicePastTheDeadline() {
+        CostMatrix matrix = euclidean(30, true, 6);
+        int[][] clusters = clusters(matrix, 10, 6);
+        Deadline deadline = Deadline.cancellable(0);
+        deadline.cancel();
+
+        int[] chosen = SlotSelector.choose(matrix, clusters, deadline, null);
+
+        for (int c = 0; c < clusters.length; c++) {
+            int node = chosen[c];
+            assertTrue(Arrays.stream(clusters[c]).anyMatch(slot -> slot == node));
+        }
+    }
+
+    // Deal the picks at random into the given number of clusters, none empty
+    private static int[][] clusters(CostMatrix matrix, int count, long seed) {
+        int[] tour = shuffledTour(matrix, seed);
+        List<List<Integer>> lists = new ArrayList<>();
+        for (int c = 0; c < count; c++) {
+            lists.add(new ArrayList<>());
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < matrix.pickCount(); i++) {
+            int node = tour[matrix.firstPick() + i];
+            lists.get(i < count ? i : random.nextInt(count)).add(node);
+        }
+        return lists.stream().map(list -> list.stream().mapToInt(Integer::intValue).toArray()).toArray(int[][]::new);
+    }
+
+    // Cheapest route over every combination of one slot per cluster
+    private static double bestCombination(CostMatrix matrix, int[][] clusters, int cluster, int[] chosen) {
+        if (cluster == clusters.length) return optimum(matrix, chosen);
+        double best = Double.POSITIVE_INFINITY;
+        for (int slot : clusters[cluster]) {
+            chosen[cluster] = slot;
+            best = Math.min(best, bestCombination(matrix, clusters, cluster + 1, chosen));
+        }
+        return best;
+    }
+
+    private static double optimum(CostMatrix matrix, int[] chosen) {
+        CostMatrix sub = matrix.subMatrix(chosen);
+        return sub.tourCost(HeldKarpSolver.solve(sub));
+    }
+}
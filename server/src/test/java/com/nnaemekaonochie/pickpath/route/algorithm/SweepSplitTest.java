@@ -0,0 +1,142 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+import com.nnaemekaonochie.pickpath.domain.Location;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static com.nnaemekaonochie.pickpath.route.algorithm.Matrices.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SweepSplitTest {
+
+    @Test
+    void coversEveryPickOnceWithinCapacity() {
+        for (long seed = 1; seed <= 20; seed++) {
+            CostMatrix matrix = euclidean(40, seed % 2 == 0, seed);
+            int[] loads = loads(matrix, seed);
+
+            List<int[]> trips = SweepSplit.split(matrix, loads, 12);
+
+            Set<Integer> seen = new HashSet<>();
+            for (int[] trip : trips) {
+                assertTrue(trip.length > 0);
+                long load = 0;
+                for (int node : trip) {
+                    assertTrue(node >= matrix.firstPick() && node <= matrix.lastPick(), "not a pick: " + node);
+                    assertTrue(seen.add(node), "pick in two trips: " + node);
+                    load += loads[node];
+                }
+                assertTrue(load <= 12, "trip over capacity: " + load);
+            }
+            assertEquals(matrix.pickCount(), seen.size());
+        }
+    }
+
+    @Test
+    void keepsEverythingInOneTripWhenItFits() {
+        CostMatrix matrix = euclidean(10, true, 3);
+        int[] loads = new int[matrix.size()];
+        Arrays.fill(loads, matrix.firstPick(), matrix.lastPick() + 1, 1);
+
+        List<int[]> trips = SweepSplit.split(matrix, loads, 10);
+
+        assertEquals(1, trips.size());
+        assertEquals(10, trips.get(0).length);
+    }
+
+    @Test
+    void sendsAPickHeavierThanTheCapacityAlone() {
+        CostMatrix matrix = euclidean(6, false, 9);
+        int[] loads = new int[matrix.size()];
+        Arrays.fill(loads, matrix.firstPick(), matrix.lastPick() + 1, 1);
+        loads[3] = 50;
+
+        List<int[]> trips = SweepSplit.split(matrix, loads, 4);
+
+        int[] heavy = trips.stream().filter(trip -> contains(trip, 3)).findFirst().orElseThrow();
+        assertArrayEquals(new int[] {3}, heavy);
+    }
+
+    @Test
+    void doesNotMixClustersOnOppositeSidesOfTheStart() {
+        // Three picks east of the start and three west; each side fills one cart
+        Location[] nodes = {
+            location(0, 0),
+            location(50, 1), location(55, -1), location(60, 2),
+            location(-50, 1), location(-55, -2), location(-60, 0),
+        };
+        int n = nodes.length;
+        double[] costs = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                costs[i * n + j] = Math.hypot(nodes[i].getX() - nodes[j].getX(), nodes[i].getY() - nodes[j].getY());
+            }
+        }
+        CostMatrix matrix = new CostMatrix(nodes, false, costs);
+        int[] loads = {0, 1, 1, 1, 1, 1, 1};
+
+        List<int[]> trips = SweepSplit.split(matrix, loads, 3);
+
+        assertEquals(2, trips.size());
+        for (int[] trip : trips) {
+            boolean east = nodes[trip[0]].getX() > 0;
+            for (int node : trip) {
+                assertEquals(east, nodes[node].getX() > 0, "trip crosses the start: " + Arrays.toString(trip));
+            }
+        }
+    }
+
+    @Test
+    void keepsPicksAtTheSameBearingTogether() {
+        // Two rows of picks straight out from the start; each row fills one cart
+        Location[] nodes = {
+            location(0, 0),
+            location(10, 0), location(20, 0), location(30, 0),
+            location(0, 10), location(0, 20), location(0, 30),
+        };
+        CostMatrix matrix = manhattan(nodes);
+        int[] loads = {0, 1, 1, 1, 1, 1, 1};
+
+        List<int[]> trips = SweepSplit.split(matrix, loads, 3);
+
+        assertEquals(2, trips.size());
+        for (int[] trip : trips) {
+            boolean east = nodes[trip[0]].getY() == 0;
+            for (int node : trip) {
+                assertEquals(east, nodes[node].getY() == 0, "trip mixes bearings: " + Arrays.toString(trip));
+            }
+        }
+    }
+
+    private static int[] loads(CostMatrix matrix, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] loads = new int[matrix.size()];
+        for (int node = matrix.firstPick(); node <= matrix.lastPick(); node++) {
+            loads[node] = 1 + random.nextInt(5);
+        }
+        return loads;
+    }
+
+    private static CostMatrix manhattan(Location[] nodes) {
+        int n = nodes.length;
+        double[] costs = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                costs[i * n + j] = Math.abs(nodes[i].getX() - nodes[j].getX()) + Math.abs(nodes[i].getY() - nodes[j].getY());
+            }
+        }
+        return new CostMatrix(nodes, false, costs);
+    }
+
+    private static Location location(int x, int y) {
+        return new Location(x + ":" + y, x, y, "Z1", "A1", null, null);
+    }
+
+    private static boolean contains(int[] trip, int node) {
+        for (int value : trip) {
+            if (value == node) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,86 @@
+package com.nnaemekaonochie.pickpath.route.algorithm;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.jupiter.api.Test;
+
+import static com.nnaemekaonochie.pickpath.route.algorithm.Matrices.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwoOptEngineTest {
+
+    private static final double EPSILON = 1e-9;
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 8, 25, 120})
+    void keepsAValidTourAndNeverMakesItWorse(int picks) {
+        for (long seed = 1; seed <= 20; seed++) {
+            for (boolean withEnd : new boolean[] {true, false}) {
+                CostMatrix matrix = euclidean(picks, withEnd, seed);
+                int[] tour = shuffledTour(matrix, seed);
+                double before = matrix.tourCost(tour);
+
+                TwoOptEngine.improve(matrix, tour);
+
+                assertValidTour(matrix, tour);
+                assertTrue(matrix.tourCost(tour) <= before + EPSILON);
+            }
+        }
+    }
+
+    @Test
+    void leavesNoImprovingReversalWhenTheNeighborListsCoverEveryNode() {
+        // With at most DEFAULT_NEIGHBORS picks every pair is a candidate, so the result is 2-optimal
+        for (long seed = 1; seed <= 30; seed++) {
+            CostMatrix matrix = euclidean(9, true, seed);
+            int[] tour = shuffledTour(matrix, seed);
+            TwoOptEngine.improve(matrix, tour);
+
+            for (int i = 1; i < tour.length - 2; i++) {
+                for (int j = i + 1; j < tour.length - 1; j++) {
+                    double delta = matrix.cost(tour[i - 1], tour[j]) + matrix.cost(tour[i], tour[j + 1])
+                        - matrix.cost(tour[i - 1], tour[i]) - matrix.cost(tour[j], tour[j + 1]);
+                    assertTrue(delta >= -EPSILON, "reversing " + i + ".." + j + " still improves by " + -delta);
+                }
+            }
+        }
+    }
+
+    @Test
+    void appliesNoMoveToItsOwnResult() {
+        CostMatrix matrix = euclidean(60, true, 7);
+        int[] tour = shuffledTour(matrix, 7);
+        assertTrue(TwoOptEngine.improve(matrix, tour) > 0);
+
+        assertEquals(0, TwoOptEngine.improve(matrix, tour));
+    }
+
+    @Test
+    void countsMovesIntoStats() {
+        CostMatrix matrix = euclidean(40, true, 3);
+        int[] tour = shuffledTour(matrix, 3);
+        SearchStats stats = new SearchStats();
+
+        int moves = TwoOptEngine.improve(matrix, tour, stats);
+
+        assertEquals(moves, stats.accepted());
+        assertTrue(stats.tried() >= moves);
+        assertTrue(stats.converged());
+    }
+
+    @Test
+    void stopsAtAnExpiredDeadlineWithAValidTour() {
+        CostMatrix matrix = euclidean(200, true, 5);
+        int[] tour = shuffledTour(matrix, 5);
+        double before = matrix.tourCost(tour);
+        Deadline deadline = Deadline.cancellable(0);
+        deadline.cancel();
+        SearchStats stats = new SearchStats();
+
+        TwoOptEngine.improve(matrix, tour, deadline, stats);
+
+        assertValidTour(matrix, tour);
+        assertTrue(matrix.tourCost(tour) <= before + EPSILON);
+        assertFalse(stats.converged());
+    }
+}